@@ -0,0 +1,189 @@
+package com.exodus.glimpse.bench;
+
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import com.exodus.glimpse.sampling.ProcfsProcessCollector;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Data sources shared by the benchmarks. Everything is either generated from a fixed seed or read from the
+ * captured /proc trees in {@code src/test/resources/procfs}, so no benchmark touches the network or
+ * depends on what the host happens to be running.
+ * <p>
+ * A source is named {@code synthetic-<count>} or {@code fixture-<name>}.
+ */
+final class BenchData {
+    /** Directory holding the procfs fixtures, relative to the glimpse-bench module by default. */
+    static final Path FIXTURES = Paths.get(System.getProperty("glimpse.bench.fixtures", "../src/test/resources/procfs"));
+
+    private static final String[] NAMES = {
+            "systemd", "kworker/0:1-events", "java", "firefox", "Web Content", "postgres: checkpointer",
+            "nginx: worker process", "sshd", "bash", "chrome --type=renderer --lang=en-US", "node", "python3"
+    };
+    private static final String[] USERS = {"root", "alice", "postgres", "www-data", "nobody"};
+
+    private BenchData() {
+    }
+
+    /**
+     * Creates a proc tree for a source: a fixture directory, or a temporary synthetic tree.
+     * @param source The source name.
+     * @return Root directory laid out like a host root, with {@code proc} and {@code etc/passwd}.
+     */
+    static Path procRoot(String source) {
+        if (source.startsWith("fixture-")) {
+            Path root = FIXTURES.resolve(source.substring("fixture-".length()));
+            if (!Files.isDirectory(root.resolve("proc"))) {
+                throw new IllegalStateException("Fixture not found: " + root.toAbsolutePath()
+                        + " (set -Dglimpse.bench.fixtures)");
+            }
+            return root;
+        }
+        return writeSyntheticProc(syntheticCount(source), 42);
+    }
+
+    /**
+     * Creates a collector over the proc tree of a source.
+     * @param root Root returned by {@link #procRoot(String)}.
+     * @return The collector.
+     */
+    static ProcfsProcessCollector collector(Path root) {
+        return new ProcfsProcessCollector(root.resolve("proc"), root.resolve("etc/passwd"), 100);
+    }
+
+    /**
+     * Builds the process table of a source, as the process table would show it.
+     * @param source The source name.
+     * @return The processes, with CPU usage averaged over each process's lifetime.
+     */
+    static ProcessSnapshot processes(String source) {
+        if (source.startsWith("synthetic-")) {
+            Random random = new Random(7);
+            int count = syntheticCount(source);
+            ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(count);
+            for (int i = 0; i < count; i++) {
+                builder.add(i + 1, random.nextInt(i + 1),
+                        NAMES[random.nextInt(NAMES.length)],
+                        USERS[random.nextInt(USERS.length)],
+                        (long) random.nextInt(1 << 20) * 4096,
+                        0, 0, 0,
+                        1_700_000_000_000L + i,
+                        1 + random.nextInt(64));
+                builder.setCpuPercent(i, random.nextInt(10) == 0 ? random.nextDouble() * 400 : 0);
+            }
+            return builder.build(System.currentTimeMillis());
+        }
+
+        Path root = procRoot(source);
+        ProcessSnapshot.Builder collected = new ProcessSnapshot.Builder(256);
+        collector(root).collect(collected, System.currentTimeMillis());
+        ProcessSnapshot snapshot = collected.build(System.currentTimeMillis());
+
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(snapshot.size());
+        for (int row = 0; row < snapshot.size(); row++) {
+            builder.add(snapshot.getPid(row), snapshot.getParentPid(row), snapshot.getName(row), snapshot.getUser(row),
+                    snapshot.getResidentSetSize(row), snapshot.getKernelTime(row), snapshot.getUserTime(row),
+                    snapshot.getUpTime(row), snapshot.getStartTime(row), snapshot.getThreadCount(row));
+            builder.setCpuPercent(row, snapshot.getUpTime(row) > 0
+                    ? 100d * (snapshot.getKernelTime(row) + snapshot.getUserTime(row)) / snapshot.getUpTime(row)
+                    : 0);
+        }
+        return builder.build(snapshot.getTimestamp());
+    }
+
+    /**
+     * Encodes processes the way a remote station's /api/processes endpoint returns them.
+     * @param processes The processes to encode.
+     * @return JSON array text.
+     */
+    static String remoteProcessesJson(ProcessSnapshot processes) {
+        JSONArray array = new JSONArray();
+        for (int row = 0; row < processes.size(); row++) {
+            JSONObject process = new JSONObject();
+            process.put("pid", processes.getPid(row));
+            process.put("ppid", processes.getParentPid(row));
+            process.put("name", processes.getName(row));
+            process.put("username", processes.getUser(row));
+            process.put("cpu_percent", processes.getCpuPercent(row));
+            process.put("memory_bytes", processes.getResidentSetSize(row));
+            process.put("memory_percent", processes.getResidentSetSize(row) * 100.0 / (16L << 30));
+            process.put("thread_count", processes.getThreadCount(row));
+            process.put("create_time", processes.getStartTime(row) / 1000.0);
+            array.put(process);
+        }
+        return array.toString();
+    }
+
+    private static int syntheticCount(String source) {
+        if (!source.startsWith("synthetic-")) {
+            throw new IllegalArgumentException("Unknown data source: " + source);
+        }
+        return Integer.parseInt(source.substring("synthetic-".length()));
+    }
+
+    /**
+     * Writes a synthetic proc tree with realistic stat and status files into a temporary directory.
+     * @param count Number of processes.
+     * @param seed Random seed, so every run sees the same tree.
+     * @return Root of the tree.
+     */
+    static Path writeSyntheticProc(int count, long seed) {
+        Random random = new Random(seed);
+        try {
+            Path root = Files.createTempDirectory("glimpse-bench-proc");
+            Path proc = Files.createDirectories(root.resolve("proc"));
+            Files.createDirectories(root.resolve("etc"));
+            Files.writeString(root.resolve("etc/passwd"),
+                    "root:x:0:0:root:/root:/bin/bash\nalice:x:1000:1000::/home/alice:/bin/sh\n"
+                            + "postgres:x:115:120::/var/lib/postgresql:/bin/bash\n");
+            Files.writeString(proc.resolve("stat"), "cpu  1000 0 500 100000 0 0 0 0 0 0\nbtime 1700000000\n");
+
+            int[] uids = {0, 1000, 115};
+            for (int pid = 1; pid <= count; pid++) {
+                Path directory = Files.createDirectory(proc.resolve(Integer.toString(pid)));
+                String name = NAMES[random.nextInt(NAMES.length)];
+                if (name.length() > 15) {
+                    name = name.substring(0, 15);
+                }
+                int uid = uids[random.nextInt(uids.length)];
+                long rssPages = random.nextInt(1 << 18);
+                Files.writeString(directory.resolve("stat"), pid + " (" + name + ") S " + Math.max(1, pid / 10)
+                        + " " + pid + " " + pid + " 0 -1 4194560 " + random.nextInt(100000) + " 0 0 0 "
+                        + random.nextInt(100000) + " " + random.nextInt(50000) + " 0 0 20 0 "
+                        + (1 + random.nextInt(64)) + " 0 " + (100 + pid) + " " + rssPages * 16384 + " " + rssPages
+                        + " 18446744073709551615 1 1 0 0 0 0 0 0 0 0 0 0 17 " + random.nextInt(8)
+                        + " 0 0 0 0 0 0 0 0 0 0 0 0 0\n");
+                Files.writeString(directory.resolve("status"), "Name:\t" + name + "\nUmask:\t0022\nState:\tS (sleeping)\n"
+                        + "Tgid:\t" + pid + "\nNgid:\t0\nPid:\t" + pid + "\nPPid:\t1\nTracerPid:\t0\n"
+                        + "Uid:\t" + uid + "\t" + uid + "\t" + uid + "\t" + uid + "\n"
+                        + "Gid:\t" + uid + "\t" + uid + "\t" + uid + "\t" + uid + "\n"
+                        + "FDSize:\t64\nVmRSS:\t" + rssPages * 4 + " kB\nThreads:\t1\n");
+            }
+            deleteOnExit(root);
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write synthetic proc tree", e);
+        }
+    }
+
+    private static void deleteOnExit(Path root) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            } catch (IOException ignored) {
+                // Best effort, the directory lives in the temp folder anyway
+            }
+        }));
+    }
+}
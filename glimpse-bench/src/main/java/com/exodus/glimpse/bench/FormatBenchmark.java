@@ -0,0 +1,87 @@
+package com.exodus.glimpse.bench;
+
+import com.exodus.glimpse.ui.Formats;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of byte counts, transfer speeds and percentages, done for every label and table cell on every refresh.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatBenchmark {
+    private static final int VALUES = 1024;
+
+    private long[] bytes;
+    private double[] speeds;
+    private double[] percents;
+    private final StringBuilder buffer = new StringBuilder(32);
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(3);
+        bytes = new long[VALUES];
+        speeds = new double[VALUES];
+        percents = new double[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            // Spread across B, KB, MB and GB
+            bytes[i] = (long) Math.pow(2, random.nextInt(40)) + random.nextInt(1024);
+            speeds[i] = random.nextDouble() * Math.pow(10, random.nextInt(6));
+            percents[i] = random.nextDouble() * 100;
+        }
+    }
+
+    @Benchmark
+    public String formatBytes() {
+        index = (index + 1) & (VALUES - 1);
+        return Formats.bytes(bytes[index]);
+    }
+
+    @Benchmark
+    public String formatSpeed() {
+        index = (index + 1) & (VALUES - 1);
+        return Formats.speed(speeds[index]);
+    }
+
+    /**
+     * Percentages come from the label cache once warmed up.
+     */
+    @Benchmark
+    public String formatPercent() {
+        index = (index + 1) & (VALUES - 1);
+        return Formats.percent(percents[index]);
+    }
+
+    /**
+     * One process table refresh worth of memory cells.
+     * @param blackhole Sink for the formatted strings.
+     */
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void formatBytesColumn(Blackhole blackhole) {
+        for (long value : bytes) {
+            blackhole.consume(Formats.bytes(value));
+        }
+    }
+
+    /**
+     * The same column written into a reused builder, which allocates nothing.
+     * @param blackhole Sink for the builder length.
+     */
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void appendBytesColumn(Blackhole blackhole) {
+        for (long value : bytes) {
+            buffer.setLength(0);
+            blackhole.consume(Formats.appendBytes(buffer, value).length());
+        }
+    }
+}
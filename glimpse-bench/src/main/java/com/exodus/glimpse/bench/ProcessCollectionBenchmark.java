@@ -0,0 +1,74 @@
+package com.exodus.glimpse.bench;
+
+import com.exodus.glimpse.sampling.ProcessCpuTracker;
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import com.exodus.glimpse.sampling.ProcfsProcessCollector;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process enumeration and per-process CPU% as done for the process table on every sampling tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessCollectionBenchmark {
+    @Param({"fixture-sandbox", "fixture-edge-cases", "synthetic-500", "synthetic-3000"})
+    public String source;
+
+    private ProcfsProcessCollector collector;
+    private ProcessCpuTracker cpuTracker;
+    private ProcessSnapshot snapshot;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Path root = BenchData.procRoot(source);
+        collector = BenchData.collector(root);
+        cpuTracker = new ProcessCpuTracker();
+        now = System.currentTimeMillis();
+        snapshot = collect();
+    }
+
+    /**
+     * Reads and parses every process of the tree.
+     * @return The filled builder.
+     */
+    @Benchmark
+    public ProcessSnapshot.Builder enumerate() {
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(snapshot.size());
+        collector.collect(builder, now);
+        return builder;
+    }
+
+    /**
+     * One full engine tick: enumerate, compute interval CPU% and freeze the snapshot.
+     * @return The process table.
+     */
+    @Benchmark
+    public ProcessSnapshot enumerateWithCpu() {
+        return collect();
+    }
+
+    /**
+     * Top-10 selection used by the CPU and RAM panels.
+     * @return The selected rows.
+     */
+    @Benchmark
+    public int[] topTenByCpu() {
+        return snapshot.topByCpu(10);
+    }
+
+    private ProcessSnapshot collect() {
+        now += 1000;
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(snapshot == null ? 256 : snapshot.size());
+        collector.collect(builder, now);
+        cpuTracker.update(builder, now);
+        return builder.build(now);
+    }
+}
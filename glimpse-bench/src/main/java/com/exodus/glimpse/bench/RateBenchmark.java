@@ -0,0 +1,57 @@
+package com.exodus.glimpse.bench;
+
+import com.exodus.glimpse.BaseMonitor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disk and network rate computations: the per-device previous-counter bookkeeping and the
+ * delta-to-KB/s conversion that DiskMonitor and NetworkMonitor run on every sample.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateBenchmark {
+    @Param({"4", "64"})
+    public int devices;
+
+    private String[] names;
+    private long[] counters;
+    private final Map<String, long[]> previous = new HashMap<>();
+    private long now;
+    private final Random random = new Random(11);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        names = new String[devices];
+        counters = new long[devices];
+        for (int i = 0; i < devices; i++) {
+            names[i] = "dev" + i;
+            previous.put(names[i], new long[]{0, 0});
+        }
+    }
+
+    /**
+     * One sample of all devices: advance the counters, compute the rates, remember the counters.
+     * @return Sum of the rates, so the work cannot be eliminated.
+     */
+    @Benchmark
+    public double sampleAllDevices() {
+        now += 1000;
+        double total = 0;
+        for (int i = 0; i < devices; i++) {
+            counters[i] += random.nextInt(1 << 20);
+            long[] last = previous.get(names[i]);
+            total += BaseMonitor.kilobytesPerSecond(counters[i] - last[0], now - last[1]);
+            previous.put(names[i], new long[]{counters[i], now});
+        }
+        return total;
+    }
+}
@@ -0,0 +1,37 @@
+package com.exodus.glimpse.bench;
+
+import com.exodus.glimpse.models.ProcessMonitor;
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a remote station's /api/processes response, as the process table does for remote stations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RemoteDecodeBenchmark {
+    @Param({"fixture-sandbox", "synthetic-100", "synthetic-3000"})
+    public String source;
+
+    private String response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        response = BenchData.remoteProcessesJson(BenchData.processes(source));
+    }
+
+    /**
+     * Parses the JSON and builds the process table.
+     * @return The decoded processes.
+     */
+    @Benchmark
+    public ProcessSnapshot decodeProcesses() {
+        return ProcessMonitor.parseRemoteProcesses(response);
+    }
+}
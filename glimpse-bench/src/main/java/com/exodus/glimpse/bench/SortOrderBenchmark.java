@@ -0,0 +1,40 @@
+package com.exodus.glimpse.bench;
+
+import com.exodus.glimpse.models.ProcessMonitor.SortOrder;
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting the process table with each {@link SortOrder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortOrderBenchmark {
+    @Param({"fixture-sandbox", "synthetic-3000", "synthetic-20000"})
+    public String source;
+
+    @Param({"CPU_DESC", "RAM_DESC", "NAME_ASC", "PID_ASC", "THREADS_DESC", "USER_ASC"})
+    public SortOrder order;
+
+    private ProcessSnapshot processes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        processes = BenchData.processes(source);
+    }
+
+    /**
+     * Sorts the row indices of the process table, as every refresh of the process table does.
+     * @return Row indices in display order.
+     */
+    @Benchmark
+    public int[] sort() {
+        return order.sort(processes);
+    }
+}
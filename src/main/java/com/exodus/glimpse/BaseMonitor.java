@@ -1,42 +1,193 @@
 package com.exodus.glimpse;
 
-import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.WritableValue;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.chart.LineChart;
-import javafx.scene.chart.NumberAxis;
-import javafx.scene.chart.XYChart;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import com.exodus.glimpse.RemoteSnapshot.Section;
+import com.exodus.glimpse.chart.TimeSeriesChart;
+import com.exodus.glimpse.diagnostics.Diagnostics;
+import com.exodus.glimpse.history.MetricHistory;
+import com.exodus.glimpse.history.MetricStore;
+import com.exodus.glimpse.sampling.AdaptiveInterval;
+import com.exodus.glimpse.sampling.SamplingEngine;
+import com.exodus.glimpse.sampling.Subscription;
+import com.exodus.glimpse.sampling.SystemSnapshot;
+import com.exodus.glimpse.ui.UiPublisher;
+import com.exodus.glimpse.ui.Formats;
 import oshi.SystemInfo;
 import oshi.hardware.HardwareAbstractionLayer;
 import oshi.software.os.OperatingSystem;
 
-import java.text.DecimalFormat;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Abstract base class for monitoring system resources with common UI components and utilities.
  */
 public abstract class BaseMonitor {
+    protected final SamplingEngine engine;
     protected final SystemInfo systemInfo;
     protected final HardwareAbstractionLayer hardware;
     protected final OperatingSystem os;
-    protected RemoteStation remoteStation;
+    protected volatile RemoteStation remoteStation;
+
+    protected final UiPublisher ui = UiPublisher.getInstance();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    /** Names of the remote polls still waiting for their snapshot. */
+    private final Set<String> remotePolls = ConcurrentHashMap.newKeySet();
+    /** Timestamp of the last remote snapshot handled by each poll. */
+    private final Map<String, Long> remoteSeen = new ConcurrentHashMap<>();
+    private int demand;
+
+    /** Time range shown by the charts until another one is picked in their range selector. */
+    protected static final long CHART_RANGE_MILLIS = 60_000;
+    /** Color of single-series usage charts. */
+    protected static final Color USAGE_COLOR = Color.web("#F3622D");
+    private static final String USAGE_NORMAL_STYLE = "-fx-fill: #2D2D2D; -fx-stroke: #3D5AFE; -fx-stroke-width: 3;";
+    private static final String USAGE_MEDIUM_STYLE = "-fx-fill: #2D2D2D; -fx-stroke: #FBBC05; -fx-stroke-width: 3;";
+    private static final String USAGE_HIGH_STYLE = "-fx-fill: #2D2D2D; -fx-stroke: #EA4335; -fx-stroke-width: 3;";
+    /** Interval at which cheap collectors keep their charts going while their panel is hidden. */
+    protected static final long BACKGROUND_INTERVAL_MILLIS = 10_000;
+    /** Time a remote poll may take before it is given up and the next one can start. */
+    protected static final Duration REMOTE_DEADLINE = Duration.ofSeconds(4);
 
-    protected final DecimalFormat df = new DecimalFormat("#.##");
-    protected final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    public BaseMonitor() {
+        this.engine = SamplingEngine.getInstance();
+        this.systemInfo = engine.getSystemInfo();
+        this.hardware = engine.getHardware();
+        this.os = engine.getOperatingSystem();
+    }
 
-    protected static final int MAX_DATA_POINTS = 60;
-    protected int xSeriesData = 0;
+    /**
+     * Subscribes to the shared sampling engine. The subscription runs at {@code intervalMillis} while the
+     * monitor is in demand (see {@link #acquire()}) and at {@code backgroundIntervalMillis} otherwise.
+     * @param name Name of the collector, used in error messages.
+     * @param intervalMillis Interval between updates while in demand, in milliseconds.
+     * @param backgroundIntervalMillis Interval between updates while hidden, or 0 to pause.
+     * @param listener Callback receiving each snapshot on the sampling thread.
+     * @return The created subscription.
+     */
+    protected Subscription subscribe(String name, long intervalMillis, long backgroundIntervalMillis,
+                                     Consumer<SystemSnapshot> listener) {
+        return subscribe(name, AdaptiveInterval.fixed(intervalMillis), backgroundIntervalMillis, () -> false, listener);
+    }
 
-    public BaseMonitor() {
-        this.systemInfo = new SystemInfo();
-        this.hardware = systemInfo.getHardware();
-        this.os = systemInfo.getOperatingSystem();
+    /**
+     * Subscribes to the shared sampling engine, receiving the shared process table while in demand and
+     * {@code needsProcesses} returns true.
+     * @param name Name of the collector, used in error messages.
+     * @param interval Interval between updates while in demand, possibly adapting to the metric.
+     * @param backgroundIntervalMillis Interval between updates while hidden, or 0 to pause.
+     * @param needsProcesses Tells the engine whether this monitor currently needs processes.
+     * @param listener Callback receiving each snapshot on the sampling thread.
+     * @return The created subscription.
+     */
+    protected synchronized Subscription subscribe(String name, AdaptiveInterval interval, long backgroundIntervalMillis,
+                                                  BooleanSupplier needsProcesses, Consumer<SystemSnapshot> listener) {
+        Subscription subscription = engine.subscribe(name, interval, backgroundIntervalMillis,
+                needsProcesses, listener);
+        subscriptions.add(subscription);
+        for (int i = 0; i < demand; i++) {
+            subscription.acquire();
+        }
+        return subscription;
+    }
+
+    /**
+     * Runs one collection step and records its cost in the diagnostics registry.
+     * @param collector Name of the collection step, such as "CPU.updateCPUInfo".
+     * @param step The collection work.
+     */
+    protected void measure(String collector, Runnable step) {
+        Diagnostics.measure(collector, step);
+    }
+
+    /**
+     * Polls the remote station without blocking the caller. The snapshot is fetched and {@code update} runs on
+     * a virtual thread, so it can decode the sections and publish the results; nothing touches the sampling
+     * or JavaFX threads. While a poll of the same name is still running, further polls are skipped rather than
+     * queued, so a slow station gets polled less often instead of piling up requests. Results arriving after
+     * the station was switched are dropped, and so are snapshots holding nothing newer than the last one
+     * handled, as when a station streams frames slower than the monitor polls, so rates are not computed
+     * over repeated samples.
+     * @param name Name of the poll, such as "CPU", used for diagnostics and in error messages.
+     * @param update Decodes and publishes the snapshot.
+     * @param sections The sections {@code update} reads.
+     */
+    protected void pollRemote(String name, Consumer<RemoteSnapshot> update, Section... sections) {
+        RemoteStation station = remoteStation;
+        if (station == null || !remotePolls.add(name)) {
+            return;
+        }
+        station.fetchSnapshot(REMOTE_DEADLINE, sections).whenComplete((remote, error) -> {
+            try {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    System.err.println("Error fetching remote " + name + " data: " + cause);
+                } else if (station == remoteStation && remote.getTimestamp() > remoteSeen.getOrDefault(name, 0L)) {
+                    remoteSeen.put(name, remote.getTimestamp());
+                    measure(name + ".updateRemoteInfo", () -> update.accept(remote));
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error updating remote " + name + " data: " + e);
+            } finally {
+                remotePolls.remove(name);
+            }
+        });
+    }
+
+    /**
+     * Registers a consumer of this monitor's data, such as a visible panel or a history recorder.
+     * While at least one consumer is registered, all of the monitor's subscriptions run at full rate.
+     */
+    public synchronized void acquire() {
+        demand++;
+        subscriptions.forEach(Subscription::acquire);
+    }
+
+    /**
+     * Unregisters a consumer added with {@link #acquire()}.
+     */
+    public synchronized void release() {
+        if (demand > 0) {
+            demand--;
+            subscriptions.forEach(Subscription::release);
+        }
+    }
+
+    /**
+     * Keeps this monitor in demand for as long as the given panel is attached to a scene.
+     * @param panel The monitor's panel.
+     * @return The same panel.
+     */
+    protected <T extends Node> T bindDemandTo(T panel) {
+        if (panel.getScene() != null) {
+            acquire();
+        }
+        panel.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene == null && newScene != null) {
+                acquire();
+            } else if (oldScene != null && newScene == null) {
+                release();
+            }
+        });
+        return panel;
     }
 
     /**
@@ -51,26 +202,15 @@ public abstract class BaseMonitor {
         circleContainer.setMaxSize(100, 100);
 
         javafx.scene.shape.Circle outerCircle = new javafx.scene.shape.Circle(45);
-        outerCircle.setStyle("-fx-fill: #2D2D2D; -fx-stroke: #3D5AFE; -fx-stroke-width: 3;");
+        outerCircle.setStyle(USAGE_NORMAL_STYLE);
 
         Label percentLabel = new Label("0%");
         percentLabel.setStyle("-fx-text-fill: white; -fx-font-size: 22px; -fx-font-weight: bold;");
 
+        // Listeners run on the FX thread already, since values are applied through the UiPublisher
         usageProperty.addListener((obs, oldVal, newVal) -> {
-            Platform.runLater(() -> {
-                percentLabel.setText(df.format(newVal.doubleValue()) + "%");
-
-                // Change color based on usage
-                String color;
-                if (newVal.doubleValue() < 60) {
-                    color = "#3D5AFE"; // Blue for normal
-                } else if (newVal.doubleValue() < 85) {
-                    color = "#FBBC05"; // Yellow for medium
-                } else {
-                    color = "#EA4335"; // Red for high
-                }
-                outerCircle.setStyle("-fx-fill: #2D2D2D; -fx-stroke: " + color + "; -fx-stroke-width: 3;");
-            });
+            percentLabel.setText(Formats.percent(newVal.doubleValue()));
+            outerCircle.setStyle(usageStyle(newVal.doubleValue()));
         });
 
         Label usageLabel = new Label(labelText);
@@ -86,6 +226,52 @@ public abstract class BaseMonitor {
         return circleContainer;
     }
 
+    /**
+     * Returns the style of a circular indicator's ring for a usage percentage.
+     * @param usage The usage percentage.
+     * @return CSS style with a blue, yellow or red stroke.
+     */
+    protected static String usageStyle(double usage) {
+        if (usage < 60) {
+            return USAGE_NORMAL_STYLE;
+        } else if (usage < 85) {
+            return USAGE_MEDIUM_STYLE;
+        }
+        return USAGE_HIGH_STYLE;
+    }
+
+    /**
+     * Shortens a process name for display in a table cell.
+     * @param name The process name.
+     * @return The name, cut to 30 characters with an ellipsis if it is longer.
+     */
+    protected static String displayName(String name) {
+        return name.length() > 30 ? name.substring(0, 27) + "..." : name;
+    }
+
+    /**
+     * Creates a table column holding a typed value that is only formatted when a cell shows it,
+     * so the column sorts by the value rather than by its text.
+     * @param title The column header.
+     * @param value Extracts the value from a row.
+     * @param format Formats a value for display.
+     * @param <S> Type of the table rows.
+     * @param <T> Type of the column values.
+     * @return The column.
+     */
+    protected static <S, T> TableColumn<S, T> createColumn(String title, Function<S, T> value, Function<T, String> format) {
+        TableColumn<S, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(value.apply(data.getValue())));
+        column.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(T item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : format.apply(item));
+            }
+        });
+        return column;
+    }
+
     /**
      * Creates a horizontal row for displaying a label and its corresponding value.
      * @param labelText The label text.
@@ -109,70 +295,26 @@ public abstract class BaseMonitor {
     }
 
     /**
-     * Creates a line chart for displaying usage data over time.
+     * Creates a chart for displaying a usage percentage over time, with one series.
      * @param title The title of the chart.
      * @param yAxisLabel The label for the Y-axis.
-     * @param series The data series to display.
-     * @return LineChart configured with the provided data.
-     */
-    protected LineChart<Number, Number> createUsageChart(String title, String yAxisLabel, XYChart.Series<Number, Number> series) {
-        final NumberAxis xAxis = new NumberAxis();
-        final NumberAxis yAxis = new NumberAxis(0, 100, 20);
-
-        xAxis.setLabel("Time (seconds)");
-        xAxis.setAnimated(false);
-        xAxis.setTickLabelsVisible(false);
-        xAxis.setTickMarkVisible(false);
-        xAxis.setMinorTickVisible(false);
-
-        yAxis.setLabel(yAxisLabel);
-        yAxis.setAnimated(false);
-
-        final LineChart<Number, Number> lineChart = new LineChart<>(xAxis, yAxis);
-        lineChart.setTitle(title);
-        lineChart.setCreateSymbols(false);
-        lineChart.setAnimated(false);
-        lineChart.getData().add(series);
-
-        lineChart.setStyle(
-                "-fx-background-color: #323232; " +
-                        "-fx-plot-background-color: #262626; " +
-                        "-fx-text-fill: white;"
-        );
-        lineChart.lookup(".chart-title").setStyle("-fx-text-fill: white; -fx-font-size: 14px;");
-        lineChart.lookup(".axis-label").setStyle("-fx-text-fill: #BBBBBB;");
-
-        return lineChart;
-    }
-
-    /**
-     * Formats bytes into a human-readable string (e.g., KB, MB, GB).
-     * @param bytes The number of bytes to format.
-     * @return Formatted string representation.
-     */
-    protected String formatBytes(long bytes) {
-        if (bytes < 1024) {
-            return bytes + " B";
-        } else if (bytes < 1024 * 1024) {
-            return df.format(bytes / 1024.0) + " KB";
-        } else if (bytes < 1024 * 1024 * 1024) {
-            return df.format(bytes / (1024.0 * 1024)) + " MB";
-        } else {
-            return df.format(bytes / (1024.0 * 1024 * 1024)) + " GB";
-        }
+     * @return Chart with series 0 ready for {@link TimeSeriesChart#show(int, MetricHistory)}.
+     */
+    protected TimeSeriesChart createUsageChart(String title, String yAxisLabel) {
+        TimeSeriesChart chart = new TimeSeriesChart(title, yAxisLabel, CHART_RANGE_MILLIS);
+        chart.setYRange(0, 100);
+        chart.addSeries(title, USAGE_COLOR);
+        return chart;
     }
 
     /**
-     * Formats network speed into a human-readable string (e.g., KB/s, MB/s).
-     * @param kbps The speed in kilobits per second.
-     * @return Formatted string representation.
+     * Converts a byte counter delta into a rate, as used for disk and network speeds.
+     * @param deltaBytes Bytes transferred since the previous sample.
+     * @param elapsedMillis Time since the previous sample in milliseconds.
+     * @return Rate in KB/s, or 0 if no time has passed.
      */
-    protected String formatSpeed(double kbps) {
-        if (kbps < 1000) {
-            return df.format(kbps) + " KB/s";
-        } else {
-            return df.format(kbps / 1024.0) + " MB/s";
-        }
+    public static double kilobytesPerSecond(long deltaBytes, long elapsedMillis) {
+        return elapsedMillis > 0 ? deltaBytes * 1000.0 / (1024.0 * elapsedMillis) : 0;
     }
 
     /**
@@ -192,6 +334,44 @@ public abstract class BaseMonitor {
         return monitorPanel;
     }
 
+    /**
+     * Sets a property on the next frame through the {@link UiPublisher}, skipping it if unchanged.
+     * May be called from any thread.
+     * @param property The property to update.
+     * @param value The new value.
+     * @param <T> Type of the property's value.
+     */
+    protected <T> void publish(WritableValue<T> property, T value) {
+        ui.set(property, value);
+    }
+
+    /**
+     * Sets a numeric property on the next frame through the {@link UiPublisher}, skipping it if unchanged.
+     * @param property The property to update.
+     * @param value The new value.
+     */
+    protected void publish(SimpleDoubleProperty property, double value) {
+        ui.set(property, value);
+    }
+
+    /**
+     * Runs a UI update on the next frame through the {@link UiPublisher}, replacing any pending update
+     * with the same key.
+     * @param key What the update writes to, such as a list or chart.
+     * @param update The update, run on the JavaFX application thread.
+     */
+    protected void publish(Object key, Runnable update) {
+        ui.submit(key, update);
+    }
+
+    /**
+     * Returns the metric history of the monitored source, the remote station if one is set.
+     * @return The metric store of the current source.
+     */
+    protected MetricStore history() {
+        return MetricStore.forStation(remoteStation);
+    }
+
     /**
      * Sets the remote station for monitoring.
      * @param remoteStation The RemoteStation object to monitor.
@@ -201,10 +381,11 @@ public abstract class BaseMonitor {
     }
 
     /**
-     * Shuts down the monitoring scheduler.
+     * Cancels all subscriptions of this monitor.
      */
-    public void shutdown() {
-        scheduler.shutdown();
+    public synchronized void shutdown() {
+        subscriptions.forEach(Subscription::cancel);
+        subscriptions.clear();
     }
 
     /**
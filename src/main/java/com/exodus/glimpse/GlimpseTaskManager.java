@@ -1,6 +1,8 @@
 package com.exodus.glimpse;
 
+import com.exodus.glimpse.history.MetricStore;
 import com.exodus.glimpse.models.*;
+import com.exodus.glimpse.sampling.SamplingEngine;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
@@ -33,6 +35,7 @@ public class GlimpseTaskManager extends Application {
     private double xOffset = 0;
     private double yOffset = 0;
     private VBox rightSection;
+    private Button processEntry;
 
     private HardwareMonitor hardwareMonitor;
     private ProcessMonitor processMonitor;
@@ -41,6 +44,7 @@ public class GlimpseTaskManager extends Application {
     private NetworkMonitor networkMonitor;
     private DiskMonitor diskMonitor;
     private GPUMonitor gpuMonitor;
+    private DiagnosticsMonitor diagnosticsMonitor;
 
     /**
      * Starts the JavaFX application and initializes the UI.
@@ -60,8 +64,6 @@ public class GlimpseTaskManager extends Application {
         mainSplitPane.setDividerPositions(0.15);
         mainSplitPane.setStyle("-fx-background-color: transparent; -fx-box-border: transparent;");
 
-        VBox leftSidebar = createLeftSidebar();
-
         SplitPane contentSplitPane = new SplitPane();
         contentSplitPane.setDividerPositions(0.55);
         contentSplitPane.setStyle("-fx-background-color: transparent; -fx-box-border: transparent;");
@@ -74,6 +76,9 @@ public class GlimpseTaskManager extends Application {
         networkMonitor = new NetworkMonitor();
         diskMonitor = new DiskMonitor();
         gpuMonitor = new GPUMonitor();
+        diagnosticsMonitor = new DiagnosticsMonitor();
+
+        VBox leftSidebar = createLeftSidebar();
 
         selectedResource.set("Hardware");
 
@@ -236,9 +241,17 @@ public class GlimpseTaskManager extends Application {
 
         HBox searchBox = new HBox();
         TextField searchField = new TextField();
-        searchField.setPromptText("Search Devices");
+        searchField.setPromptText("Search Processes");
         searchField.setPrefWidth(220);
         searchField.setStyle("-fx-background-color: #3D3D3D; -fx-text-fill: white; -fx-prompt-text-fill: #888888;");
+        // Shares its query with the process table's filter field; typing brings the process table up
+        searchField.textProperty().bindBidirectional(processMonitor.filterProperty());
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
+            if (searchField.isFocused() && !newVal.isBlank() && !"Processes".equals(selectedResource.get())
+                    && processEntry != null) {
+                processEntry.fire();
+            }
+        });
         searchBox.getChildren().add(searchField);
 
         Label typesHeader = new Label("Devices");
@@ -254,6 +267,7 @@ public class GlimpseTaskManager extends Application {
 
             result.ifPresent(station -> {
                 remoteStations.add(station);
+                diagnosticsMonitor.addRemoteStation(station);
                 Button stationBtn = createSidebarButton("🌐 " + dialog.nameField.getText(), "white");
                 stationBtn.setOnAction(event -> {
                     processMonitor.setRemoteStation(station);
@@ -279,7 +293,7 @@ public class GlimpseTaskManager extends Application {
             updateRightPanel();
         });
 
-        sidebar.getChildren().addAll(typesHeader, localMonitorBtn, addStationBtn);
+        sidebar.getChildren().addAll(searchBox, typesHeader, localMonitorBtn, addStationBtn);
         return sidebar;
     }
 
@@ -313,12 +327,13 @@ public class GlimpseTaskManager extends Application {
         VBox entriesBox = new VBox(1);
 
         Button summaryEntry = createResourceEntry("Hardware", "Device Name", new Color(0.42, 0.6, 0.85, 1), "\uD83D\uDD0C");
-        Button processEntry = createResourceEntry("Processes", "Processes", new Color(0.42, 0.6, 0.85, 1), "🖥️");
+        processEntry = createResourceEntry("Processes", "Processes", new Color(0.42, 0.6, 0.85, 1), "🖥️");
         Button cpuEntry = createResourceEntry("CPU", "Current Process", new Color(0.42, 0.6, 0.85, 1), "\uD83C\uDFFF");
         Button gpuEntry = createResourceEntry("GPU", "Current Process", new Color(0.16, 0.5, 0.73, 1), "⚙");
         Button ramEntry = createResourceEntry("RAM", "Current Process", new Color(0.23, 0.35, 0.6, 1), "\uD83C\uDF9F");
         Button networkEntry = createResourceEntry("Network", "Current Process", new Color(0.8, 0.2, 0.2, 1), "📡");
         Button diskEntry = createResourceEntry("Disk", "Current Process", new Color(0.8, 0.2, 0.2, 1), "\uD83D\uDCBF");
+        Button diagnosticsEntry = createResourceEntry("Diagnostics", "Glimpse Overhead", new Color(0.4, 0.4, 0.4, 1), "⏱");
 
         // Highlight the Hardware button by default
         summaryEntry.setStyle("-fx-background-color: #3D5AFE; -fx-background-radius: 5;");
@@ -330,8 +345,10 @@ public class GlimpseTaskManager extends Application {
         setupResourceSelection(ramEntry);
         setupResourceSelection(networkEntry);
         setupResourceSelection(diskEntry);
+        setupResourceSelection(diagnosticsEntry);
 
-        entriesBox.getChildren().addAll(summaryEntry, processEntry, cpuEntry, gpuEntry, ramEntry, networkEntry, diskEntry);
+        entriesBox.getChildren().addAll(summaryEntry, processEntry, cpuEntry, gpuEntry, ramEntry, networkEntry, diskEntry,
+                diagnosticsEntry);
         centerSection.getChildren().addAll(entriesBox);
 
         return centerSection;
@@ -460,6 +477,9 @@ public class GlimpseTaskManager extends Application {
             case "Disk":
                 contentBox.getChildren().add(diskMonitor.createMonitorPanel());
                 break;
+            case "Diagnostics":
+                contentBox.getChildren().add(diagnosticsMonitor.createMonitorPanel());
+                break;
             default:
                 iconPane.setStyle("-fx-background-color: #4285F4; " + iconPane.getStyle());
                 iconLabel.setText("💻");
@@ -545,6 +565,9 @@ public class GlimpseTaskManager extends Application {
     @Override
     public void stop() throws Exception {
         // Stops the monitoring process when needed
+        if (hardwareMonitor != null) {
+            hardwareMonitor.shutdown();
+        }
         if (processMonitor != null) {
             processMonitor.shutdown();
         }
@@ -563,6 +586,11 @@ public class GlimpseTaskManager extends Application {
         if (networkMonitor != null) {
             networkMonitor.shutdown();
         }
+        if (diagnosticsMonitor != null) {
+            diagnosticsMonitor.shutdown();
+        }
+        SamplingEngine.getInstance().shutdown();
+        MetricStore.closeAll();
 
         Platform.exit();
         System.exit(0);
@@ -0,0 +1,145 @@
+package com.exodus.glimpse;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A remote station's process list, kept up to date from the deltas of its agent.
+ * <p>
+ * The station asks for processes with {@code since=<seq>}, the sequence number of the last list it holds, or 0
+ * when it holds none. Agents that support deltas answer with the changes since then:
+ * <pre>
+ * {"seq": 42, "base": 41, "added": [{...}], "changed": [{"pid": 7, "cpu_percent": 3.5}], "removed": [9, 12]}
+ * </pre>
+ * where {@code added} holds whole processes, {@code changed} holds the pid and the fields that changed, and
+ * {@code removed} holds pids. An agent that cannot answer from the given sequence number sends the whole list
+ * as {@code {"seq": 42, "full": [...]}} instead. Older agents ignore {@code since} and send a plain array.
+ * <p>
+ * A delta whose base is not the held sequence number means one was missed; the list is dropped and the next
+ * request asks for a full one. Rows are never modified once handed out: a changed process gets a new object, and
+ * every applied delta a new array, so monitors can keep reading earlier lists while later ones arrive.
+ * <p>
+ * Not thread-safe; the station applies deltas under its lock.
+ */
+final class RemoteProcessTable {
+    /** Rows by pid, in the order the agent first sent them. */
+    private final Map<Integer, JSONObject> rows = new LinkedHashMap<>();
+    /** Sequence number of the held list, or 0 if there is none. */
+    private long sequence;
+    /** The held list as handed out, or null if there is none. */
+    private JSONArray list;
+
+    /**
+     * Gets the sequence number to send as {@code since}.
+     * @return The sequence number of the held list, or 0 if a full list is needed.
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Brings the list up to date with the processes section of a response.
+     * @param section The section: a delta, a full list with a sequence number, or a plain array.
+     * @return The whole process list, or null if the delta does not follow the held list, which is then dropped.
+     * @throws JSONException If the section is malformed; the held list is dropped as well.
+     */
+    JSONArray apply(Object section) {
+        if (section instanceof JSONArray) {
+            // Agent without deltas
+            clear();
+            return (JSONArray) section;
+        }
+        if (!(section instanceof JSONObject)) {
+            clear();
+            throw new JSONException("Process section is neither a list nor a delta");
+        }
+        JSONObject json = (JSONObject) section;
+        try {
+            long next = json.getLong("seq");
+            JSONArray full = json.optJSONArray("full");
+            if (full != null) {
+                rows.clear();
+                for (int i = 0; i < full.length(); i++) {
+                    JSONObject row = full.getJSONObject(i);
+                    rows.put(row.getInt("pid"), row);
+                }
+                sequence = next;
+                list = full;
+                return list;
+            }
+
+            long base = json.getLong("base");
+            if (sequence > 0 && next <= sequence) {
+                // Already applied, such as a poll answered while a stream had moved on
+                return list;
+            }
+            if (base != sequence || list == null) {
+                clear();
+                return null;
+            }
+            boolean modified = false;
+            JSONArray removed = json.optJSONArray("removed");
+            if (removed != null) {
+                for (int i = 0; i < removed.length(); i++) {
+                    modified |= rows.remove(removed.getInt(i)) != null;
+                }
+            }
+            JSONArray added = json.optJSONArray("added");
+            if (added != null) {
+                for (int i = 0; i < added.length(); i++) {
+                    JSONObject row = added.getJSONObject(i);
+                    rows.put(row.getInt("pid"), row);
+                    modified = true;
+                }
+            }
+            JSONArray changed = json.optJSONArray("changed");
+            if (changed != null) {
+                for (int i = 0; i < changed.length(); i++) {
+                    JSONObject change = changed.getJSONObject(i);
+                    int pid = change.getInt("pid");
+                    JSONObject previous = rows.get(pid);
+                    if (previous == null) {
+                        // Only a missed delta can have added it
+                        clear();
+                        return null;
+                    }
+                    rows.put(pid, merge(previous, change));
+                    modified = true;
+                }
+            }
+            sequence = next;
+            if (modified) {
+                list = new JSONArray(rows.values());
+            }
+            return list;
+        } catch (JSONException e) {
+            clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Copies a row with the fields of a change applied.
+     */
+    private static JSONObject merge(JSONObject row, JSONObject change) {
+        // The copy constructor is far cheaper than putting each field into a new object
+        JSONObject merged = new JSONObject(row, JSONObject.getNames(row));
+        for (String key : change.keySet()) {
+            merged.put(key, change.get(key));
+        }
+        return merged;
+    }
+
+    /**
+     * Drops the held list, so that the next request asks for a full one.
+     */
+    void clear() {
+        rows.clear();
+        sequence = 0;
+        list = null;
+    }
+}
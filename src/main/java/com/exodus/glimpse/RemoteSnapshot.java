@@ -0,0 +1,116 @@
+package com.exodus.glimpse;
+
+import com.exodus.glimpse.sampling.TopK;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Sections of a remote station's {@code /api/snapshot} endpoint, decoded once and served from the station's
+ * cache to every monitor that asks for them.
+ * <p>
+ * The endpoint takes the sections to include as {@code ?sections=cpu,memory,processes} and answers with one
+ * JSON object holding each of them under its name, in the same format as the matching single endpoint:
+ * <pre>
+ * {"cpu": {...}, "memory": {...}, "processes": [...], "network": {...}, "disk": {...}}
+ * </pre>
+ * Sections are exposed as decoded JSON; monitors read them but must not modify them. Reading a section the
+ * response lacks throws a {@link JSONException}, like a malformed single-endpoint response would.
+ */
+public final class RemoteSnapshot {
+    /**
+     * Sections of a snapshot, each matching one of the older single endpoints.
+     */
+    public enum Section {
+        CPU("cpu", "/api/cpu"),
+        MEMORY("memory", "/api/memory"),
+        PROCESSES("processes", "/api/processes"),
+        NETWORK("network", "/api/network"),
+        DISK("disk", "/api/disk");
+
+        private final String key;
+        private final String endpoint;
+
+        Section(String key, String endpoint) {
+            this.key = key;
+            this.endpoint = endpoint;
+        }
+
+        /** Name of the section in the snapshot request and response. */
+        public String getKey() { return key; }
+        /** Single endpoint serving the same data, for agents without {@code /api/snapshot}. */
+        public String getEndpoint() { return endpoint; }
+    }
+
+    private final long timestamp;
+    private final JSONObject cpu;
+    private final JSONObject memory;
+    private final JSONArray processes;
+    private final JSONObject network;
+    private final JSONObject disk;
+
+    /**
+     * Creates a snapshot from decoded sections.
+     * @param timestamp Time the newest of the sections arrived, in milliseconds.
+     * @param json The sections, each under its key.
+     */
+    RemoteSnapshot(long timestamp, JSONObject json) {
+        this.timestamp = timestamp;
+        this.cpu = json.optJSONObject(Section.CPU.getKey());
+        this.memory = json.optJSONObject(Section.MEMORY.getKey());
+        this.processes = json.optJSONArray(Section.PROCESSES.getKey());
+        this.network = json.optJSONObject(Section.NETWORK.getKey());
+        this.disk = json.optJSONObject(Section.DISK.getKey());
+    }
+
+    /**
+     * Time the newest of the sections arrived, in milliseconds. Snapshots served from the cache can repeat the
+     * data of an earlier snapshot, and then repeat its timestamp too.
+     */
+    public long getTimestamp() { return timestamp; }
+    /** The {@code /api/cpu} section. */
+    public JSONObject getCpu() { return require(cpu, Section.CPU); }
+    /** The {@code /api/memory} section. */
+    public JSONObject getMemory() { return require(memory, Section.MEMORY); }
+    /** The {@code /api/processes} section. */
+    public JSONArray getProcesses() { return require(processes, Section.PROCESSES); }
+    /** The {@code /api/network} section. */
+    public JSONObject getNetwork() { return require(network, Section.NETWORK); }
+    /** The {@code /api/disk} section. */
+    public JSONObject getDisk() { return require(disk, Section.DISK); }
+
+    /**
+     * Returns the processes using the most CPU, highest first. Once deltas apply, the process list keeps the
+     * order in which the agent first sent each process, so its order says nothing about usage.
+     * @param limit Maximum number of processes to return.
+     * @return Indices into {@link #getProcesses()}.
+     */
+    public int[] topProcessesByCpu(int limit) {
+        return topProcesses("cpu_percent", limit);
+    }
+
+    /**
+     * Returns the processes using the most memory, highest first.
+     * @param limit Maximum number of processes to return.
+     * @return Indices into {@link #getProcesses()}.
+     */
+    public int[] topProcessesByMemory(int limit) {
+        return topProcesses("memory_percent", limit);
+    }
+
+    private int[] topProcesses(String field, int limit) {
+        JSONArray list = getProcesses();
+        double[] keys = new double[list.length()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = list.getJSONObject(i).getDouble(field);
+        }
+        return new TopK(limit).select(keys, keys.length);
+    }
+
+    private static <T> T require(T value, Section section) {
+        if (value == null) {
+            throw new JSONException("Snapshot has no " + section.getKey() + " section");
+        }
+        return value;
+    }
+}
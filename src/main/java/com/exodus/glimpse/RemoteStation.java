@@ -1,16 +1,122 @@
 package com.exodus.glimpse;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import com.exodus.glimpse.RemoteSnapshot.Section;
+import com.exodus.glimpse.diagnostics.CollectorStats;
+import com.exodus.glimpse.diagnostics.Diagnostics;
+import com.exodus.glimpse.sampling.SamplingEngine;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Represents a remote monitoring station with API communication methods.
+ * <p>
+ * All stations share one {@link HttpClient}, which keeps connections to each agent alive between polls and
+ * multiplexes concurrent requests over a single HTTP/2 connection when the agent offers it over TLS.
+ * Requests run on virtual threads and are bounded by the caller's deadline, so a slow or unreachable agent
+ * only ever holds up its own callers, never the sampling or JavaFX threads.
+ * <p>
+ * Monitors poll through {@link #fetchSnapshot(Duration, Section...)}, which serves each section from a short-lived cache
+ * shared by all monitors of the station, and fetches what is missing with one request. Concurrent callers
+ * needing the same section wait for a single request rather than each sending their own.
+ * The single-endpoint getters bypass the cache and always send a request.
+ * <p>
+ * Once every monitor has asked for its sections a couple of times, the station subscribes to the agent's
+ * {@code /api/stream} (see {@link RemoteStream}) at the rate the monitors poll at, and the pushed frames keep
+ * the cache filled, so polls are answered without a request. Agents without the endpoint keep being polled,
+ * as does any agent whose stream drops or stalls, until a new stream is up. Streaming can be turned off with
+ * {@code -Dglimpse.remote.stream=false}.
+ * <p>
+ * Process lists are asked for as deltas against the last list received, which agents that support it answer
+ * with only the processes added, removed and changed since; see {@link RemoteProcessTable}.
  */
 public class RemoteStation {
-    private String apiUrl;
-    private String apiKey;
+    /** Time allowed to open a connection to an agent. */
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(3);
+    /**
+     * Time allowed for a whole request, from sending it to reading the last byte of the response. Streams only
+     * wait this long for their headers; a stream that stops sending is caught by {@link RemoteStream#hasStalled}.
+     */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    /** Runs every remote request and decodes its response, one virtual thread each. */
+    private static final ExecutorService IO = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("glimpse-remote-", 0).factory());
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .executor(IO)
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(CONNECT_TIMEOUT)
+            // Every request carries the API key, which must not follow a redirect to another host; a 3xx
+            // answer fails with an ApiException like any other status
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    /** Whether stations stream from agents that support it rather than only polling. */
+    private static final boolean STREAMING = Boolean.parseBoolean(System.getProperty("glimpse.remote.stream", "true"));
+    /** Slowest rate to ask a stream for, so that streamed sections are never much older than polled ones. */
+    private static final long STREAM_MAX_INTERVAL_MILLIS = 1000;
+
+    /** Sections nobody asked for in this long are no longer fetched ahead of time; longer than any polling interval. */
+    private static final long SECTION_DEMAND_MILLIS = 15_000;
+    /** How long a fetched section is served from the cache, indexed by ordinal. */
+    private static final long[] TTL_MILLIS = new long[Section.values().length];
+
+    static {
+        for (Section section : Section.values()) {
+            TTL_MILLIS[section.ordinal()] = Long.getLong("glimpse.remote.ttl." + section.getKey(),
+                    defaultTtlMillis(section));
+        }
+    }
+
+    private final String apiUrl;
+    private final String apiKey;
+    /** Time each section was last asked for, indexed by ordinal. */
+    private final long[] sectionAsked = new long[Section.values().length];
+    /** Time between the last two asks for each section from different ticks, indexed by ordinal. */
+    private final long[] sectionPeriod = new long[Section.values().length];
+    /** Last fetched value of each section, indexed by ordinal, or null. */
+    private final Object[] cachedSections = new Object[Section.values().length];
+    /** Time each cached section arrived, indexed by ordinal. */
+    private final long[] cachedAt = new long[Section.values().length];
+    /** Fetch in progress for each section, if any. */
+    private final Map<Section, CompletableFuture<JSONObject>> inFlight = new EnumMap<>(Section.class);
+    private long cacheHits;
+    private long cacheMisses;
+    private long coalescedRequests;
+    /** Set once the agent turns out not to serve /api/snapshot. */
+    private volatile boolean snapshotUnsupported;
+    /** Stream filling the cache, connecting or open, or null while polling. */
+    private RemoteStream stream;
+    /** Time before which no new stream is opened after the last one ended. */
+    private long streamRetryAt;
+    /** Set once the agent turns out not to serve /api/stream. */
+    private volatile boolean streamUnsupported;
+    /** Process list the agent's deltas apply to. */
+    private final RemoteProcessTable processTable = new RemoteProcessTable();
 
     /**
      * Constructor for creating a remote station with API details.
@@ -22,6 +128,431 @@ public class RemoteStation {
         this.apiKey = apiKey;
     }
 
+    /**
+     * Returns how long a section is cached unless configured with {@code glimpse.remote.ttl.<section>}.
+     * Sections that feed per-tick charts and rates stay under one engine tick, so that the monitors asking in
+     * the same tick share a fetch while no monitor ever sees the same sample twice. The process list is only
+     * polled every second or slower, like the local process table.
+     * @param section The section.
+     * @return The time to live in milliseconds.
+     */
+    private static long defaultTtlMillis(Section section) {
+        return section == Section.PROCESSES ? 900 : SamplingEngine.TICK_MILLIS * 4 / 5;
+    }
+
+    /**
+     * Gets the base URL of the API, which also identifies the station's history.
+     * @return The base URL.
+     */
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    /**
+     * Gets a snapshot holding at least the given sections, on a virtual thread. Sections fetched within their
+     * time to live come from the cache, sections another caller is already fetching wait for that request,
+     * and the rest are fetched with one request. A fetch also includes the sections other monitors are
+     * expected to ask for in the same tick, judging by how often each was asked for lately, so they find
+     * them already cached.
+     * <p>
+     * Agents that answer {@code /api/snapshot} with 404 are polled through the single endpoints instead.
+     * @param deadline Time allowed for the whole call, waiting for other callers' requests included.
+     * @param sections The sections needed.
+     * @return Future completed with the snapshot, or exceptionally with the failure or a
+     * {@link TimeoutException} once the deadline passes.
+     */
+    public CompletableFuture<RemoteSnapshot> fetchSnapshot(Duration deadline, Section... sections) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getSnapshot(deadlineNanos, sections);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, IO).orTimeout(deadline.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets a snapshot as described by {@link #fetchSnapshot(Duration, Section...)}, blocking until it is there.
+     * @param deadlineNanos {@link System#nanoTime()} by which the call must be done.
+     * @param sections The sections needed.
+     * @return The snapshot.
+     * @throws Exception If the API request fails or the deadline passes.
+     */
+    private RemoteSnapshot getSnapshot(long deadlineNanos, Section... sections) throws Exception {
+        long now = System.currentTimeMillis();
+        Set<Section> wanted = EnumSet.noneOf(Section.class);
+        JSONObject json = new JSONObject();
+        Map<Section, CompletableFuture<JSONObject>> pending = new EnumMap<>(Section.class);
+        Set<Section> requested = null;
+        CompletableFuture<JSONObject> fetch = null;
+        long newest = 0;
+
+        synchronized (this) {
+            Set<Section> missing = EnumSet.noneOf(Section.class);
+            for (Section section : sections) {
+                if (!wanted.add(section)) {
+                    continue;
+                }
+                int index = section.ordinal();
+                // Several monitors asking in the same tick do not make a period
+                if (now - sectionAsked[index] >= SamplingEngine.TICK_MILLIS) {
+                    sectionPeriod[index] = now - sectionAsked[index];
+                    sectionAsked[index] = now;
+                }
+                if (isCached(section, now)) {
+                    cacheHits++;
+                    json.put(section.getKey(), cachedSections[index]);
+                    newest = Math.max(newest, cachedAt[index]);
+                } else if (inFlight.containsKey(section)) {
+                    coalescedRequests++;
+                    pending.put(section, inFlight.get(section));
+                } else {
+                    cacheMisses++;
+                    missing.add(section);
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                requested = EnumSet.copyOf(missing);
+                for (Section section : Section.values()) {
+                    long sinceAsked = now - sectionAsked[section.ordinal()];
+                    if (sinceAsked < SECTION_DEMAND_MILLIS
+                            && sinceAsked + SamplingEngine.TICK_MILLIS / 2 >= sectionPeriod[section.ordinal()]
+                            && !isCached(section, now) && !inFlight.containsKey(section)) {
+                        requested.add(section);
+                    }
+                }
+                fetch = new CompletableFuture<>();
+                for (Section section : requested) {
+                    inFlight.put(section, fetch);
+                }
+            }
+        }
+
+        maintainStream(now);
+        if (fetch != null) {
+            JSONObject response = fetchAndCache(requested, fetch, deadlineNanos);
+            for (Section section : requested) {
+                if (wanted.contains(section)) {
+                    json.put(section.getKey(), response.opt(section.getKey()));
+                }
+            }
+        }
+        for (Map.Entry<Section, CompletableFuture<JSONObject>> entry : pending.entrySet()) {
+            String key = entry.getKey().getKey();
+            try {
+                json.put(key, entry.getValue().get(remainingNanos(deadlineNanos), TimeUnit.NANOSECONDS).opt(key));
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+        if (fetch != null || !pending.isEmpty()) {
+            newest = System.currentTimeMillis();
+        }
+        return new RemoteSnapshot(newest, json);
+    }
+
+    /**
+     * Fetches sections on behalf of every caller waiting for them, then caches them.
+     * @param sections The sections to fetch.
+     * @param fetch Future the waiting callers hold, completed with the response either way.
+     * @param deadlineNanos {@link System#nanoTime()} by which the request must be done.
+     * @return The decoded response.
+     * @throws Exception If the API request fails or the deadline passes.
+     */
+    private JSONObject fetchAndCache(Set<Section> sections, CompletableFuture<JSONObject> fetch, long deadlineNanos)
+            throws Exception {
+        JSONObject response;
+        try {
+            response = fetchSections(sections, deadlineNanos);
+        } catch (Exception e) {
+            synchronized (this) {
+                sections.forEach(section -> inFlight.remove(section, fetch));
+            }
+            fetch.completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (this) {
+            long arrived = System.currentTimeMillis();
+            boolean processesApplied = applyProcesses(response);
+            for (Section section : sections) {
+                Object value = response.opt(section.getKey());
+                if (value != null) {
+                    cachedSections[section.ordinal()] = value;
+                    cachedAt[section.ordinal()] = arrived;
+                }
+                inFlight.remove(section, fetch);
+            }
+            Object previous = cachedSections[Section.PROCESSES.ordinal()];
+            if (!processesApplied && previous != null) {
+                // The waiting callers get the last list once more; it stays stale, so the next poll resyncs
+                response.put(Section.PROCESSES.getKey(), previous);
+            }
+        }
+        fetch.complete(response);
+        return response;
+    }
+
+    /**
+     * Returns the time left until a deadline.
+     * @throws TimeoutException If the deadline has passed.
+     */
+    private static long remainingNanos(long deadlineNanos) throws TimeoutException {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0) {
+            throw new TimeoutException("Remote request deadline passed");
+        }
+        return remaining;
+    }
+
+    /**
+     * Checks whether a section is cached and still within its time to live. Must hold the station's lock.
+     */
+    private boolean isCached(Section section, long now) {
+        int index = section.ordinal();
+        long ttl = TTL_MILLIS[index];
+        if (stream != null && stream.isLive(now) && stream.getSections().contains(section)) {
+            // The next frame is on its way; polling now would only fetch the same data early
+            ttl = Math.max(ttl, stream.getIntervalMillis() + SamplingEngine.TICK_MILLIS);
+        }
+        return cachedSections[index] != null && now - cachedAt[index] < ttl;
+    }
+
+    /**
+     * Opens a stream once the sections in demand are known, and replaces it when it stalls or more sections are
+     * wanted than it carries. Connecting happens on a virtual thread; until frames arrive, callers keep polling.
+     * @param now The current time in milliseconds.
+     */
+    private void maintainStream(long now) {
+        if (!STREAMING || streamUnsupported) {
+            return;
+        }
+        RemoteStream stale = null;
+        RemoteStream opened = null;
+        synchronized (this) {
+            Set<Section> demanded = EnumSet.noneOf(Section.class);
+            long fastest = STREAM_MAX_INTERVAL_MILLIS;
+            for (Section section : Section.values()) {
+                int index = section.ordinal();
+                if (sectionAsked[index] > 0 && now - sectionAsked[index] < SECTION_DEMAND_MILLIS) {
+                    if (sectionPeriod[index] == 0 || sectionPeriod[index] == sectionAsked[index]) {
+                        // Not asked for twice yet; the monitors are still starting up
+                        return;
+                    }
+                    demanded.add(section);
+                    fastest = Math.min(fastest, sectionPeriod[index]);
+                }
+            }
+
+            if (stream != null && stream.hasStalled(now, REQUEST_TIMEOUT.toMillis())) {
+                System.err.println("Remote station " + apiUrl + " stream stalled, polling until it reconnects");
+                stale = stream;
+                stream = null;
+                streamRetryAt = now + stale.getRetryMillis();
+            } else if (stream != null && !stream.getSections().containsAll(demanded)) {
+                stale = stream;
+                stream = null;
+            }
+            if (stream == null && now >= streamRetryAt && !demanded.isEmpty()) {
+                stream = opened = new RemoteStream(demanded, Math.max(SamplingEngine.TICK_MILLIS, fastest),
+                        this::cacheFrame);
+            }
+        }
+        if (stale != null) {
+            stale.close();
+        }
+        if (opened != null) {
+            RemoteStream connecting = opened;
+            IO.execute(() -> runStream(connecting));
+        }
+    }
+
+    /**
+     * Connects a stream and reads it until it ends, then lets polling take over again. Agents that do not
+     * serve {@code /api/stream} are not asked again.
+     * @param current The stream to run.
+     */
+    private void runStream(RemoteStream current) {
+        try {
+            String endpoint = current.getEndpoint();
+            if (current.getSections().contains(Section.PROCESSES)) {
+                endpoint += "&since=" + processSequence();
+            }
+            HttpResponse<InputStream> response = CLIENT.send(newRequest(endpoint, REQUEST_TIMEOUT)
+                    .header("Accept", "text/event-stream")
+                    .build(), HttpResponse.BodyHandlers.ofInputStream());
+            int status = response.statusCode();
+            boolean eventStream = response.headers().firstValue("Content-Type")
+                    .map(type -> type.startsWith("text/event-stream")).orElse(false);
+            if (status == 404 || status == 406 || status == 501 || status == 200 && !eventStream) {
+                response.body().close();
+                streamUnsupported = true;
+                System.err.println("Remote station " + apiUrl + " has no stream endpoint, polling only");
+                return;
+            }
+            if (status != 200) {
+                response.body().close();
+                throw new ApiException(status);
+            }
+            current.read(response);
+        } catch (IOException | ApiException e) {
+            System.err.println("Remote station " + apiUrl + " stream ended: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            current.close();
+            synchronized (this) {
+                if (stream == current) {
+                    stream = null;
+                    streamRetryAt = System.currentTimeMillis() + current.getRetryMillis();
+                }
+            }
+        }
+    }
+
+    /**
+     * Caches the sections of a pushed frame, as if they had just been fetched. Ends the stream once nobody
+     * has asked for any of its sections for a while, such as after switching to another station.
+     * @param frame The decoded frame.
+     */
+    private void cacheFrame(JSONObject frame) {
+        RemoteStream ended = null;
+        synchronized (this) {
+            if (!applyProcesses(frame) && stream != null) {
+                // Later frames build on the missed one; reconnect for a full list
+                ended = stream;
+                stream = null;
+            }
+            long arrived = System.currentTimeMillis();
+            boolean wanted = false;
+            for (Section section : Section.values()) {
+                Object value = frame.opt(section.getKey());
+                if (value != null) {
+                    cachedSections[section.ordinal()] = value;
+                    cachedAt[section.ordinal()] = arrived;
+                }
+                wanted |= arrived - sectionAsked[section.ordinal()] < SECTION_DEMAND_MILLIS;
+            }
+            if (!wanted && stream != null) {
+                ended = stream;
+                stream = null;
+            }
+        }
+        if (ended != null) {
+            ended.close();
+        }
+    }
+
+    /**
+     * Replaces the processes section of a response or frame, which may be a delta, with the whole process list.
+     * Must hold the station's lock.
+     * @param response The decoded response or frame.
+     * @return Whether the section could be applied. If not, it is removed from the response, and the next request
+     * asks for a full list.
+     */
+    private boolean applyProcesses(JSONObject response) {
+        String key = Section.PROCESSES.getKey();
+        Object value = response.opt(key);
+        if (value == null) {
+            return true;
+        }
+        JSONArray processes;
+        try {
+            processes = processTable.apply(value);
+        } catch (JSONException e) {
+            System.err.println("Error parsing remote process delta: " + e.getMessage());
+            processes = null;
+        }
+        if (processes == null) {
+            System.err.println("Remote station " + apiUrl + " process list out of sequence, asking for a full list");
+            response.remove(key);
+            return false;
+        }
+        response.put(key, processes);
+        return true;
+    }
+
+    /**
+     * Gets the sequence number of the process list the next delta should build on.
+     * @return The sequence number, or 0 to ask for a full list.
+     */
+    private synchronized long processSequence() {
+        return processTable.getSequence();
+    }
+
+    /**
+     * Checks whether the cache is currently being filled by a stream rather than by polling.
+     * @return Whether a stream is delivering frames.
+     */
+    public synchronized boolean isStreaming() {
+        return stream != null && stream.isLive(System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the number of sections served from the cache.
+     * @return The cache hit count.
+     */
+    public synchronized long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Gets the number of sections that had to be fetched.
+     * @return The cache miss count.
+     */
+    public synchronized long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Gets the number of sections that waited for a fetch another caller had already started.
+     * @return The coalesced request count.
+     */
+    public synchronized long getCoalescedRequests() {
+        return coalescedRequests;
+    }
+
+    /**
+     * Fetches sections with one {@code /api/snapshot} request, or one request per section for older agents.
+     * @param sections The sections to fetch.
+     * @param deadlineNanos {@link System#nanoTime()} by which all requests must be done.
+     * @return The decoded response, holding each section under its key.
+     * @throws Exception If an API request fails or the deadline passes.
+     */
+    private JSONObject fetchSections(Set<Section> sections, long deadlineNanos) throws Exception {
+        if (!snapshotUnsupported) {
+            StringJoiner keys = new StringJoiner(",");
+            sections.forEach(section -> keys.add(section.getKey()));
+            try {
+                String since = sections.contains(Section.PROCESSES) ? "&since=" + processSequence() : "";
+                return new JSONObject(makeApiRequest("/api/snapshot?sections=" + keys + since, remainingNanos(deadlineNanos)));
+            } catch (ApiException e) {
+                if (e.getStatusCode() != 404) {
+                    throw e;
+                }
+                snapshotUnsupported = true;
+                System.err.println("Remote station " + apiUrl + " has no snapshot endpoint, polling endpoints separately");
+            }
+        }
+
+        JSONObject json = new JSONObject();
+        for (Section section : sections) {
+            if (section == Section.PROCESSES) {
+                // A plain array from older agents, a delta or full list with a sequence number otherwise
+                String response = makeApiRequest(section.getEndpoint() + "?since=" + processSequence(),
+                        remainingNanos(deadlineNanos));
+                json.put(section.getKey(), new JSONTokener(response).nextValue());
+            } else {
+                json.put(section.getKey(), new JSONObject(makeApiRequest(section.getEndpoint(), remainingNanos(deadlineNanos))));
+            }
+        }
+        return json;
+    }
+
     /**
      * Gets top processes from the remote station.
      * @return JSON string of process data.
@@ -68,31 +599,106 @@ public class RemoteStation {
     }
 
     /**
-     * Makes a generic API request to the remote station.
+     * Makes a generic API request to the remote station, allowing it the default request timeout.
      * @param endpoint The API endpoint to call.
      * @return JSON response from the API.
      * @throws Exception If the request fails.
      */
     private String makeApiRequest(String endpoint) throws Exception {
-        URL url = new URL(apiUrl + endpoint);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("GET");
-        conn.setRequestProperty("Authorization", "Bearer " + apiKey);
+        return makeApiRequest(endpoint, REQUEST_TIMEOUT.toNanos());
+    }
+
+    /**
+     * Makes a generic API request to the remote station.
+     * @param endpoint The API endpoint to call.
+     * @param timeoutNanos Time allowed for the request, capped at the default request timeout.
+     * @return JSON response from the API.
+     * @throws Exception If the request fails or times out.
+     */
+    private String makeApiRequest(String endpoint, long timeoutNanos) throws Exception {
+        int query = endpoint.indexOf('?');
+        CollectorStats stats = Diagnostics.get("Remote " + (query >= 0 ? endpoint.substring(0, query) : endpoint));
+        long allocated = Diagnostics.allocatedBytes();
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            String response = send(endpoint, Duration.ofNanos(Math.min(timeoutNanos, REQUEST_TIMEOUT.toNanos())));
+            failed = false;
+            return response;
+        } finally {
+            stats.recordSince(started, allocated, failed);
+        }
+    }
+
+    /**
+     * Performs the HTTP request of {@link #makeApiRequest(String, long)} on the shared client.
+     * The body is read as bytes and decoded once, rather than line by line.
+     * @param endpoint The API endpoint to call.
+     * @param timeout Time allowed for the request, body included.
+     * @return JSON response from the API.
+     * @throws Exception If the request fails or times out.
+     */
+    private String send(String endpoint, Duration timeout) throws Exception {
+        HttpRequest request = newRequest(endpoint, timeout)
+                .header("Accept", "application/json")
+                .build();
 
-        int responseCode = conn.getResponseCode();
-        if (responseCode != 200) {
-            throw new RuntimeException("API request failed with code: " + responseCode);
+        // The request timeout only covers the headers, so the body is bounded by waiting on the exchange instead
+        CompletableFuture<HttpResponse<byte[]>> exchange = CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> response;
+        try {
+            response = exchange.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw new HttpTimeoutException("Request to " + endpoint + " timed out");
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
         }
+        if (response.statusCode() != 200) {
+            throw new ApiException(response.statusCode());
+        }
+        return new String(response.body(), StandardCharsets.UTF_8);
+    }
 
-        BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-        String inputLine;
-        StringBuilder response = new StringBuilder();
+    /**
+     * Starts an authenticated GET request to the station.
+     * @param endpoint The API endpoint to call.
+     * @param timeout Time allowed until the response headers arrive.
+     * @return The request builder, to add the accepted content type to.
+     */
+    private HttpRequest.Builder newRequest(String endpoint, Duration timeout) {
+        URI uri = URI.create(apiUrl + endpoint);
+        return HttpRequest.newBuilder(uri)
+                // Plain-text agents get HTTP/1.1 rather than an h2c upgrade, which some servers reject
+                .version("https".equalsIgnoreCase(uri.getScheme()) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + apiKey)
+                .GET();
+    }
 
-        while ((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
+    /**
+     * Thrown when a remote station answers with a status other than 200.
+     */
+    public static class ApiException extends RuntimeException {
+        private final int statusCode;
+
+        /**
+         * @param statusCode The HTTP status of the response.
+         */
+        public ApiException(int statusCode) {
+            super("API request failed with code: " + statusCode);
+            this.statusCode = statusCode;
         }
-        in.close();
 
-        return response.toString();
+        /**
+         * Gets the HTTP status of the failed response.
+         * @return The status code.
+         */
+        public int getStatusCode() {
+            return statusCode;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.exodus.glimpse;
+
+import com.exodus.glimpse.RemoteSnapshot.Section;
+import com.exodus.glimpse.diagnostics.CollectorStats;
+import com.exodus.glimpse.diagnostics.Diagnostics;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * Subscription to a remote station's {@code /api/stream} endpoint, over which the agent pushes snapshot frames
+ * as server-sent events at a negotiated rate instead of being polled.
+ * <p>
+ * The stream is asked for as {@code /api/stream?sections=cpu,memory&interval=250}, with the interval in
+ * milliseconds. The agent answers with {@code Content-Type: text/event-stream}, may grant a slower rate in an
+ * {@code X-Glimpse-Interval} header, and then sends one event per frame, holding the sections in the format of
+ * {@code /api/snapshot}:
+ * <pre>
+ * event: snapshot
+ * data: {"cpu": {...}, "memory": {...}}
+ * </pre>
+ * Comment lines such as {@code : keep-alive} are ignored, and a {@code retry:} field sets how long to wait
+ * before reconnecting once the stream ends.
+ */
+final class RemoteStream {
+    /** Time to wait before reconnecting unless the agent sets it with {@code retry:}. */
+    static final long DEFAULT_RETRY_MILLIS = 10_000;
+
+    private final Set<Section> sections;
+    private final Consumer<JSONObject> frames;
+    private final CollectorStats stats = Diagnostics.get("Remote /api/stream");
+    private volatile long intervalMillis;
+    private volatile long retryMillis = DEFAULT_RETRY_MILLIS;
+    /** Time the stream was accepted, or 0 before that. */
+    private volatile long openedAt;
+    /** Time the last frame arrived, or 0 before the first. */
+    private volatile long lastFrameAt;
+    private volatile boolean closed;
+    private InputStream body;
+
+    /**
+     * Creates a stream that has yet to be connected.
+     * @param sections The sections to ask the agent for.
+     * @param intervalMillis The rate to ask the agent for, in milliseconds between frames.
+     * @param frames Receives the decoded sections of every frame, on the thread reading the stream.
+     */
+    RemoteStream(Set<Section> sections, long intervalMillis, Consumer<JSONObject> frames) {
+        this.sections = Collections.unmodifiableSet(EnumSet.copyOf(sections));
+        this.intervalMillis = intervalMillis;
+        this.frames = frames;
+    }
+
+    /** The sections the agent was asked for. */
+    Set<Section> getSections() { return sections; }
+    /** Time between frames, as granted by the agent once the stream is open. */
+    long getIntervalMillis() { return intervalMillis; }
+    /** Time to wait before reconnecting after this stream ends. */
+    long getRetryMillis() { return retryMillis; }
+
+    /**
+     * Gets the endpoint to request, with the sections and rate asked for.
+     * @return The endpoint and query.
+     */
+    String getEndpoint() {
+        StringJoiner keys = new StringJoiner(",");
+        sections.forEach(section -> keys.add(section.getKey()));
+        return "/api/stream?sections=" + keys + "&interval=" + intervalMillis;
+    }
+
+    /**
+     * Checks whether frames are arriving at about the granted rate, so that the sections they carry can stand
+     * in for polling.
+     * @param now The current time in milliseconds.
+     * @return Whether the stream is open and its last frame is no more than two intervals old.
+     */
+    boolean isLive(long now) {
+        return !closed && lastFrameAt > 0 && now - lastFrameAt <= 2 * intervalMillis;
+    }
+
+    /**
+     * Checks whether the stream was accepted but has stopped delivering frames, as a half-open connection would.
+     * @param now The current time in milliseconds.
+     * @param graceMillis Time allowed on top of the interval before a frame counts as missing.
+     * @return Whether the stream should be given up.
+     */
+    boolean hasStalled(long now, long graceMillis) {
+        long since = Math.max(openedAt, lastFrameAt);
+        return since > 0 && now - since > intervalMillis + graceMillis;
+    }
+
+    /**
+     * Reads the stream until the agent ends it or {@link #close()} is called. Runs on its own virtual thread.
+     * @param response The accepted response, its body not yet read.
+     * @throws IOException If reading the stream fails other than by being closed.
+     */
+    void read(HttpResponse<InputStream> response) throws IOException {
+        synchronized (this) {
+            body = response.body();
+            if (closed) {
+                body.close();
+                return;
+            }
+        }
+        response.headers().firstValueAsLong("X-Glimpse-Interval")
+                .ifPresent(granted -> intervalMillis = Math.max(intervalMillis, granted));
+        openedAt = System.currentTimeMillis();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            StringBuilder data = new StringBuilder();
+            String event = "";
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    // A blank line ends the event
+                    if (!data.isEmpty() && (event.isEmpty() || event.equals("snapshot"))) {
+                        dispatch(data.toString());
+                    }
+                    data.setLength(0);
+                    event = "";
+                    continue;
+                }
+                if (line.startsWith(":")) {
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                String field = colon >= 0 ? line.substring(0, colon) : line;
+                String value = colon >= 0 ? line.substring(colon + 1) : "";
+                if (value.startsWith(" ")) {
+                    value = value.substring(1);
+                }
+                switch (field) {
+                    case "data":
+                        if (!data.isEmpty()) {
+                            data.append('\n');
+                        }
+                        data.append(value);
+                        break;
+                    case "event":
+                        event = value;
+                        break;
+                    case "retry":
+                        try {
+                            retryMillis = Long.parseLong(value);
+                        } catch (NumberFormatException e) {
+                            // Ignored, as the event stream format requires
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                throw e;
+            }
+        } finally {
+            closed = true;
+        }
+    }
+
+    /**
+     * Decodes one frame and hands it on. A malformed frame is reported and skipped.
+     * @param data The data of the event.
+     */
+    private void dispatch(String data) {
+        long allocated = Diagnostics.allocatedBytes();
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            JSONObject json = new JSONObject(data);
+            lastFrameAt = System.currentTimeMillis();
+            frames.accept(json);
+            failed = false;
+        } catch (JSONException e) {
+            System.err.println("Error parsing remote stream frame: " + e.getMessage());
+        } finally {
+            stats.recordSince(started, allocated, failed);
+        }
+    }
+
+    /**
+     * Ends the stream, cancelling the request if it is still being read. Safe to call from any thread.
+     */
+    void close() {
+        InputStream current;
+        synchronized (this) {
+            closed = true;
+            current = body;
+        }
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
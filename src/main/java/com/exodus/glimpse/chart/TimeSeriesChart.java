@@ -0,0 +1,421 @@
+package com.exodus.glimpse.chart;
+
+import com.exodus.glimpse.history.MetricHistory;
+import com.exodus.glimpse.history.TimeSeries;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ComboBox;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Time-series chart drawn on a single {@link Canvas} straight from the primitive history arrays, instead of
+ * one scene-graph node per point as {@code LineChart} does.
+ * <p>
+ * Each series reads the {@link MetricHistory} tier matching the chart's range and width, then is decimated
+ * to one column per pixel: the line follows each column's average while a faint vertical stroke shows its
+ * min/max envelope, so spikes stay visible however many points fall into a pixel. The chart redraws only
+ * during layout after a series changed or the chart was resized, and not at all while it is not shown.
+ * <p>
+ * A selector in the title bar switches the range between the last minute, hour, day and week; longer ranges
+ * read the coarser tiers.
+ */
+public class TimeSeriesChart extends Region {
+    private static final Color BACKGROUND = Color.web("#323232");
+    private static final Color PLOT_BACKGROUND = Color.web("#262626");
+    private static final Color GRID = Color.web("#3A3A3A");
+    private static final Color LABEL = Color.web("#BBBBBB");
+    private static final Font TITLE_FONT = Font.font("System", FontWeight.BOLD, 14);
+    private static final Font LABEL_FONT = Font.font("System", 11);
+    private static final double LEFT = 58;
+    private static final double RIGHT = 12;
+    private static final double TOP = 30;
+    private static final double BOTTOM = 22;
+    private static final int GRID_LINES = 5;
+    /** Ranges offered by the range selector, in milliseconds. */
+    private static final long[] RANGES_MILLIS = {60_000, 3_600_000, 86_400_000, 7 * 86_400_000L};
+    private static final String[] RANGE_NAMES = {"1m", "1h", "1d", "1w"};
+
+    private final Canvas canvas = new Canvas();
+    private final ComboBox<String> rangeSelector = new ComboBox<>();
+    private final String title;
+    private final String yAxisLabel;
+    private final List<Series> series = new ArrayList<>();
+    private long rangeMillis;
+    private double fixedMin = Double.NaN;
+    private double fixedMax = Double.NaN;
+    private boolean dirty = true;
+
+    private long[] timestamps = new long[0];
+    private double[] mins = new double[0];
+    private double[] maxs = new double[0];
+    private double[] averages = new double[0];
+    private double[] columnMins = new double[0];
+    private double[] columnMaxs = new double[0];
+    private double[] columnAverages = new double[0];
+
+    /**
+     * Creates a chart with automatic y range.
+     * @param title The title of the chart.
+     * @param yAxisLabel The label for the y axis.
+     * @param rangeMillis Time range shown, ending at the latest sample, in milliseconds.
+     */
+    public TimeSeriesChart(String title, String yAxisLabel, long rangeMillis) {
+        this.title = title;
+        this.yAxisLabel = yAxisLabel;
+        this.rangeMillis = rangeMillis;
+        rangeSelector.getItems().addAll(RANGE_NAMES);
+        rangeSelector.setStyle("-fx-background-color: #3D3D3D; -fx-font-size: 11px;");
+        rangeSelector.setFocusTraversable(false);
+        selectRange();
+        rangeSelector.getSelectionModel().selectedIndexProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal.intValue() >= 0) {
+                setRangeMillis(RANGES_MILLIS[newVal.intValue()]);
+            }
+        });
+        getChildren().addAll(canvas, rangeSelector);
+        setPrefSize(600, 300);
+        setMinSize(200, 150);
+    }
+
+    /**
+     * Fixes the y range instead of fitting it to the data.
+     * @param min Lower bound of the y axis.
+     * @param max Upper bound of the y axis.
+     */
+    public void setYRange(double min, double max) {
+        fixedMin = min;
+        fixedMax = max;
+        invalidate();
+    }
+
+    /**
+     * Changes the time range shown.
+     * @param rangeMillis Time range in milliseconds.
+     */
+    public void setRangeMillis(long rangeMillis) {
+        if (this.rangeMillis == rangeMillis) {
+            return;
+        }
+        this.rangeMillis = rangeMillis;
+        selectRange();
+        invalidate();
+    }
+
+    /**
+     * Shows the current range in the selector, or nothing if the selector does not offer it.
+     */
+    private void selectRange() {
+        for (int i = 0; i < RANGES_MILLIS.length; i++) {
+            if (RANGES_MILLIS[i] == rangeMillis) {
+                rangeSelector.getSelectionModel().select(i);
+                return;
+            }
+        }
+        rangeSelector.getSelectionModel().clearSelection();
+    }
+
+    /**
+     * Adds a series; it stays empty until {@link #show(int, MetricHistory)} is called.
+     * @param name Name shown in the legend when the chart has several series.
+     * @param color Color of the series.
+     * @return Index of the series.
+     */
+    public int addSeries(String name, Color color) {
+        series.add(new Series(name, color));
+        invalidate();
+        return series.size() - 1;
+    }
+
+    /**
+     * Shows a history in a series. Only marks the chart for redrawing if the history changed.
+     * Must be called on the JavaFX application thread.
+     * @param index Index returned by {@link #addSeries(String, Color)}.
+     * @param history The history to show; may differ between calls, such as when switching stations.
+     */
+    public void show(int index, MetricHistory history) {
+        Series target = series.get(index);
+        long version = history.getVersion();
+        if (target.history != history || target.version != version) {
+            target.history = history;
+            target.version = version;
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        dirty = true;
+        requestLayout();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = snapSizeX(getWidth());
+        double height = snapSizeY(getHeight());
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            dirty = true;
+        }
+        rangeSelector.autosize();
+        rangeSelector.relocate(Math.max(0, width - RIGHT - rangeSelector.getWidth()),
+                Math.max(0, (TOP - rangeSelector.getHeight()) / 2));
+        if (dirty && width > 0 && height > 0) {
+            dirty = false;
+            draw(width, height);
+        }
+    }
+
+    private void draw(double width, double height) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(BACKGROUND);
+        gc.fillRect(0, 0, width, height);
+
+        gc.setFill(Color.WHITE);
+        gc.setFont(TITLE_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(title, width / 2, TOP / 2);
+
+        double plotX = LEFT;
+        double plotY = TOP;
+        double plotWidth = width - LEFT - RIGHT;
+        double plotHeight = height - TOP - BOTTOM;
+        if (plotWidth < 10 || plotHeight < 10) {
+            return;
+        }
+        gc.setFill(PLOT_BACKGROUND);
+        gc.fillRect(plotX, plotY, plotWidth, plotHeight);
+
+        int columns = (int) plotWidth;
+        long latest = Long.MIN_VALUE;
+        for (Series s : series) {
+            if (s.history != null) {
+                latest = Math.max(latest, s.history.getLastTimestamp());
+            }
+        }
+
+        // Decimate every series first, the automatic y range depends on all of them
+        double dataMin = Double.POSITIVE_INFINITY;
+        double dataMax = Double.NEGATIVE_INFINITY;
+        ensureColumns(columns * series.size());
+        for (int i = 0; i < series.size(); i++) {
+            Series s = series.get(i);
+            s.columns = latest == Long.MIN_VALUE || s.history == null
+                    ? 0
+                    : decimate(s.history, latest - rangeMillis, columns, i * columns);
+            for (int c = 0; c < s.columns; c++) {
+                int column = i * columns + c;
+                if (!Double.isNaN(columnAverages[column])) {
+                    dataMin = Math.min(dataMin, columnMins[column]);
+                    dataMax = Math.max(dataMax, columnMaxs[column]);
+                }
+            }
+        }
+
+        double yMin;
+        double yMax;
+        if (!Double.isNaN(fixedMin)) {
+            yMin = fixedMin;
+            yMax = fixedMax;
+        } else {
+            yMin = Math.min(0, dataMin == Double.POSITIVE_INFINITY ? 0 : dataMin);
+            yMax = niceCeiling(dataMax == Double.NEGATIVE_INFINITY ? 1 : dataMax * 1.1);
+        }
+        drawGrid(gc, plotX, plotY, plotWidth, plotHeight, yMin, yMax);
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(plotX, plotY, plotWidth, plotHeight);
+        gc.clip();
+        double scale = plotHeight / (yMax - yMin);
+        for (int i = 0; i < series.size(); i++) {
+            drawSeries(gc, series.get(i), i * columns, plotX, plotY + plotHeight, yMin, scale);
+        }
+        gc.restore();
+
+        if (series.size() > 1) {
+            drawLegend(gc, plotX + plotWidth, plotY);
+        }
+    }
+
+    /**
+     * Reduces a history to one min/max/average per pixel column.
+     * @return Number of columns written, with NaN averages for columns without data.
+     */
+    private int decimate(MetricHistory history, long from, int columns, int offset) {
+        TimeSeries tier = history.select(rangeMillis, columns);
+        int needed = (int) Math.min(Integer.MAX_VALUE - 8, rangeMillis / tier.getResolutionMillis() + 2);
+        needed = Math.min(needed, tier.capacity());
+        if (timestamps.length < needed) {
+            timestamps = new long[needed];
+            mins = new double[needed];
+            maxs = new double[needed];
+            averages = new double[needed];
+        }
+        int count = tier.copyRange(from, from + rangeMillis, timestamps, mins, maxs, averages, null);
+
+        for (int c = 0; c < columns; c++) {
+            columnMins[offset + c] = Double.POSITIVE_INFINITY;
+            columnMaxs[offset + c] = Double.NEGATIVE_INFINITY;
+            columnAverages[offset + c] = Double.NaN;
+        }
+        double columnsPerMilli = (double) columns / rangeMillis;
+        for (int i = 0; i < count; i++) {
+            int column = offset + Math.min(columns - 1, (int) ((timestamps[i] - from) * columnsPerMilli));
+            columnMins[column] = Math.min(columnMins[column], mins[i]);
+            columnMaxs[column] = Math.max(columnMaxs[column], maxs[i]);
+            columnAverages[column] = averages[i];
+        }
+        return columns;
+    }
+
+    private void drawSeries(GraphicsContext gc, Series s, int offset, double plotX, double baseY,
+                            double yMin, double scale) {
+        gc.setStroke(s.envelope);
+        gc.setLineWidth(1);
+        for (int c = 0; c < s.columns; c++) {
+            int column = offset + c;
+            if (!Double.isNaN(columnAverages[column]) && columnMaxs[column] > columnMins[column]) {
+                double x = plotX + c + 0.5;
+                gc.strokeLine(x, baseY - (columnMins[column] - yMin) * scale,
+                        x, baseY - (columnMaxs[column] - yMin) * scale);
+            }
+        }
+
+        gc.setStroke(s.color);
+        gc.setLineWidth(2);
+        gc.beginPath();
+        boolean started = false;
+        for (int c = 0; c < s.columns; c++) {
+            double average = columnAverages[offset + c];
+            if (Double.isNaN(average)) {
+                continue;
+            }
+            double x = plotX + c + 0.5;
+            double y = baseY - (average - yMin) * scale;
+            if (started) {
+                gc.lineTo(x, y);
+            } else {
+                gc.moveTo(x, y);
+                started = true;
+            }
+        }
+        gc.stroke();
+    }
+
+    private void drawGrid(GraphicsContext gc, double plotX, double plotY, double plotWidth, double plotHeight,
+                          double yMin, double yMax) {
+        gc.setStroke(GRID);
+        gc.setLineWidth(1);
+        gc.setFill(LABEL);
+        gc.setFont(LABEL_FONT);
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int i = 0; i <= GRID_LINES; i++) {
+            double y = Math.round(plotY + plotHeight - plotHeight * i / GRID_LINES) + 0.5;
+            gc.strokeLine(plotX, y, plotX + plotWidth, y);
+            gc.fillText(formatTick(yMin + (yMax - yMin) * i / GRID_LINES), plotX - 6, y);
+        }
+
+        gc.setTextBaseline(VPos.TOP);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.fillText("-" + formatRange(rangeMillis), plotX, plotY + plotHeight + 4);
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.fillText("now", plotX + plotWidth, plotY + plotHeight + 4);
+
+        gc.save();
+        gc.translate(12, plotY + plotHeight / 2);
+        gc.rotate(-90);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(yAxisLabel, 0, 0);
+        gc.restore();
+    }
+
+    private void drawLegend(GraphicsContext gc, double right, double top) {
+        gc.setFont(LABEL_FONT);
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.setTextBaseline(VPos.CENTER);
+        double x = right - 8;
+        double y = top + 12;
+        for (int i = series.size() - 1; i >= 0; i--) {
+            Series s = series.get(i);
+            gc.setFill(LABEL);
+            gc.fillText(s.name, x, y);
+            x -= s.name.length() * 6.5 + 6;
+            gc.setFill(s.color);
+            gc.fillRect(x - 10, y - 4, 10, 8);
+            x -= 22;
+        }
+    }
+
+    private void ensureColumns(int needed) {
+        if (columnAverages.length < needed) {
+            columnMins = new double[needed];
+            columnMaxs = new double[needed];
+            columnAverages = new double[needed];
+        }
+    }
+
+    /**
+     * Rounds an axis maximum up to 1, 2 or 5 times a power of ten.
+     */
+    private static double niceCeiling(double value) {
+        if (value <= 0) {
+            return 1;
+        }
+        double magnitude = Math.pow(10, Math.floor(Math.log10(value)));
+        double fraction = value / magnitude;
+        double nice = fraction <= 1 ? 1 : fraction <= 2 ? 2 : fraction <= 5 ? 5 : 10;
+        return nice * magnitude;
+    }
+
+    /**
+     * Formats a time range in the largest unit it is a whole multiple of, such as "10 min" or "7 d".
+     */
+    private static String formatRange(long millis) {
+        if (millis >= 86_400_000 && millis % 86_400_000 == 0) {
+            return millis / 86_400_000 + " d";
+        }
+        if (millis >= 3_600_000 && millis % 3_600_000 == 0) {
+            return millis / 3_600_000 + " h";
+        }
+        if (millis >= 60_000 && millis % 60_000 == 0) {
+            return millis / 60_000 + " min";
+        }
+        return millis / 1000 + " s";
+    }
+
+    private static String formatTick(double value) {
+        if (Math.abs(value) >= 10 || value == Math.rint(value)) {
+            return String.valueOf(Math.round(value));
+        }
+        return String.valueOf(Math.round(value * 10) / 10.0);
+    }
+
+    /**
+     * One series of the chart.
+     */
+    private static final class Series {
+        private final String name;
+        private final Color color;
+        private final Color envelope;
+        private MetricHistory history;
+        private long version = -1;
+        private int columns;
+
+        private Series(String name, Color color) {
+            this.name = name;
+            this.color = color;
+            this.envelope = color.deriveColor(0, 1, 1, 0.35);
+        }
+    }
+}
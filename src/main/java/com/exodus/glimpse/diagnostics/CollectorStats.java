@@ -0,0 +1,100 @@
+package com.exodus.glimpse.diagnostics;
+
+/**
+ * Running cost of one collector: call count, wall time, allocated bytes and a latency histogram.
+ * The histogram has one bucket per power of two of microseconds, so recording is a few arithmetic
+ * operations and percentiles are accurate to within a factor of two.
+ */
+public final class CollectorStats {
+    private static final int BUCKETS = 32;
+
+    private final String name;
+    private final long[] histogram = new long[BUCKETS];
+    private long count;
+    private long failures;
+    private long totalNanos;
+    private long maxNanos;
+    private long lastNanos;
+    private long totalAllocatedBytes;
+
+    CollectorStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one call of the collector.
+     * @param nanos Wall time of the call in nanoseconds.
+     * @param allocatedBytes Bytes allocated by the calling thread during the call, or -1 if unknown.
+     * @param failed Whether the call threw.
+     */
+    public synchronized void record(long nanos, long allocatedBytes, boolean failed) {
+        count++;
+        if (failed) {
+            failures++;
+        }
+        totalNanos += nanos;
+        lastNanos = nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+        if (allocatedBytes > 0) {
+            totalAllocatedBytes += allocatedBytes;
+        }
+        histogram[bucket(nanos)]++;
+    }
+
+    /**
+     * Records one call that started at the given counters, taken on the calling thread.
+     * @param startedNanos {@link System#nanoTime()} when the call started.
+     * @param startAllocatedBytes {@link Diagnostics#allocatedBytes()} when the call started.
+     * @param failed Whether the call threw.
+     */
+    public void recordSince(long startedNanos, long startAllocatedBytes, boolean failed) {
+        long nanos = System.nanoTime() - startedNanos;
+        long allocated = startAllocatedBytes < 0 ? -1 : Diagnostics.allocatedBytes() - startAllocatedBytes;
+        record(nanos, allocated, failed);
+    }
+
+    private static int bucket(long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Estimates a latency percentile from the histogram.
+     * @param percentile Percentile between 0 and 100.
+     * @return Upper bound of the bucket holding the percentile, in milliseconds.
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                // Bucket i holds latencies below 2^i microseconds
+                return Math.min((1L << i) / 1000.0, maxNanos / 1_000_000.0);
+            }
+        }
+        return maxNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns the average number of bytes allocated per call.
+     * @return Bytes per call.
+     */
+    public synchronized long getAllocatedBytesPerCall() {
+        return count == 0 ? 0 : totalAllocatedBytes / count;
+    }
+
+    public String getName() { return name; }
+    public synchronized long getCount() { return count; }
+    public synchronized long getFailures() { return failures; }
+    public synchronized double getMeanMillis() { return count == 0 ? 0 : totalNanos / 1_000_000.0 / count; }
+    public synchronized double getMaxMillis() { return maxNanos / 1_000_000.0; }
+    public synchronized double getLastMillis() { return lastNanos / 1_000_000.0; }
+    public synchronized double getTotalMillis() { return totalNanos / 1_000_000.0; }
+    public synchronized long getTotalAllocatedBytes() { return totalAllocatedBytes; }
+}
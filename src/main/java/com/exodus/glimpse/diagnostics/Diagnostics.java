@@ -0,0 +1,81 @@
+package com.exodus.glimpse.diagnostics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of Glimpse's own overhead, one {@link CollectorStats} per named collector.
+ * Timing uses {@link System#nanoTime()} and allocations come from the JVM's per-thread allocation
+ * counter, so measuring a call costs well under a microsecond. Work a collector hands off to another
+ * thread (for example through {@code Platform.runLater}) is not included in its allocation count.
+ */
+public final class Diagnostics {
+    private static final ConcurrentMap<String, CollectorStats> STATS = new ConcurrentHashMap<>();
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private Diagnostics() {
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+            if (counter.isThreadAllocatedMemorySupported()) {
+                counter.setThreadAllocatedMemoryEnabled(true);
+                return counter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the statistics of a collector, creating them on first use.
+     * @param name Name of the collector, such as "CPU.updateCPUInfo".
+     * @return The collector's statistics.
+     */
+    public static CollectorStats get(String name) {
+        CollectorStats stats = STATS.get(name);
+        return stats != null ? stats : STATS.computeIfAbsent(name, CollectorStats::new);
+    }
+
+    /**
+     * Runs a collector and records its wall time and allocations.
+     * @param name Name of the collector.
+     * @param collector The collection work.
+     */
+    public static void measure(String name, Runnable collector) {
+        CollectorStats stats = get(name);
+        long allocated = allocatedBytes();
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            collector.run();
+            failed = false;
+        } finally {
+            stats.recordSince(started, allocated, failed);
+        }
+    }
+
+    /**
+     * Returns the number of bytes the current thread has allocated so far.
+     * @return Allocated bytes, or -1 if the JVM does not support allocation counting.
+     */
+    public static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Returns the statistics of all collectors seen so far, sorted by name.
+     * @return A snapshot list of the collectors.
+     */
+    public static List<CollectorStats> getAll() {
+        List<CollectorStats> all = new ArrayList<>(STATS.values());
+        all.sort(Comparator.comparing(CollectorStats::getName));
+        return all;
+    }
+}
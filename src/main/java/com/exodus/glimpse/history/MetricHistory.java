@@ -0,0 +1,146 @@
+package com.exodus.glimpse.history;
+
+/**
+ * History of one metric kept at several resolutions. Every sample is rolled up into each tier, and each
+ * tier keeps min/max/avg/last per bucket with its own retention:
+ * <ul>
+ *     <li>1s - 2 hours ({@code glimpse.history.1s.points}, default 7200)</li>
+ *     <li>10s - 1 day ({@code glimpse.history.10s.points}, default 8640)</li>
+ *     <li>1m - 2 weeks ({@code glimpse.history.1m.points}, default 20160)</li>
+ *     <li>1h - 90 days ({@code glimpse.history.1h.points}, default 2160)</li>
+ * </ul>
+ * Readers pick a tier with {@link #select(long, int)}, so a chart spanning a day reads about 1440 one-minute
+ * buckets instead of 86,400 raw points.
+ * <p>
+ * Tiers allocate their buckets as they fill, so a new history takes about 10 KB, two hours of it about 340 KB,
+ * and the full retention about 1.5 MB once two weeks have been recorded.
+ */
+public final class MetricHistory {
+    private static final String[] TIER_NAMES = {"1s", "10s", "1m", "1h"};
+    private static final long[] TIER_RESOLUTIONS = {1000, 10_000, 60_000, 3_600_000};
+    private static final int[] TIER_POINTS = {
+            Integer.getInteger("glimpse.history.1s.points", 2 * 60 * 60),
+            Integer.getInteger("glimpse.history.10s.points", 24 * 60 * 6),
+            Integer.getInteger("glimpse.history.1m.points", 14 * 24 * 60),
+            Integer.getInteger("glimpse.history.1h.points", 90 * 24)
+    };
+
+    private final String name;
+    private final TimeSeries[] tiers = new TimeSeries[TIER_NAMES.length];
+    private Sink sink;
+
+    /**
+     * Receives every accepted sample, used to persist the history.
+     */
+    interface Sink {
+        void append(long timestamp, double value);
+    }
+
+    /**
+     * Creates an empty history with the configured tiers.
+     * @param name Name of the metric, such as "cpu.usage".
+     */
+    public MetricHistory(String name) {
+        this.name = name;
+        for (int i = 0; i < tiers.length; i++) {
+            tiers[i] = new TimeSeries(name + "@" + TIER_NAMES[i], TIER_POINTS[i], TIER_RESOLUTIONS[i]);
+        }
+    }
+
+    /**
+     * Records a sample in every tier.
+     * @param timestamp Time of the sample in epoch milliseconds.
+     * @param value The sampled value.
+     */
+    public void add(long timestamp, double value) {
+        Sink target = sink;
+        if (restore(timestamp, value) && target != null) {
+            target.append(timestamp, value);
+        }
+    }
+
+    /**
+     * Records a sample without passing it to the sink, as when reading back persisted samples.
+     * @param timestamp Time of the sample in epoch milliseconds.
+     * @param value The sampled value.
+     * @return False if the sample was older than the latest second and ignored.
+     */
+    boolean restore(long timestamp, double value) {
+        if (!tiers[0].add(timestamp, value)) {
+            return false;
+        }
+        for (int i = 1; i < tiers.length; i++) {
+            tiers[i].add(timestamp, value);
+        }
+        return true;
+    }
+
+    /**
+     * Picks the tier to draw a time range at a given width: the coarsest tier that still has at least one
+     * bucket per pixel, moving to coarser tiers if it does not retain the whole range.
+     * @param rangeMillis Time range shown, in milliseconds.
+     * @param widthPixels Width available to draw it, in pixels.
+     * @return The tier to read.
+     */
+    public TimeSeries select(long rangeMillis, int widthPixels) {
+        long millisPerPixel = rangeMillis / Math.max(1, widthPixels);
+        int chosen = 0;
+        while (chosen + 1 < tiers.length && tiers[chosen + 1].getResolutionMillis() <= millisPerPixel) {
+            chosen++;
+        }
+        while (chosen + 1 < tiers.length && tiers[chosen].getSpanMillis() < rangeMillis) {
+            chosen++;
+        }
+        return tiers[chosen];
+    }
+
+    /**
+     * Returns the finest tier, one bucket per second.
+     * @return The raw tier.
+     */
+    public TimeSeries getRaw() {
+        return tiers[0];
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * Returns a counter that changes whenever a sample is recorded.
+     * @return The modification counter.
+     */
+    public long getVersion() {
+        return tiers[0].getVersion();
+    }
+
+    /**
+     * Returns the latest sample.
+     * @return The value, or {@link Double#NaN} if nothing was recorded.
+     */
+    public double getLastValue() {
+        return tiers[0].getLastValue();
+    }
+
+    /**
+     * Returns the time of the latest sample, rounded down to the second.
+     * @return Epoch milliseconds, or {@link Long#MIN_VALUE} if nothing was recorded.
+     */
+    public long getLastTimestamp() {
+        return tiers[0].getLastTimestamp();
+    }
+
+    /**
+     * Returns the longest span any tier retains.
+     * @return The span in milliseconds.
+     */
+    static long getRetentionMillis() {
+        long longest = 0;
+        for (int i = 0; i < TIER_POINTS.length; i++) {
+            longest = Math.max(longest, TIER_POINTS[i] * TIER_RESOLUTIONS[i]);
+        }
+        return longest;
+    }
+
+    void setSink(Sink sink) {
+        this.sink = sink;
+    }
+}
@@ -0,0 +1,114 @@
+package com.exodus.glimpse.history;
+
+import com.exodus.glimpse.RemoteStation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * History of every metric of one source, the local machine or a remote station, one {@link MetricHistory}
+ * per metric.
+ * <p>
+ * Every sample is also appended to a {@link SegmentLog} under {@code ~/.glimpse/history/<source>}, and the
+ * in-memory history is rebuilt from it when the source is first used, so history survives restarts as far
+ * back as the segments reach.
+ * Persistence is configured with:
+ * <ul>
+ *     <li>{@code glimpse.history.persist} - false to keep history in memory only</li>
+ *     <li>{@code glimpse.history.dir} - root directory of the segment files</li>
+ *     <li>{@code glimpse.history.segment.kb} - size of one segment file, default 4096</li>
+ *     <li>{@code glimpse.history.disk.mb} - maximum size of a source's segments, default 256</li>
+ *     <li>{@code glimpse.history.retention.hours} - age after which segments are deleted, default 168</li>
+ * </ul>
+ */
+public final class MetricStore {
+    /** Source name of the machine Glimpse runs on. */
+    public static final String LOCAL = "local";
+    private static final boolean PERSIST = Boolean.parseBoolean(System.getProperty("glimpse.history.persist", "true"));
+    private static final Path DIRECTORY = Paths.get(System.getProperty("glimpse.history.dir",
+            Paths.get(System.getProperty("user.home"), ".glimpse", "history").toString()));
+    private static final int SEGMENT_RECORDS = Integer.getInteger("glimpse.history.segment.kb", 4096) * 1024
+            / SegmentLog.RECORD_BYTES;
+    private static final long MAX_DISK_BYTES = Long.getLong("glimpse.history.disk.mb", 256) * 1024 * 1024;
+    private static final long RETENTION_MILLIS = Long.getLong("glimpse.history.retention.hours", 168) * 3_600_000;
+
+    private static final ConcurrentMap<String, MetricStore> STORES = new ConcurrentHashMap<>();
+
+    private final String source;
+    private final ConcurrentMap<String, MetricHistory> metrics = new ConcurrentHashMap<>();
+    private final SegmentLog log;
+
+    private MetricStore(String source) {
+        this.source = source;
+        this.log = PERSIST ? openLog(source) : null;
+        if (log != null) {
+            long since = System.currentTimeMillis() - MetricHistory.getRetentionMillis();
+            log.replay(since, (metric, timestamp, value) -> metric(metric).restore(timestamp, value));
+        }
+    }
+
+    /**
+     * Returns the store of a source, creating it on first use.
+     * @param source {@link #LOCAL} or the API URL of a remote station.
+     * @return The store.
+     */
+    public static MetricStore forSource(String source) {
+        MetricStore store = STORES.get(source);
+        return store != null ? store : STORES.computeIfAbsent(source, MetricStore::new);
+    }
+
+    /**
+     * Returns the store of a remote station, or the local store if there is none.
+     * @param remoteStation The remote station, or null for the local machine.
+     * @return The store.
+     */
+    public static MetricStore forStation(RemoteStation remoteStation) {
+        return forSource(remoteStation != null ? remoteStation.getApiUrl() : LOCAL);
+    }
+
+    /**
+     * Flushes and closes the history files of all sources.
+     */
+    public static void closeAll() {
+        for (MetricStore store : STORES.values()) {
+            if (store.log != null) {
+                store.log.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the history of a metric, creating it on first use.
+     * @param metric Name of the metric, such as "cpu.usage".
+     * @return The metric's history.
+     */
+    public MetricHistory metric(String metric) {
+        MetricHistory existing = metrics.get(metric);
+        return existing != null ? existing : metrics.computeIfAbsent(metric, this::createHistory);
+    }
+
+    public String getSource() { return source; }
+
+    private MetricHistory createHistory(String metric) {
+        MetricHistory created = new MetricHistory(metric);
+        if (log != null) {
+            int metricId = log.metricId(metric);
+            created.setSink((timestamp, value) -> log.append(metricId, timestamp, value));
+        }
+        return created;
+    }
+
+    private static SegmentLog openLog(String source) {
+        String directoryName = source.replaceAll("[^A-Za-z0-9.-]", "_");
+        try {
+            return new SegmentLog(DIRECTORY.resolve(directoryName), SEGMENT_RECORDS, MAX_DISK_BYTES, RETENTION_MILLIS);
+        } catch (IOException e) {
+            System.err.println("Cannot open history files for " + source + ", keeping history in memory: "
+                    + e.getMessage());
+            return null;
+        }
+    }
+}
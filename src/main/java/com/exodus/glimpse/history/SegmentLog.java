@@ -0,0 +1,421 @@
+package com.exodus.glimpse.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only on-disk log of metric samples for one source. Samples are fixed-width records written
+ * through a memory-mapped segment file; a full segment is forced to disk and a new one started, and the
+ * oldest segments are deleted once the log exceeds its size or age limit.
+ * <p>
+ * Each record carries a check value, and segments are pre-sized with zeros, so after a crash the active
+ * segment is recovered by scanning up to the first invalid record and clearing what follows it.
+ * Metric names are stored once in a {@code metrics} file, one per line, the line number being the id.
+ * <p>
+ * A log holds an exclusive lock on a {@code lock} file in its directory while open, so that a second instance
+ * of the application cannot map the same active segment and write over its records.
+ */
+final class SegmentLog {
+    /** Bytes per record: metric id, timestamp, value and check value. */
+    static final int RECORD_BYTES = 24;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAGIC = 0x474C4D53; // "GLMS"
+    private static final int FORMAT_VERSION = 1;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String METRICS_FILE = "metrics";
+    private static final String LOCK_FILE = "lock";
+    /**
+     * Directories locked by logs of this process. A file lock is held per process and closing any channel
+     * to the file may release it, so a second log in the same process is turned away before opening one.
+     */
+    private static final Set<Path> LOCKED_DIRECTORIES = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Receives the records of {@link #replay(long, RecordVisitor)}.
+     */
+    interface RecordVisitor {
+        void accept(String metric, long timestamp, double value);
+    }
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final long segmentBytes;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+
+    private final List<String> metricNames = new ArrayList<>();
+    private final Map<String, Integer> metricIds = new HashMap<>();
+    /** Closed segments, oldest first. */
+    private final Deque<Segment> closedSegments = new ArrayDeque<>();
+
+    private FileLock lock;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long sequence;
+    private int position;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private boolean failed;
+
+    /**
+     * Opens the log in a directory, recovering the segments already there.
+     * @param directory Directory of the source's segments, created if missing.
+     * @param segmentRecords Number of records per segment file.
+     * @param maxBytes Maximum total size of the segments in bytes.
+     * @param maxAgeMillis Age after which closed segments are deleted, in milliseconds.
+     * @throws IOException If the directory or the active segment cannot be opened, or if another log holds
+     *                     the directory.
+     */
+    SegmentLog(Path directory, int segmentRecords, long maxBytes, long maxAgeMillis) throws IOException {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.segmentBytes = HEADER_BYTES + (long) segmentRecords * RECORD_BYTES;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+
+        Files.createDirectories(directory);
+        lock();
+        try {
+            loadMetricNames();
+
+            List<Path> segments = listSegments();
+            for (int i = 0; i < segments.size() - 1; i++) {
+                Path path = segments.get(i);
+                closedSegments.add(new Segment(path, lastTimestampOf(path)));
+            }
+            if (segments.isEmpty()) {
+                openSegment(1, true);
+            } else {
+                Path active = segments.get(segments.size() - 1);
+                openSegment(sequenceOf(active), false);
+            }
+            applyRetention();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the exclusive lock on the directory.
+     * @throws IOException If the lock file cannot be opened or the lock is held elsewhere.
+     */
+    private void lock() throws IOException {
+        Path key = directory.toAbsolutePath().normalize();
+        if (!LOCKED_DIRECTORIES.add(key)) {
+            throw new IOException("History directory " + directory + " is in use");
+        }
+        FileChannel lockChannel = null;
+        try {
+            lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = lockChannel.tryLock();
+            if (lock == null) {
+                throw new IOException("History directory " + directory + " is in use by another process");
+            }
+        } catch (IOException | RuntimeException e) {
+            if (lockChannel != null) {
+                lockChannel.close();
+            }
+            LOCKED_DIRECTORIES.remove(key);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the id of a metric, registering it on first use.
+     * @param metric Name of the metric.
+     * @return The metric's id in this log.
+     */
+    synchronized int metricId(String metric) {
+        Integer id = metricIds.get(metric);
+        if (id != null) {
+            return id;
+        }
+        String name = metric.replace('\n', ' ');
+        try {
+            Files.writeString(directory.resolve(METRICS_FILE), name + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            fail(e);
+        }
+        metricNames.add(name);
+        metricIds.put(metric, metricNames.size() - 1);
+        return metricNames.size() - 1;
+    }
+
+    /**
+     * Appends a sample to the active segment, starting a new segment when it is full.
+     * @param metricId Id returned by {@link #metricId(String)}.
+     * @param timestamp Time of the sample in epoch milliseconds.
+     * @param value The sampled value.
+     */
+    synchronized void append(int metricId, long timestamp, double value) {
+        if (failed || buffer == null) {
+            return;
+        }
+        if (position == segmentRecords) {
+            try {
+                rotate();
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+        }
+        int offset = HEADER_BYTES + position * RECORD_BYTES;
+        long valueBits = Double.doubleToRawLongBits(value);
+        buffer.putInt(offset, metricId);
+        buffer.putLong(offset + 4, timestamp);
+        buffer.putLong(offset + 12, valueBits);
+        buffer.putInt(offset + 20, check(metricId, timestamp, valueBits));
+        position++;
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+    }
+
+    /**
+     * Reads back all records at or after a time, oldest segment first.
+     * @param since Earliest timestamp to return, in epoch milliseconds.
+     * @param visitor Receives each record.
+     */
+    synchronized void replay(long since, RecordVisitor visitor) {
+        for (Segment segment : closedSegments) {
+            if (segment.lastTimestamp < since) {
+                continue;
+            }
+            try (FileChannel readChannel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                ByteBuffer records = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                if (hasValidHeader(records)) {
+                    replay(records, validRecords(records), since, visitor);
+                }
+            } catch (IOException e) {
+                System.err.println("Skipping unreadable history segment " + segment.path + ": " + e.getMessage());
+            }
+        }
+        if (buffer != null) {
+            replay(buffer, position, since, visitor);
+        }
+    }
+
+    /**
+     * Forces the active segment to disk, closes it and releases the directory.
+     */
+    synchronized void close() {
+        if (buffer != null) {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing history segment: " + e.getMessage());
+            }
+            buffer = null;
+            channel = null;
+        }
+        if (lock != null) {
+            try {
+                // Closing the channel releases the lock
+                lock.channel().close();
+            } catch (IOException e) {
+                System.err.println("Error releasing history lock: " + e.getMessage());
+            }
+            lock = null;
+            LOCKED_DIRECTORIES.remove(directory.toAbsolutePath().normalize());
+        }
+    }
+
+    private void replay(ByteBuffer records, int count, long since, RecordVisitor visitor) {
+        for (int i = 0; i < count; i++) {
+            int offset = HEADER_BYTES + i * RECORD_BYTES;
+            int metricId = records.getInt(offset);
+            long timestamp = records.getLong(offset + 4);
+            if (timestamp >= since && metricId >= 0 && metricId < metricNames.size()) {
+                visitor.accept(metricNames.get(metricId), timestamp, records.getDouble(offset + 12));
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        buffer.force();
+        channel.close();
+        closedSegments.add(new Segment(segmentPath(sequence), lastTimestamp));
+        openSegment(sequence + 1, true);
+        applyRetention();
+    }
+
+    /**
+     * Maps a segment for writing. An existing segment is recovered: the write position is set after the last
+     * valid record and everything behind it is cleared, removing a record torn by a crash.
+     */
+    private void openSegment(long segmentSequence, boolean create) throws IOException {
+        Path path = segmentPath(segmentSequence);
+        channel = create
+                ? FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        sequence = segmentSequence;
+        position = 0;
+        lastTimestamp = Long.MIN_VALUE;
+
+        if (!create) {
+            if (hasValidHeader(buffer)) {
+                position = validRecords(buffer);
+                for (int i = 0; i < position; i++) {
+                    lastTimestamp = Math.max(lastTimestamp, buffer.getLong(HEADER_BYTES + i * RECORD_BYTES + 4));
+                }
+            }
+            for (long offset = HEADER_BYTES + (long) position * RECORD_BYTES; offset < segmentBytes; offset += 8) {
+                if (buffer.getLong((int) offset) != 0) {
+                    buffer.putLong((int) offset, 0);
+                }
+            }
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putInt(8, RECORD_BYTES);
+        buffer.putInt(12, segmentRecords);
+    }
+
+    private void applyRetention() {
+        long cutoff = System.currentTimeMillis() - maxAgeMillis;
+        long totalBytes = (closedSegments.size() + 1) * segmentBytes;
+        while (!closedSegments.isEmpty()
+                && (totalBytes > maxBytes || closedSegments.peekFirst().lastTimestamp < cutoff)) {
+            Segment oldest = closedSegments.removeFirst();
+            try {
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException e) {
+                System.err.println("Cannot delete history segment " + oldest.path + ": " + e.getMessage());
+            }
+            totalBytes -= segmentBytes;
+        }
+    }
+
+    private void loadMetricNames() throws IOException {
+        Path file = directory.resolve(METRICS_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        if (end < bytes.length) {
+            // The last name was cut off by a crash; no record can refer to it yet
+            try (FileChannel metrics = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                metrics.truncate(end);
+            }
+        }
+        if (end == 0) {
+            return;
+        }
+        for (String name : new String(bytes, 0, end - 1, StandardCharsets.UTF_8).split("\n", -1)) {
+            metricIds.put(name, metricNames.size());
+            metricNames.add(name);
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private long lastTimestampOf(Path path) {
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer records = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            int count = hasValidHeader(records) ? validRecords(records) : 0;
+            long last = Long.MIN_VALUE;
+            // Timestamps of different metrics interleave, so look at the tail rather than a single record
+            for (int i = Math.max(0, count - 64); i < count; i++) {
+                last = Math.max(last, records.getLong(HEADER_BYTES + i * RECORD_BYTES + 4));
+            }
+            return last;
+        } catch (IOException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private boolean hasValidHeader(ByteBuffer records) {
+        return records.capacity() >= HEADER_BYTES
+                && records.getInt(0) == MAGIC
+                && records.getInt(4) == FORMAT_VERSION
+                && records.getInt(8) == RECORD_BYTES;
+    }
+
+    /**
+     * Counts the valid records at the start of a segment.
+     */
+    private int validRecords(ByteBuffer records) {
+        int capacity = (records.capacity() - HEADER_BYTES) / RECORD_BYTES;
+        int count = 0;
+        while (count < capacity) {
+            int offset = HEADER_BYTES + count * RECORD_BYTES;
+            int metricId = records.getInt(offset);
+            long timestamp = records.getLong(offset + 4);
+            long valueBits = records.getLong(offset + 12);
+            if (records.getInt(offset + 20) != check(metricId, timestamp, valueBits)) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Check value of a record. It is never 0 for the all-zero record, so cleared space is never valid.
+     */
+    private static int check(int metricId, long timestamp, long valueBits) {
+        long hash = metricId * 0x9E3779B97F4A7C15L ^ timestamp;
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL ^ valueBits;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (hash ^ (hash >>> 32)) ^ MAGIC;
+    }
+
+    private Path segmentPath(long segmentSequence) {
+        return directory.resolve(String.format("%016d%s", segmentSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void fail(IOException e) {
+        System.err.println("History persistence disabled for " + directory + ": " + e.getMessage());
+        failed = true;
+    }
+
+    /**
+     * A closed segment file.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final long lastTimestamp;
+
+        private Segment(Path path, long lastTimestamp) {
+            this.path = path;
+            this.lastTimestamp = lastTimestamp;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.exodus.glimpse.history;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity history of one metric at one resolution, stored in primitive ring buffers.
+ * Samples are bucketed to the series' resolution and each bucket keeps the minimum, maximum, average and last
+ * sample that fell into it, so the capacity bounds the covered time span no matter how often the collector
+ * samples. Once full, each new bucket overwrites the oldest one.
+ * <p>
+ * The buffers start small and double as buckets arrive until they reach the capacity, so a series costs
+ * 40 bytes per bucket actually held rather than per bucket it could hold: coarse tiers that take days to fill
+ * stay a few KB until they do.
+ * <p>
+ * Collectors write from the sampling thread while charts read from the JavaFX thread; all access is
+ * synchronized, and {@link #getVersion()} lets readers skip work when nothing changed.
+ */
+public final class TimeSeries {
+    /** Number of buckets allocated before the first one is added. */
+    private static final int INITIAL_BUCKETS = 64;
+
+    private final String name;
+    private final long resolutionMillis;
+    private final int capacity;
+    private long[] timestamps;
+    private double[] mins;
+    private double[] maxs;
+    private double[] averages;
+    private double[] lasts;
+
+    private int head;
+    private int size;
+    private int bucketSamples;
+    private double bucketSum;
+    private volatile long version;
+
+    /**
+     * Creates an empty series.
+     * @param name Name of the metric, such as "cpu.usage".
+     * @param capacity Maximum number of buckets kept.
+     * @param resolutionMillis Width of one bucket in milliseconds, or 1 to keep every sample.
+     */
+    public TimeSeries(String name, int capacity, long resolutionMillis) {
+        if (capacity <= 0 || resolutionMillis <= 0) {
+            throw new IllegalArgumentException("Invalid series size: " + capacity + " x " + resolutionMillis + " ms");
+        }
+        this.name = name;
+        this.resolutionMillis = resolutionMillis;
+        this.capacity = capacity;
+        int initial = Math.min(capacity, INITIAL_BUCKETS);
+        this.timestamps = new long[initial];
+        this.mins = new double[initial];
+        this.maxs = new double[initial];
+        this.averages = new double[initial];
+        this.lasts = new double[initial];
+    }
+
+    /**
+     * Doubles the buffers, up to the capacity. Only called before the ring first wraps, while every bucket
+     * still sits at its logical position.
+     */
+    private void grow() {
+        int length = (int) Math.min(capacity, 2L * timestamps.length);
+        timestamps = Arrays.copyOf(timestamps, length);
+        mins = Arrays.copyOf(mins, length);
+        maxs = Arrays.copyOf(maxs, length);
+        averages = Arrays.copyOf(averages, length);
+        lasts = Arrays.copyOf(lasts, length);
+    }
+
+    /**
+     * Records a sample. Samples older than the latest bucket are ignored.
+     * @param timestamp Time of the sample in epoch milliseconds.
+     * @param value The sampled value.
+     * @return False if the sample was ignored.
+     */
+    public synchronized boolean add(long timestamp, double value) {
+        long bucket = timestamp - Math.floorMod(timestamp, resolutionMillis);
+        if (size > 0) {
+            int last = index(size - 1);
+            if (bucket < timestamps[last]) {
+                return false;
+            }
+            if (bucket == timestamps[last]) {
+                bucketSamples++;
+                bucketSum += value;
+                mins[last] = Math.min(mins[last], value);
+                maxs[last] = Math.max(maxs[last], value);
+                averages[last] = bucketSum / bucketSamples;
+                lasts[last] = value;
+                version++;
+                return true;
+            }
+        }
+
+        int slot;
+        if (size == timestamps.length && size < capacity) {
+            grow();
+        }
+        if (size < timestamps.length) {
+            slot = index(size++);
+        } else {
+            slot = head;
+            head = (head + 1) % timestamps.length;
+        }
+        timestamps[slot] = bucket;
+        mins[slot] = value;
+        maxs[slot] = value;
+        averages[slot] = value;
+        lasts[slot] = value;
+        bucketSamples = 1;
+        bucketSum = value;
+        version++;
+        return true;
+    }
+
+    /**
+     * Copies the averages of the most recent buckets, oldest first.
+     * @param count Maximum number of buckets to copy.
+     * @param timestampsOut Receives the bucket start times; must hold at least {@code count} entries.
+     * @param valuesOut Receives the averages; must hold at least {@code count} entries.
+     * @return Number of buckets copied.
+     */
+    public synchronized int copyLatest(int count, long[] timestampsOut, double[] valuesOut) {
+        int copied = Math.min(count, size);
+        copy(size - copied, copied, timestampsOut, null, null, valuesOut, null);
+        return copied;
+    }
+
+    /**
+     * Copies the averages of the buckets within a time range, oldest first.
+     * @param from Start of the range in epoch milliseconds, inclusive.
+     * @param to End of the range in epoch milliseconds, inclusive.
+     * @param timestampsOut Receives the bucket start times.
+     * @param valuesOut Receives the averages.
+     * @return Number of buckets copied, at most the length of the output arrays.
+     */
+    public int copyRange(long from, long to, long[] timestampsOut, double[] valuesOut) {
+        return copyRange(from, to, timestampsOut, null, null, valuesOut, null);
+    }
+
+    /**
+     * Copies the buckets within a time range, oldest first. Aggregates whose array is null are skipped.
+     * @param from Start of the range in epoch milliseconds, inclusive.
+     * @param to End of the range in epoch milliseconds, inclusive.
+     * @param timestampsOut Receives the bucket start times.
+     * @param minsOut Receives the minimums, or null.
+     * @param maxsOut Receives the maximums, or null.
+     * @param averagesOut Receives the averages, or null.
+     * @param lastsOut Receives the last samples, or null.
+     * @return Number of buckets copied, at most the length of {@code timestampsOut}.
+     */
+    public synchronized int copyRange(long from, long to, long[] timestampsOut, double[] minsOut, double[] maxsOut,
+                                      double[] averagesOut, double[] lastsOut) {
+        int start = lowerBound(from);
+        int end = lowerBound(to + 1);
+        int copied = Math.min(end - start, timestampsOut.length);
+        copy(start, copied, timestampsOut, minsOut, maxsOut, averagesOut, lastsOut);
+        return copied;
+    }
+
+    /**
+     * Removes all buckets.
+     */
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+        bucketSamples = 0;
+        bucketSum = 0;
+        version++;
+    }
+
+    public String getName() { return name; }
+    public long getResolutionMillis() { return resolutionMillis; }
+    public int capacity() { return capacity; }
+    public synchronized int size() { return size; }
+
+    /**
+     * Returns the time span the series can hold when full.
+     * @return The span in milliseconds.
+     */
+    public long getSpanMillis() {
+        return capacity * resolutionMillis;
+    }
+
+    /**
+     * Returns a counter that changes whenever the series is modified.
+     * @return The modification counter.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the start time of the latest bucket.
+     * @return Epoch milliseconds, or {@link Long#MIN_VALUE} if the series is empty.
+     */
+    public synchronized long getLastTimestamp() {
+        return size > 0 ? timestamps[index(size - 1)] : Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the latest sample.
+     * @return The value, or {@link Double#NaN} if the series is empty.
+     */
+    public synchronized double getLastValue() {
+        return size > 0 ? lasts[index(size - 1)] : Double.NaN;
+    }
+
+    /**
+     * Finds the first logical position whose timestamp is at least the given time.
+     */
+    private int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[index(mid)] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void copy(int start, int count, long[] timestampsOut, double[] minsOut, double[] maxsOut,
+                      double[] averagesOut, double[] lastsOut) {
+        if (count <= 0) {
+            return;
+        }
+        int first = index(start);
+        int firstPart = Math.min(count, timestamps.length - first);
+        System.arraycopy(timestamps, first, timestampsOut, 0, firstPart);
+        copyColumn(mins, minsOut, first, firstPart, count);
+        copyColumn(maxs, maxsOut, first, firstPart, count);
+        copyColumn(averages, averagesOut, first, firstPart, count);
+        copyColumn(lasts, lastsOut, first, firstPart, count);
+        if (firstPart < count) {
+            System.arraycopy(timestamps, 0, timestampsOut, firstPart, count - firstPart);
+        }
+    }
+
+    private static void copyColumn(double[] column, double[] out, int first, int firstPart, int count) {
+        if (out == null) {
+            return;
+        }
+        System.arraycopy(column, first, out, 0, firstPart);
+        if (firstPart < count) {
+            System.arraycopy(column, 0, out, firstPart, count - firstPart);
+        }
+    }
+
+    private int index(int position) {
+        return (head + position) % timestamps.length;
+    }
+}
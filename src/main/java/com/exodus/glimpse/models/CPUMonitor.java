@@ -1,39 +1,41 @@
 package com.exodus.glimpse.models;
 
 import com.exodus.glimpse.BaseMonitor;
+import com.exodus.glimpse.RemoteSnapshot;
+import com.exodus.glimpse.RemoteSnapshot.Section;
 import com.exodus.glimpse.RemoteStation;
-import javafx.application.Platform;
+import com.exodus.glimpse.chart.TimeSeriesChart;
+import com.exodus.glimpse.history.MetricHistory;
+import com.exodus.glimpse.sampling.AdaptiveInterval;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.chart.LineChart;
-import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
-import oshi.hardware.CentralProcessor;
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import com.exodus.glimpse.sampling.SystemSnapshot;
+import com.exodus.glimpse.ui.Formats;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Monitors CPU usage and process information.
  */
 public class CPUMonitor extends BaseMonitor {
-    private final CentralProcessor processor;
-    private long[] previousTicks;
-
+    private final AdaptiveInterval interval = AdaptiveInterval.forMetric("cpu", 250, 4000, 5);
     private final SimpleDoubleProperty cpuUsage = new SimpleDoubleProperty(0);
     private final SimpleStringProperty cpuFrequency = new SimpleStringProperty("N/A");
     private final SimpleStringProperty numProcesses = new SimpleStringProperty("N/A");
     private final SimpleStringProperty numThreads = new SimpleStringProperty("N/A");
     private final SimpleStringProperty cpuTemp = new SimpleStringProperty("N/A");
-    private final XYChart.Series<Number, Number> cpuSeries = new XYChart.Series<>();
+    private final TimeSeriesChart cpuChart = createUsageChart("CPU Usage", "Usage %");
     private final ObservableList<ProcessInfo> processData = FXCollections.observableArrayList();
 
     /**
@@ -41,12 +43,6 @@ public class CPUMonitor extends BaseMonitor {
      */
     public CPUMonitor() {
         super(); // Initialize BaseMonitor properties
-        processor = hardware.getProcessor();
-        previousTicks = processor.getSystemCpuLoadTicks();
-        cpuSeries.setName("CPU Usage %");
-
-        // Initial process data load
-        updateProcessInfo();
 
         // Start monitoring
         startMonitoring();
@@ -74,7 +70,6 @@ public class CPUMonitor extends BaseMonitor {
         statsContainer.getChildren().addAll(usageIndicator, statsBox);
 
         // CPU Usage Graph (using BaseMonitor method)
-        LineChart<Number, Number> cpuChart = createUsageChart("CPU Usage", "Usage %", cpuSeries);
         VBox.setVgrow(cpuChart, Priority.ALWAYS);
 
         // Process Table
@@ -84,7 +79,7 @@ public class CPUMonitor extends BaseMonitor {
         // Add all components to main container
         monitorPanel.getChildren().addAll(statsContainer, cpuChart, processTable);
 
-        return monitorPanel;
+        return bindDemandTo(monitorPanel);
     }
 
     /**
@@ -115,19 +110,15 @@ public class CPUMonitor extends BaseMonitor {
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         table.setStyle("-fx-background-color: #323232; -fx-text-fill: white;");
 
-        TableColumn<ProcessInfo, String> nameCol = new TableColumn<>("Process Name");
-        nameCol.setCellValueFactory(data -> data.getValue().nameProperty());
+        TableColumn<ProcessInfo, String> nameCol = createColumn("Process Name", ProcessInfo::getName, BaseMonitor::displayName);
 
-        TableColumn<ProcessInfo, String> pidCol = new TableColumn<>("PID");
-        pidCol.setCellValueFactory(data -> data.getValue().pidProperty());
+        TableColumn<ProcessInfo, Integer> pidCol = createColumn("PID", ProcessInfo::getPid, String::valueOf);
         pidCol.setPrefWidth(70);
 
-        TableColumn<ProcessInfo, String> cpuCol = new TableColumn<>("CPU %");
-        cpuCol.setCellValueFactory(data -> data.getValue().cpuUsageProperty());
+        TableColumn<ProcessInfo, Double> cpuCol = createColumn("CPU %", ProcessInfo::getCpuUsage, Formats::percent);
         cpuCol.setPrefWidth(80);
 
-        TableColumn<ProcessInfo, String> memoryCol = new TableColumn<>("Memory");
-        memoryCol.setCellValueFactory(data -> data.getValue().memoryUsageProperty());
+        TableColumn<ProcessInfo, Long> memoryCol = createColumn("Memory", ProcessInfo::getMemoryBytes, Formats::bytes);
         memoryCol.setPrefWidth(100);
 
         table.getColumns().addAll(nameCol, pidCol, cpuCol, memoryCol);
@@ -145,144 +136,117 @@ public class CPUMonitor extends BaseMonitor {
      */
     @Override
     protected void startMonitoring() {
-        // Update data every second
-        scheduler.scheduleAtFixedRate(() -> {
-            updateCPUInfo();
-            updateProcessInfo();
-        }, 0, 1000, TimeUnit.MILLISECONDS);
+        // Sample faster while CPU load moves, slower while it is flat
+        subscribe("CPU", interval, BACKGROUND_INTERVAL_MILLIS, () -> remoteStation == null, snapshot -> {
+            if (remoteStation != null) {
+                pollRemote("CPU", remote -> {
+                    updateCPUInfo(remote);
+                    updateProcessInfo(remote);
+                }, Section.CPU, Section.PROCESSES);
+                return;
+            }
+            measure("CPU.updateCPUInfo", () -> updateCPUInfo(snapshot));
+            measure("CPU.updateProcessInfo", () -> updateProcessInfo(snapshot));
+        });
     }
 
     /**
-     * Updates CPU usage information from local or remote source.
+     * Updates CPU usage information from a remote station's snapshot. Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station.
      */
-    private void updateCPUInfo() {
-        if (remoteStation != null) {
-            try {
-                String response = remoteStation.getCpuUsage();
-                Platform.runLater(() -> {
-                    try {
-                        JSONObject json = new JSONObject(response);
-                        double usage = json.getDouble("usage_percent");
-
-                        cpuUsage.set(usage);
-                        cpuSeries.getData().add(new XYChart.Data<>(xSeriesData++, usage));
-                        if (cpuSeries.getData().size() > MAX_DATA_POINTS) {
-                            cpuSeries.getData().remove(0);
-                        }
-
-                        double freq = json.optDouble("frequencies", 0);
-                        String freqStr = freq > 0 ? df.format(freq / 1000.0) + " GHz" : "N/A";
-                        cpuFrequency.set(freqStr);
-
-                        // For remote, we might not have these values
-                        numProcesses.set("Remote");
-                        numThreads.set("Remote");
-                        cpuTemp.set("N/A"); // Temperature usually not available remotely
-                    } catch (JSONException e) {
-                        System.err.println("Error parsing CPU API response: " + e.getMessage());
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Error fetching remote CPU data: " + e.getMessage());
-            }
-        } else {
-            double usage = processor.getSystemCpuLoadBetweenTicks(previousTicks) * 100;
-            previousTicks = processor.getSystemCpuLoadTicks();
-
-            long[] freqs = processor.getCurrentFreq();
-            long maxFreq = 0;
-            for (long freq : freqs) {
-                if (freq > maxFreq) {
-                    maxFreq = freq;
-                }
+    private void updateCPUInfo(RemoteSnapshot remote) {
+        MetricHistory cpuHistory = history().metric("cpu.usage");
+        try {
+            JSONObject json = remote.getCpu();
+            double usage = json.getDouble("usage_percent");
+            interval.observe(usage);
+            cpuHistory.add(System.currentTimeMillis(), usage);
+
+            double freq = json.optDouble("frequencies", 0);
+            String freqStr = freq > 0 ? Formats.withUnit(freq / 1000.0, " GHz") : "N/A";
+
+            publish(cpuUsage, usage);
+            publish(cpuChart, () -> cpuChart.show(0, cpuHistory));
+            publish(cpuFrequency, freqStr);
+
+            // For remote, we might not have these values
+            publish(numProcesses, "Remote");
+            publish(numThreads, "Remote");
+            publish(cpuTemp, "N/A"); // Temperature usually not available remotely
+        } catch (JSONException e) {
+            System.err.println("Error parsing CPU API response: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Updates CPU usage information from the local snapshot.
+     * @param snapshot The snapshot of the current sampling tick.
+     */
+    private void updateCPUInfo(SystemSnapshot snapshot) {
+        double usage = snapshot.getCpuLoad();
+        interval.observe(usage);
+        MetricHistory cpuHistory = history().metric("cpu.usage");
+        cpuHistory.add(snapshot.getTimestamp(), usage);
+
+        long maxFreq = snapshot.getMaxCpuFrequency();
+        String freqStr = maxFreq > 0 ? Formats.withUnit(maxFreq / 1_000_000.0, " GHz") : "N/A";
+
+        double temp = snapshot.getCpuTemperature();
+        String tempStr = temp > 0 ? Formats.withUnit(temp, "°C") : "N/A";
+
+        publish(cpuUsage, usage);
+        publish(cpuChart, () -> cpuChart.show(0, cpuHistory));
+        publish(cpuFrequency, freqStr);
+        publish(numProcesses, String.valueOf(snapshot.getProcessCount()));
+        publish(numThreads, String.valueOf(snapshot.getThreadCount()));
+        publish(cpuTemp, tempStr);
+    }
+
+    /**
+     * Updates process information from a remote station's snapshot. Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station.
+     */
+    private void updateProcessInfo(RemoteSnapshot remote) {
+        try {
+            JSONArray processes = remote.getProcesses();
+            int[] topProcesses = remote.topProcessesByCpu(10);
+            List<ProcessInfo> rows = new ArrayList<>(topProcesses.length);
+
+            for (int i : topProcesses) {
+                JSONObject proc = processes.getJSONObject(i);
+                String name = proc.getString("name");
+
+                double cpuUsage = proc.getDouble("cpu_percent");
+                double memPercent = proc.getDouble("memory_percent");
+                long memBytes = (long) (memPercent * 0.01 * hardware.getMemory().getTotal());
+
+                rows.add(new ProcessInfo(name, proc.getInt("pid"), cpuUsage, memBytes));
             }
-            String freqStr = maxFreq > 0 ? df.format(maxFreq / 1_000_000.0) + " GHz" : "N/A";
-
-            double temp = hardware.getSensors().getCpuTemperature();
-            String tempStr = temp > 0 ? df.format(temp) + "°C" : "N/A";
-
-            Platform.runLater(() -> {
-                cpuUsage.set(usage);
-                cpuSeries.getData().add(new XYChart.Data<>(xSeriesData++, usage));
-                if (cpuSeries.getData().size() > MAX_DATA_POINTS) {
-                    cpuSeries.getData().remove(0);
-                }
-                cpuFrequency.set(freqStr);
-                numProcesses.set(String.valueOf(os.getProcessCount()));
-                numThreads.set(String.valueOf(os.getThreadCount()));
-                cpuTemp.set(tempStr);
-            });
+            publish(processData, () -> processData.setAll(rows));
+        } catch (JSONException e) {
+            System.err.println("Error parsing process API response: " + e.getMessage());
         }
     }
 
     /**
-     * Updates process information from local or remote source.
+     * Updates process information from the local snapshot.
+     * @param snapshot The snapshot of the current sampling tick.
      */
-    private void updateProcessInfo() {
-        if (remoteStation != null) {
-            // Remote process monitoring
-            try {
-                String response = remoteStation.getTopProcesses();
-                Platform.runLater(() -> {
-                    try {
-                        JSONArray processes = new JSONArray(response);
-                        processData.clear();
-
-                        for (int i = 0; i < processes.length(); i++) {
-                            JSONObject proc = processes.getJSONObject(i);
-                            String name = proc.getString("name");
-                            if (name.length() > 30) {
-                                name = name.substring(0, 27) + "...";
-                            }
-
-                            double cpuUsage = proc.getDouble("cpu_percent");
-                            double memPercent = proc.getDouble("memory_percent");
-                            long memBytes = (long) (memPercent * 0.01 * hardware.getMemory().getTotal());
-
-                            processData.add(new ProcessInfo(
-                                    name,
-                                    String.valueOf(proc.getInt("pid")),
-                                    df.format(cpuUsage) + "%",
-                                    formatBytes(memBytes)
-                            ));
-                        }
-                    } catch (JSONException e) {
-                        System.err.println("Error parsing process API response: " + e.getMessage());
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Error fetching remote process data: " + e.getMessage());
+    private void updateProcessInfo(SystemSnapshot snapshot) {
+        if (snapshot.getProcesses() != null) {
+            ProcessSnapshot processes = snapshot.getProcesses();
+            int[] topProcesses = processes.topByCpu(10);
+
+            List<ProcessInfo> rows = new ArrayList<>(topProcesses.length);
+            for (int row : topProcesses) {
+                String name = processes.getName(row);
+
+                double cpuUsage = processes.getCpuPercent(row);
+                long memBytes = processes.getResidentSetSize(row);
+
+                rows.add(new ProcessInfo(name, processes.getPid(row), cpuUsage, memBytes));
             }
-        } else {
-            List<oshi.software.os.OSProcess> processes = os.getProcesses();
-            processes.sort((p1, p2) -> {
-                double cpu1 = 100d * (p1.getKernelTime() + p1.getUserTime()) / p1.getUpTime();
-                double cpu2 = 100d * (p2.getKernelTime() + p2.getUserTime()) / p2.getUpTime();
-                return Double.compare(cpu2, cpu1);
-            });
-
-            List<oshi.software.os.OSProcess> topProcesses = processes.subList(0, Math.min(10, processes.size()));
-
-            Platform.runLater(() -> {
-                processData.clear();
-                for (oshi.software.os.OSProcess process : topProcesses) {
-                    String name = process.getName();
-                    if (name.length() > 30) {
-                        name = name.substring(0, 27) + "...";
-                    }
-
-                    double cpuUsage = 100d * (process.getKernelTime() + process.getUserTime()) / process.getUpTime();
-                    long memBytes = process.getResidentSetSize();
-                    String memoryUsage = formatBytes(memBytes);
-
-                    processData.add(new ProcessInfo(
-                            name,
-                            String.valueOf(process.getProcessID()),
-                            df.format(cpuUsage) + "%",
-                            memoryUsage
-                    ));
-                }
-            });
+            publish(processData, () -> processData.setAll(rows));
         }
     }
 
@@ -296,34 +260,29 @@ public class CPUMonitor extends BaseMonitor {
     }
 
     public static class ProcessInfo {
-        private final SimpleStringProperty name;
-        private final SimpleStringProperty pid;
-        private final SimpleStringProperty cpuUsage;
-        private final SimpleStringProperty memoryUsage;
+        private final String name;
+        private final int pid;
+        private final double cpuUsage;
+        private final long memoryBytes;
 
         /**
          * Creates a new ProcessInfo object to store process information.
          * 
          * @param name The name of the process.
          * @param pid The process ID.
-         * @param cpuUsage The CPU usage of the process as a formatted string.
-         * @param memoryUsage The memory usage of the process as a formatted string.
+         * @param cpuUsage The CPU usage of the process in percent.
+         * @param memoryBytes The memory usage of the process in bytes.
          */
-        public ProcessInfo(String name, String pid, String cpuUsage, String memoryUsage) {
-            this.name = new SimpleStringProperty(name);
-            this.pid = new SimpleStringProperty(pid);
-            this.cpuUsage = new SimpleStringProperty(cpuUsage);
-            this.memoryUsage = new SimpleStringProperty(memoryUsage);
+        public ProcessInfo(String name, int pid, double cpuUsage, long memoryBytes) {
+            this.name = name;
+            this.pid = pid;
+            this.cpuUsage = cpuUsage;
+            this.memoryBytes = memoryBytes;
         }
 
-        public String getName() { return name.get(); }
-        public String getPid() { return pid.get(); }
-        public String getCpuUsage() { return cpuUsage.get(); }
-        public String getMemoryUsage() { return memoryUsage.get(); }
-
-        public SimpleStringProperty nameProperty() { return name; }
-        public SimpleStringProperty pidProperty() { return pid; }
-        public SimpleStringProperty cpuUsageProperty() { return cpuUsage; }
-        public SimpleStringProperty memoryUsageProperty() { return memoryUsage; }
+        public String getName() { return name; }
+        public int getPid() { return pid; }
+        public double getCpuUsage() { return cpuUsage; }
+        public long getMemoryBytes() { return memoryBytes; }
     }
 }
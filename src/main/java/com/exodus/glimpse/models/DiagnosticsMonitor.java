@@ -0,0 +1,287 @@
+package com.exodus.glimpse.models;
+
+import com.exodus.glimpse.BaseMonitor;
+import com.exodus.glimpse.RemoteStation;
+import com.exodus.glimpse.diagnostics.CollectorStats;
+import com.exodus.glimpse.diagnostics.Diagnostics;
+import com.exodus.glimpse.ui.Formats;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Shows what Glimpse itself costs: its own CPU, heap and GC usage, per-collector call counts,
+ * latency percentiles and allocations recorded by {@link Diagnostics}, and how often each remote station
+ * answered from its section cache.
+ */
+public class DiagnosticsMonitor extends BaseMonitor {
+    private final SimpleStringProperty processCpu = new SimpleStringProperty("N/A");
+    private final SimpleStringProperty heapUsed = new SimpleStringProperty("N/A");
+    private final SimpleStringProperty threadCount = new SimpleStringProperty("N/A");
+    private final SimpleStringProperty gcTime = new SimpleStringProperty("N/A");
+    private final SimpleStringProperty collectorTime = new SimpleStringProperty("N/A");
+    private final ObservableList<CollectorRow> collectorData = FXCollections.observableArrayList();
+    private final ObservableList<StationRow> stationData = FXCollections.observableArrayList();
+    /** Remote stations added so far, read on the sampling thread. */
+    private final List<RemoteStation> stations = new CopyOnWriteArrayList<>();
+
+    private final OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * Constructor that initializes self-diagnostics.
+     */
+    public DiagnosticsMonitor() {
+        super();
+        startMonitoring();
+    }
+
+    /**
+     * Adds a remote station to the cache statistics.
+     * @param station The station that was added.
+     */
+    public void addRemoteStation(RemoteStation station) {
+        stations.add(station);
+    }
+
+    /**
+     * Creates the diagnostics panel with overall overhead, the per-collector table and the per-station table.
+     * @return VBox containing the diagnostics UI.
+     */
+    @Override
+    public VBox createMonitorPanel() {
+        VBox monitorPanel = createBaseMonitorPanel("Glimpse Diagnostics");
+
+        GridPane statsGrid = new GridPane();
+        statsGrid.setHgap(30);
+        statsGrid.setVgap(10);
+        statsGrid.setPadding(new Insets(10));
+        statsGrid.setStyle("-fx-background-color: #323232; -fx-background-radius: 5;");
+        statsGrid.add(createStatRow("Glimpse CPU:", processCpu), 0, 0);
+        statsGrid.add(createStatRow("Heap Used:", heapUsed), 0, 1);
+        statsGrid.add(createStatRow("Threads:", threadCount), 0, 2);
+        statsGrid.add(createStatRow("GC Time:", gcTime), 1, 0);
+        statsGrid.add(createStatRow("Collectors:", collectorTime), 1, 1);
+
+        TableView<CollectorRow> table = createCollectorTable();
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        TableView<StationRow> stationTable = createStationTable();
+
+        monitorPanel.getChildren().addAll(statsGrid, table, stationTable);
+        return bindDemandTo(monitorPanel);
+    }
+
+    /**
+     * Creates a table with one row per instrumented collector.
+     * @return TableView configured for collector statistics.
+     */
+    private TableView<CollectorRow> createCollectorTable() {
+        TableView<CollectorRow> table = new TableView<>(collectorData);
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.setStyle("-fx-background-color: #323232; -fx-text-fill: white;");
+        table.setPlaceholder(new Label("No collector has run yet"));
+        table.setPrefHeight(420);
+
+        table.getColumns().addAll(
+                createColumn("Collector", CollectorRow::getName, 200),
+                createColumn("Calls", CollectorRow::getCalls, 70),
+                createColumn("Mean", CollectorRow::getMean, 80),
+                createColumn("p50", CollectorRow::getP50, 80),
+                createColumn("p99", CollectorRow::getP99, 80),
+                createColumn("Max", CollectorRow::getMax, 80),
+                createColumn("Alloc/Call", CollectorRow::getAllocated, 90)
+        );
+        return table;
+    }
+
+    /**
+     * Creates a table with the section cache counters of every remote station.
+     * @return TableView configured for station statistics.
+     */
+    private TableView<StationRow> createStationTable() {
+        TableView<StationRow> table = new TableView<>(stationData);
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.setStyle("-fx-background-color: #323232; -fx-text-fill: white;");
+        table.setPlaceholder(new Label("No remote station added"));
+        table.setPrefHeight(150);
+
+        table.getColumns().addAll(
+                createColumn("Station", StationRow::getStation, 200),
+                createColumn("Cache Hits", StationRow::getHits, 90),
+                createColumn("Misses", StationRow::getMisses, 90),
+                createColumn("Coalesced", StationRow::getCoalesced, 90),
+                createColumn("Hit Rate", StationRow::getHitRate, 80)
+        );
+        return table;
+    }
+
+    private <T> TableColumn<T, String> createColumn(String title, Function<T, String> value, double width) {
+        TableColumn<T, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(data -> new ReadOnlyStringWrapper(value.apply(data.getValue())));
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    /**
+     * Starts refreshing the diagnostics every second while the panel is visible.
+     */
+    @Override
+    protected void startMonitoring() {
+        subscribe("Diagnostics", 1000, 0, snapshot -> updateDiagnostics());
+    }
+
+    /**
+     * Reads the JVM counters and the collector registry and publishes them to the UI.
+     */
+    private void updateDiagnostics() {
+        double cpuLoad = osBean instanceof com.sun.management.OperatingSystemMXBean
+                ? ((com.sun.management.OperatingSystemMXBean) osBean).getProcessCpuLoad() * 100
+                : -1;
+        long heap = memoryBean.getHeapMemoryUsage().getUsed();
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        long gcMillis = 0;
+        long gcCount = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcMillis += Math.max(0, gc.getCollectionTime());
+            gcCount += Math.max(0, gc.getCollectionCount());
+        }
+
+        List<CollectorRow> rows = new ArrayList<>();
+        double totalMillis = 0;
+        for (CollectorStats stats : Diagnostics.getAll()) {
+            rows.add(new CollectorRow(
+                    stats.getName(),
+                    String.valueOf(stats.getCount()),
+                    formatMillis(stats.getMeanMillis()),
+                    formatMillis(stats.getPercentileMillis(50)),
+                    formatMillis(stats.getPercentileMillis(99)),
+                    formatMillis(stats.getMaxMillis()),
+                    stats.getAllocatedBytesPerCall() > 0 ? Formats.bytes(stats.getAllocatedBytesPerCall()) : "N/A"
+            ));
+            // Engine.takeSnapshot already contains Engine.collectProcesses
+            if (!stats.getName().equals("Engine.collectProcesses")) {
+                totalMillis += stats.getTotalMillis();
+            }
+        }
+
+        List<StationRow> stationRows = new ArrayList<>(stations.size());
+        for (RemoteStation station : stations) {
+            long hits = station.getCacheHits();
+            long misses = station.getCacheMisses();
+            long coalesced = station.getCoalescedRequests();
+            long requests = hits + misses + coalesced;
+            stationRows.add(new StationRow(
+                    station.getApiUrl(),
+                    String.valueOf(hits),
+                    String.valueOf(misses),
+                    String.valueOf(coalesced),
+                    requests > 0 ? Formats.percent(hits * 100.0 / requests) : "N/A"
+            ));
+        }
+
+        String cpuText = cpuLoad >= 0 ? Formats.percent(cpuLoad) : "N/A";
+        String gcText = gcCount + " collections, " + gcMillis + " ms";
+        String collectorText = Formats.withUnit(totalMillis / 1000.0, " s total");
+
+        publish(processCpu, cpuText);
+        publish(heapUsed, Formats.bytes(heap));
+        publish(threadCount, String.valueOf(threads));
+        publish(gcTime, gcText);
+        publish(collectorTime, collectorText);
+        publish(collectorData, () -> collectorData.setAll(rows));
+        publish(stationData, () -> stationData.setAll(stationRows));
+    }
+
+    private String formatMillis(double millis) {
+        return millis < 1 ? Formats.withUnit(millis * 1000, " µs") : Formats.withUnit(millis, " ms");
+    }
+
+    /**
+     * Inner class that represents one collector's statistics for display in the diagnostics table.
+     */
+    public static class CollectorRow {
+        private final String name;
+        private final String calls;
+        private final String mean;
+        private final String p50;
+        private final String p99;
+        private final String max;
+        private final String allocated;
+
+        /**
+         * Creates a new CollectorRow with formatted statistics.
+         * @param name The collector name.
+         * @param calls The number of calls.
+         * @param mean The mean latency.
+         * @param p50 The median latency.
+         * @param p99 The 99th percentile latency.
+         * @param max The maximum latency.
+         * @param allocated The bytes allocated per call.
+         */
+        public CollectorRow(String name, String calls, String mean, String p50, String p99, String max,
+                            String allocated) {
+            this.name = name;
+            this.calls = calls;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.allocated = allocated;
+        }
+
+        public String getName() { return name; }
+        public String getCalls() { return calls; }
+        public String getMean() { return mean; }
+        public String getP50() { return p50; }
+        public String getP99() { return p99; }
+        public String getMax() { return max; }
+        public String getAllocated() { return allocated; }
+    }
+
+    /**
+     * Inner class that represents one remote station's cache statistics for display in the diagnostics table.
+     */
+    public static class StationRow {
+        private final String station;
+        private final String hits;
+        private final String misses;
+        private final String coalesced;
+        private final String hitRate;
+
+        /**
+         * Creates a new StationRow with formatted counters.
+         * @param station The API URL of the station.
+         * @param hits The number of sections served from the cache.
+         * @param misses The number of sections fetched.
+         * @param coalesced The number of sections that waited for a fetch already under way.
+         * @param hitRate The share of sections served from the cache.
+         */
+        public StationRow(String station, String hits, String misses, String coalesced, String hitRate) {
+            this.station = station;
+            this.hits = hits;
+            this.misses = misses;
+            this.coalesced = coalesced;
+            this.hitRate = hitRate;
+        }
+
+        public String getStation() { return station; }
+        public String getHits() { return hits; }
+        public String getMisses() { return misses; }
+        public String getCoalesced() { return coalesced; }
+        public String getHitRate() { return hitRate; }
+    }
+}
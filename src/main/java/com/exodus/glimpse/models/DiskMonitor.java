@@ -1,8 +1,13 @@
 package com.exodus.glimpse.models;
 
 import com.exodus.glimpse.BaseMonitor;
+import com.exodus.glimpse.RemoteSnapshot;
+import com.exodus.glimpse.RemoteSnapshot.Section;
 import com.exodus.glimpse.RemoteStation;
-import javafx.application.Platform;
+import com.exodus.glimpse.history.MetricStore;
+import com.exodus.glimpse.sampling.AdaptiveInterval;
+import com.exodus.glimpse.ui.Formats;
+import javafx.beans.binding.Bindings;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -20,23 +25,19 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Monitors disk usage and performance.
  */
 public class DiskMonitor extends BaseMonitor {
+    private final AdaptiveInterval interval = AdaptiveInterval.forMetric("disk", 250, 4000, 1024);
     private final FileSystem fileSystem;
     private final ComboBox<String> diskSelector;
 
-    private final DecimalFormat df = new DecimalFormat("#.##");
     private final SimpleStringProperty currentDisk = new SimpleStringProperty("N/A");
     private final SimpleStringProperty diskModel = new SimpleStringProperty("N/A");
     private final SimpleStringProperty diskSize = new SimpleStringProperty("N/A");
@@ -50,12 +51,10 @@ public class DiskMonitor extends BaseMonitor {
 
     private final ObservableList<DiskPartition> partitionData = FXCollections.observableArrayList();
 
-    private final Map<String, DiskStats> previousStats = new HashMap<>();
+    private final Map<String, DiskStats> previousStats = new ConcurrentHashMap<>();
     private OSFileStore currentFileStore;
     private HWDiskStore currentDiskStore;
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-
     /**
      * Constructor that initializes disk monitoring.
      */
@@ -108,7 +107,7 @@ public class DiskMonitor extends BaseMonitor {
         // Add all components to main container
         monitorPanel.getChildren().addAll(selectorPanel, usageSection, partitionTable);
 
-        return monitorPanel;
+        return bindDemandTo(monitorPanel);
     }
 
     /**
@@ -117,16 +116,11 @@ public class DiskMonitor extends BaseMonitor {
     private void updateDiskList() {
         if (remoteStation != null) {
             // For remote monitoring, we'll just show a single "Remote" disk
-            Platform.runLater(() -> {
+            publish(diskSelector, () -> {
                 diskSelector.getItems().setAll("Remote Disk");
                 diskSelector.getSelectionModel().selectFirst();
-                currentDisk.set("Remote");
-                diskModel.set("Remote");
-                diskSize.set("Remote");
-                diskFree.set("Remote");
-                diskUsed.set("Remote");
-                diskUsagePercent.set(0);
             });
+            publishRemotePlaceholders();
         } else {
             // Local monitoring
             List<String> diskNames = new ArrayList<>();
@@ -153,7 +147,7 @@ public class DiskMonitor extends BaseMonitor {
                 }
             }
 
-            Platform.runLater(() -> {
+            publish(diskSelector, () -> {
                 diskSelector.getItems().setAll(diskNames);
                 if (!diskNames.isEmpty()) {
                     diskSelector.getSelectionModel().selectFirst();
@@ -192,27 +186,24 @@ public class DiskMonitor extends BaseMonitor {
         usageBar.setStyle("-fx-accent: #3D5AFE;");
 
         diskUsagePercent.addListener((obs, oldVal, newVal) -> {
-            Platform.runLater(() -> {
-                usageBar.setProgress(newVal.doubleValue() / 100);
-
-                // Change color based on usage
-                String color;
-                if (newVal.doubleValue() < 70) {
-                    color = "#3D5AFE"; // Blue for normal
-                } else if (newVal.doubleValue() < 90) {
-                    color = "#FBBC05"; // Yellow for medium
-                } else {
-                    color = "#EA4335"; // Red for high
-                }
-                usageBar.setStyle("-fx-accent: " + color + ";");
-            });
+            usageBar.setProgress(newVal.doubleValue() / 100);
+
+            // Change color based on usage
+            String color;
+            if (newVal.doubleValue() < 70) {
+                color = "#3D5AFE"; // Blue for normal
+            } else if (newVal.doubleValue() < 90) {
+                color = "#FBBC05"; // Yellow for medium
+            } else {
+                color = "#EA4335"; // Red for high
+            }
+            usageBar.setStyle("-fx-accent: " + color + ";");
         });
 
         Label usagePercentLabel = new Label();
         usagePercentLabel.setStyle("-fx-text-fill: white; -fx-font-size: 12px;");
-        usagePercentLabel.textProperty().bind(
-                diskUsagePercent.asString("%.1f%% Used")
-        );
+        usagePercentLabel.textProperty().bind(Bindings.createStringBinding(
+                () -> Formats.withUnit(diskUsagePercent.get(), "% Used"), diskUsagePercent));
 
         usageBarBox.getChildren().addAll(usageBar, usagePercentLabel);
 
@@ -346,11 +337,18 @@ public class DiskMonitor extends BaseMonitor {
      * Starts monitoring disk usage and partitions.
      */
     public void startMonitoring() {
-        // Update data every second
-        scheduler.scheduleAtFixedRate(() -> {
-            updateDiskInfo();
-            updatePartitionInfo();
-        }, 0, 1000, TimeUnit.MILLISECONDS);
+        // Adapt to I/O changes while visible
+        subscribe("Disk", interval, 0, () -> false, snapshot -> {
+            if (remoteStation != null) {
+                pollRemote("Disk", remote -> {
+                    updateDiskInfo(remote);
+                    updatePartitionInfo(remote);
+                }, Section.DISK);
+                return;
+            }
+            measure("Disk.updateDiskInfo", this::updateDiskInfo);
+            measure("Disk.updatePartitionInfo", this::updatePartitionInfo);
+        });
     }
 
     /**
@@ -360,12 +358,7 @@ public class DiskMonitor extends BaseMonitor {
     private void updateSelectedDisk(int index) {
         if (remoteStation != null) {
             // For remote monitoring, we don't have multiple disks
-            currentDisk.set("Remote");
-            diskModel.set("Remote");
-            diskSize.set("Remote");
-            diskFree.set("Remote");
-            diskUsed.set("Remote");
-            diskUsagePercent.set(0);
+            publishRemotePlaceholders();
             return;
         }
 
@@ -375,19 +368,19 @@ public class DiskMonitor extends BaseMonitor {
         }
 
         currentFileStore = fileStores.get(index);
-        currentDisk.set(currentFileStore.getName());
+        publish(currentDisk, currentFileStore.getName());
 
         // Find matching HWDiskStore
         for (HWDiskStore disk : hardware.getDiskStores()) {
             if (currentFileStore.getName().contains(disk.getName())) {
                 currentDiskStore = disk;
-                diskModel.set(disk.getModel());
+                publish(diskModel, disk.getModel());
                 break;
             }
         }
 
         if (currentDiskStore == null) {
-            diskModel.set("Unknown");
+            publish(diskModel, "Unknown");
         }
 
         // Update disk space info
@@ -395,161 +388,171 @@ public class DiskMonitor extends BaseMonitor {
     }
 
     /**
-     * Updates disk usage and performance information.
+     * Updates disk usage and performance information from a remote station's snapshot.
+     * Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station
      */
-    private void updateDiskInfo() {
-        if (remoteStation != null) {
-            // Remote monitoring mode
-            try {
-                String response = remoteStation.getDiskUsage();
-                Platform.runLater(() -> {
-                    try {
-                        JSONObject json = new JSONObject(response);
-                        JSONArray partitions = json.getJSONArray("partitions");
-
-                        if (partitions.length() > 0) {
-                            JSONObject diskData = partitions.getJSONObject(0);
-
-                            // Update disk space info
-                            long totalSpace = diskData.getLong("total");
-                            long usedSpace = diskData.getLong("used");
-                            long freeSpace = diskData.getLong("free");
-                            double usagePercentValue = (double) usedSpace / totalSpace * 100;
-
-                            diskSize.set(formatBytes(totalSpace));
-                            diskUsed.set(formatBytes(usedSpace));
-                            diskFree.set(formatBytes(freeSpace));
-                            diskUsagePercent.set(usagePercentValue);
-
-                            // Update I/O stats if available
-                            JSONObject ioCounters = diskData.optJSONObject("io_counters");
-                            if (ioCounters != null) {
-                                String diskName = "Remote";
-                                DiskStats prevStats = previousStats.get(diskName);
-
-                                long readBytes = ioCounters.getLong("read_bytes");
-                                long writeBytes = ioCounters.getLong("write_bytes");
-                                long currentTime = System.currentTimeMillis();
-
-                                if (prevStats != null) {
-                                    long readDiff = readBytes - prevStats.readBytes;
-                                    long writeDiff = writeBytes - prevStats.writeBytes;
-                                    double timeSeconds = (currentTime - prevStats.timestamp) / 1000.0;
-
-                                    // Calculate speeds in KB/s
-                                    double readRate = timeSeconds > 0 ? readDiff / (1024.0 * timeSeconds) : 0;
-                                    double writeRate = timeSeconds > 0 ? writeDiff / (1024.0 * timeSeconds) : 0;
-
-                                    // Update previous stats
-                                    previousStats.put(diskName, new DiskStats(
-                                            readBytes,
-                                            writeBytes,
-                                            currentTime, // Using current time as disk timestamp for remote
-                                            currentTime
-                                    ));
-
-                                    // Update UI
-                                    readSpeed.set(formatSpeed(readRate));
-                                    writeSpeed.set(formatSpeed(writeRate));
-                                } else {
-                                    // First reading - just store the stats
-                                    previousStats.put(diskName, new DiskStats(
-                                            readBytes,
-                                            writeBytes,
-                                            currentTime,
-                                            currentTime
-                                    ));
-                                }
-                            }
-                        }
-                    } catch (JSONException e) {
-                        System.err.println("Error parsing disk API response: " + e.getMessage());
+    private void updateDiskInfo(RemoteSnapshot remote) {
+        try {
+            JSONObject json = remote.getDisk();
+            JSONArray partitions = json.getJSONArray("partitions");
+
+            if (partitions.length() > 0) {
+                JSONObject diskData = partitions.getJSONObject(0);
+
+                // Update disk space info
+                long totalSpace = diskData.getLong("total");
+                long usedSpace = diskData.getLong("used");
+                long freeSpace = diskData.getLong("free");
+                double usagePercentValue = (double) usedSpace / totalSpace * 100;
+
+                publish(diskSize, Formats.bytes(totalSpace));
+                publish(diskUsed, Formats.bytes(usedSpace));
+                publish(diskFree, Formats.bytes(freeSpace));
+                publish(diskUsagePercent, usagePercentValue);
+
+                // Update I/O stats if available
+                JSONObject ioCounters = diskData.optJSONObject("io_counters");
+                if (ioCounters != null) {
+                    String diskName = "Remote";
+                    DiskStats prevStats = previousStats.get(diskName);
+
+                    long readBytes = ioCounters.getLong("read_bytes");
+                    long writeBytes = ioCounters.getLong("write_bytes");
+                    long currentTime = System.currentTimeMillis();
+
+                    if (prevStats != null) {
+                        long readDiff = readBytes - prevStats.readBytes;
+                        long writeDiff = writeBytes - prevStats.writeBytes;
+                        long elapsedMillis = currentTime - prevStats.timestamp;
+
+                        // Calculate speeds in KB/s
+                        double readRate = kilobytesPerSecond(readDiff, elapsedMillis);
+                        double writeRate = kilobytesPerSecond(writeDiff, elapsedMillis);
+                        interval.observe(readRate + writeRate);
+                        recordRates(history(), diskName, currentTime, readRate, writeRate);
+
+                        // Update previous stats
+                        previousStats.put(diskName, new DiskStats(
+                                readBytes,
+                                writeBytes,
+                                currentTime, // Using current time as disk timestamp for remote
+                                currentTime
+                        ));
+
+                        // Update UI
+                        publish(readSpeed, Formats.speed(readRate));
+                        publish(writeSpeed, Formats.speed(writeRate));
+                    } else {
+                        // First reading - just store the stats
+                        previousStats.put(diskName, new DiskStats(
+                                readBytes,
+                                writeBytes,
+                                currentTime,
+                                currentTime
+                        ));
                     }
-                });
-            } catch (Exception e) {
-                System.err.println("Error fetching remote disk data: " + e.getMessage());
-            }
-        } else {
-            // Local monitoring mode
-            if (currentFileStore == null) {
-                return;
+                }
             }
+        } catch (JSONException e) {
+            System.err.println("Error parsing disk API response: " + e.getMessage());
+        }
+    }
 
-            // Update file store
-            List<OSFileStore> updatedStores = fileSystem.getFileStores();
-            for (OSFileStore store : updatedStores) {
-                if (store.getName().equals(currentFileStore.getName())) {
-                    currentFileStore = store;
-                    break;
-                }
+    /**
+     * Updates disk usage and performance information from the local system.
+     */
+    private void updateDiskInfo() {
+        if (currentFileStore == null) {
+            return;
+        }
+
+        // Update file store
+        List<OSFileStore> updatedStores = fileSystem.getFileStores();
+        for (OSFileStore store : updatedStores) {
+            if (store.getName().equals(currentFileStore.getName())) {
+                currentFileStore = store;
+                break;
             }
+        }
 
-            // Update disk space info
-            updateDiskSpaceInfo();
+        // Update disk space info
+        updateDiskSpaceInfo();
 
-            // Update I/O stats if we have a matching HWDiskStore
-            if (currentDiskStore != null) {
-                currentDiskStore.updateAttributes();
+        // Update I/O stats if we have a matching HWDiskStore
+        if (currentDiskStore != null) {
+            currentDiskStore.updateAttributes();
 
-                String diskName = currentFileStore.getName();
-                DiskStats prevStats = previousStats.get(diskName);
+            String diskName = currentFileStore.getName();
+            DiskStats prevStats = previousStats.get(diskName);
 
-                if (prevStats != null) {
-                    long currentReadBytes = currentDiskStore.getReadBytes();
-                    long currentWriteBytes = currentDiskStore.getWriteBytes();
-                    long currentTime = System.currentTimeMillis();
+            if (prevStats != null) {
+                long currentReadBytes = currentDiskStore.getReadBytes();
+                long currentWriteBytes = currentDiskStore.getWriteBytes();
+                long currentTime = System.currentTimeMillis();
 
-                    long readDiff = currentReadBytes - prevStats.readBytes;
-                    long writeDiff = currentWriteBytes - prevStats.writeBytes;
-                    double timeSeconds = (currentTime - prevStats.timestamp) / 1000.0;
+                long readDiff = currentReadBytes - prevStats.readBytes;
+                long writeDiff = currentWriteBytes - prevStats.writeBytes;
+                long elapsedMillis = currentTime - prevStats.timestamp;
 
-                    // Calculate speeds in KB/s
-                    double readRate = timeSeconds > 0 ? readDiff / (1024.0 * timeSeconds) : 0;
-                    double writeRate = timeSeconds > 0 ? writeDiff / (1024.0 * timeSeconds) : 0;
+                // Calculate speeds in KB/s
+                double readRate = kilobytesPerSecond(readDiff, elapsedMillis);
+                double writeRate = kilobytesPerSecond(writeDiff, elapsedMillis);
+                interval.observe(readRate + writeRate);
+                recordRates(history(), diskName, currentTime, readRate, writeRate);
 
-                    // Calculate transfer times (using transfer time as approximation)
-                    double currentReadTime;
-                    double currentWriteTime;
+                // Calculate transfer times (using transfer time as approximation)
+                double currentReadTime;
+                double currentWriteTime;
 
-                    if (currentDiskStore.getReads() > 0) {
-                        currentReadTime = currentDiskStore.getTransferTime() / currentDiskStore.getReads();
-                    } else {
-                        currentReadTime = 0;
-                    }
+                if (currentDiskStore.getReads() > 0) {
+                    currentReadTime = currentDiskStore.getTransferTime() / currentDiskStore.getReads();
+                } else {
+                    currentReadTime = 0;
+                }
 
-                    if (currentDiskStore.getWrites() > 0) {
-                        currentWriteTime = currentDiskStore.getTransferTime() / currentDiskStore.getWrites();
-                    } else {
-                        currentWriteTime = 0;
-                    }
+                if (currentDiskStore.getWrites() > 0) {
+                    currentWriteTime = currentDiskStore.getTransferTime() / currentDiskStore.getWrites();
+                } else {
+                    currentWriteTime = 0;
+                }
 
-                    // Update previous stats
-                    previousStats.put(diskName, new DiskStats(
-                            currentReadBytes,
-                            currentWriteBytes,
-                            currentDiskStore.getTimeStamp(),
-                            currentTime
-                    ));
-
-                    // Update UI
-                    Platform.runLater(() -> {
-                        // Update speed labels
-                        readSpeed.set(formatSpeed(readRate));
-                        writeSpeed.set(formatSpeed(writeRate));
-
-                        // Update time labels if we have valid values
-                        if (!Double.isNaN(currentReadTime) && !Double.isInfinite(currentReadTime) && currentReadTime > 0) {
-                            readTime.set(df.format(currentReadTime) + " ms");
-                        }
-                        if (!Double.isNaN(currentWriteTime) && !Double.isInfinite(currentWriteTime) && currentWriteTime > 0) {
-                            writeTime.set(df.format(currentWriteTime) + " ms");
-                        }
-                    });
+                // Update previous stats
+                previousStats.put(diskName, new DiskStats(
+                        currentReadBytes,
+                        currentWriteBytes,
+                        currentDiskStore.getTimeStamp(),
+                        currentTime
+                ));
+
+                // Update UI
+                publish(readSpeed, Formats.speed(readRate));
+                publish(writeSpeed, Formats.speed(writeRate));
+
+                // Update time labels if we have valid values
+                if (!Double.isNaN(currentReadTime) && !Double.isInfinite(currentReadTime) && currentReadTime > 0) {
+                    publish(readTime, Formats.withUnit(currentReadTime, " ms"));
+                }
+                if (!Double.isNaN(currentWriteTime) && !Double.isInfinite(currentWriteTime) && currentWriteTime > 0) {
+                    publish(writeTime, Formats.withUnit(currentWriteTime, " ms"));
                 }
             }
         }
     }
 
+    /**
+     * Records the I/O rates of a disk in the metric history.
+     * @param store History of the monitored source.
+     * @param diskName Name of the disk.
+     * @param timestamp Time of the sample in milliseconds.
+     * @param readRate Read rate in KB/s.
+     * @param writeRate Write rate in KB/s.
+     */
+    private void recordRates(MetricStore store, String diskName, long timestamp, double readRate, double writeRate) {
+        store.metric("disk." + diskName + ".read").add(timestamp, readRate);
+        store.metric("disk." + diskName + ".write").add(timestamp, writeRate);
+    }
+
     /**
      * Updates disk space information for the selected disk.
      */
@@ -564,97 +567,80 @@ public class DiskMonitor extends BaseMonitor {
         long usedSpace = totalSpace - usableSpace;
         double usagePercentValue = (double) usedSpace / totalSpace * 100;
 
-        Platform.runLater(() -> {
-            diskSize.set(formatBytes(totalSpace));
-            diskFree.set(formatBytes(usableSpace));
-            diskUsed.set(formatBytes(usedSpace));
-            diskUsagePercent.set(usagePercentValue);
-        });
+        publish(diskSize, Formats.bytes(totalSpace));
+        publish(diskFree, Formats.bytes(usableSpace));
+        publish(diskUsed, Formats.bytes(usedSpace));
+        publish(diskUsagePercent, usagePercentValue);
     }
 
     /**
-     * Updates partition information for all disks.
+     * Updates partition information from a remote station's snapshot. Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station
      */
-    private void updatePartitionInfo() {
-        if (remoteStation != null) {
-            // Remote partition info
-            try {
-                String response = remoteStation.getDiskUsage();
-                Platform.runLater(() -> {
-                    try {
-                        JSONObject json = new JSONObject(response);
-                        JSONArray partitions = json.getJSONArray("partitions");
-                        partitionData.clear();
-
-                        for (int i = 0; i < partitions.length(); i++) {
-                            JSONObject partition = partitions.getJSONObject(i);
-                            long total = partition.getLong("total");
-                            long used = partition.getLong("used");
-                            long free = partition.getLong("free");
-                            double percentUsed = (double) used / total * 100;
-
-                            partitionData.add(new DiskPartition(
-                                    partition.optString("device", "Unknown"),
-                                    partition.optString("mountpoint", "N/A"),
-                                    partition.optString("fstype", "N/A"),
-                                    formatBytes(total),
-                                    formatBytes(used),
-                                    df.format(percentUsed) + "%"
-                            ));
-                        }
-                    } catch (JSONException e) {
-                        System.err.println("Error parsing partition API response: " + e.getMessage());
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Error fetching remote partition data: " + e.getMessage());
+    private void updatePartitionInfo(RemoteSnapshot remote) {
+        try {
+            JSONObject json = remote.getDisk();
+            JSONArray partitions = json.getJSONArray("partitions");
+            List<DiskPartition> rows = new ArrayList<>(partitions.length());
+
+            for (int i = 0; i < partitions.length(); i++) {
+                JSONObject partition = partitions.getJSONObject(i);
+                long total = partition.getLong("total");
+                long used = partition.getLong("used");
+                double percentUsed = (double) used / total * 100;
+
+                rows.add(new DiskPartition(
+                        partition.optString("device", "Unknown"),
+                        partition.optString("mountpoint", "N/A"),
+                        partition.optString("fstype", "N/A"),
+                        Formats.bytes(total),
+                        Formats.bytes(used),
+                        Formats.percent(percentUsed)
+                ));
             }
-        } else {
-            // Local partition info
-            List<OSFileStore> fileStores = fileSystem.getFileStores();
-
-            Platform.runLater(() -> {
-                partitionData.clear();
-
-                for (OSFileStore store : fileStores) {
-                    long totalSpace = store.getTotalSpace();
-                    if (totalSpace <= 0) continue; // Skip invalid partitions
-
-                    long usableSpace = store.getUsableSpace();
-                    long usedSpace = totalSpace - usableSpace;
-                    double percentUsed = (double) usedSpace / totalSpace * 100;
-
-                    partitionData.add(new DiskPartition(
-                            store.getName(),
-                            store.getMount(),
-                            store.getType(),
-                            formatBytes(totalSpace),
-                            formatBytes(usedSpace),
-                            df.format(percentUsed) + "%"
-                    ));
-                }
-            });
+            publish(partitionData, () -> partitionData.setAll(rows));
+        } catch (JSONException e) {
+            System.err.println("Error parsing partition API response: " + e.getMessage());
         }
     }
 
-    protected String formatSpeed(double kbps) {
-        if (kbps < 1000) {
-            return df.format(kbps) + " KB/s";
-        } else {
-            return df.format(kbps / 1024.0) + " MB/s";
+    /**
+     * Updates partition information for all local disks.
+     */
+    private void updatePartitionInfo() {
+        List<OSFileStore> fileStores = fileSystem.getFileStores();
+        List<DiskPartition> rows = new ArrayList<>(fileStores.size());
+
+        for (OSFileStore store : fileStores) {
+            long totalSpace = store.getTotalSpace();
+            if (totalSpace <= 0) continue; // Skip invalid partitions
+
+            long usableSpace = store.getUsableSpace();
+            long usedSpace = totalSpace - usableSpace;
+            double percentUsed = (double) usedSpace / totalSpace * 100;
+
+            rows.add(new DiskPartition(
+                    store.getName(),
+                    store.getMount(),
+                    store.getType(),
+                    Formats.bytes(totalSpace),
+                    Formats.bytes(usedSpace),
+                    Formats.percent(percentUsed)
+            ));
         }
+        publish(partitionData, () -> partitionData.setAll(rows));
     }
 
-    protected String formatBytes(long bytes) {
-        if (bytes < 1024) {
-            return bytes + " B";
-        } else if (bytes < 1024 * 1024) {
-            return df.format(bytes / 1024.0) + " KB";
-        } else if (bytes < 1024 * 1024 * 1024) {
-            return df.format(bytes / (1024.0 * 1024)) + " MB";
-        } else {
-            return df.format(bytes / (1024.0 * 1024 * 1024)) + " GB";
-        }
+    /**
+     * Shows placeholder values for the single disk of a remote station until its data arrives.
+     */
+    private void publishRemotePlaceholders() {
+        publish(currentDisk, "Remote");
+        publish(diskModel, "Remote");
+        publish(diskSize, "Remote");
+        publish(diskFree, "Remote");
+        publish(diskUsed, "Remote");
+        publish(diskUsagePercent, 0);
     }
 
     /**
@@ -666,10 +652,6 @@ public class DiskMonitor extends BaseMonitor {
         updateDiskList();
     }
 
-    public void shutdown() {
-        scheduler.shutdown();
-    }
-
     private static class DiskStats {
         final long readBytes;
         final long writeBytes;
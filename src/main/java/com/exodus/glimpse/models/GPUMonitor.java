@@ -1,47 +1,43 @@
 package com.exodus.glimpse.models;
 
 import com.exodus.glimpse.BaseMonitor;
-import javafx.application.Platform;
+import com.exodus.glimpse.chart.TimeSeriesChart;
+import com.exodus.glimpse.history.MetricHistory;
+import com.exodus.glimpse.sampling.AdaptiveInterval;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.chart.LineChart;
-import javafx.scene.chart.NumberAxis;
-import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import com.exodus.glimpse.sampling.SystemSnapshot;
+import com.exodus.glimpse.ui.Formats;
 import oshi.hardware.GraphicsCard;
-import oshi.software.os.OSProcess;
 
-import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Monitors GPU usage and processes.
  */
 public class GPUMonitor extends BaseMonitor {
+    private final AdaptiveInterval interval = AdaptiveInterval.forMetric("gpu", 500, 4000, 5);
     private final List<GraphicsCard> graphicsCards;
 
-    private final DecimalFormat df = new DecimalFormat("#.##");
     private final SimpleDoubleProperty gpuUsage = new SimpleDoubleProperty(0);
     private final SimpleStringProperty gpuName = new SimpleStringProperty("N/A");
     private final SimpleStringProperty gpuMemory = new SimpleStringProperty("N/A");
     private final SimpleStringProperty gpuMemoryUsed = new SimpleStringProperty("N/A");
     private final SimpleStringProperty gpuDriver = new SimpleStringProperty("N/A");
     private final SimpleStringProperty gpuTemp = new SimpleStringProperty("N/A");
-    private final XYChart.Series<Number, Number> gpuSeries = new XYChart.Series<>();
+    private final TimeSeriesChart gpuChart = createGPUChart();
     private final ObservableList<ProcessInfo> processData = FXCollections.observableArrayList();
 
-    private final int MAX_DATA_POINTS = 60;
-    private int xSeriesData = 0;
-
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    /** Last simulated usage, only touched on the sampling thread. */
+    private double lastUsage;
 
     /**
      * Constructor that initializes GPU monitoring.
@@ -49,10 +45,6 @@ public class GPUMonitor extends BaseMonitor {
     public GPUMonitor() {
         super();
         graphicsCards = hardware.getGraphicsCards();
-        gpuSeries.setName("GPU Usage %");
-
-        // Initial process data load
-        updateProcessInfo();
 
         // Start monitoring
         startMonitoring();
@@ -88,7 +80,6 @@ public class GPUMonitor extends BaseMonitor {
         statsContainer.getChildren().addAll(usageBox, statsBox);
 
         // GPU Usage Graph
-        LineChart<Number, Number> gpuChart = createGPUChart();
         VBox.setVgrow(gpuChart, Priority.ALWAYS);
 
         // Process Table
@@ -98,7 +89,7 @@ public class GPUMonitor extends BaseMonitor {
         // Add all components to main container
         monitorPanel.getChildren().addAll(statsContainer, gpuChart, processTable);
 
-        return monitorPanel;
+        return bindDemandTo(monitorPanel);
     }
 
     /**
@@ -117,20 +108,8 @@ public class GPUMonitor extends BaseMonitor {
         percentLabel.setStyle("-fx-text-fill: white; -fx-font-size: 22px; -fx-font-weight: bold;");
 
         gpuUsage.addListener((obs, oldVal, newVal) -> {
-            Platform.runLater(() -> {
-                percentLabel.setText(df.format(newVal.doubleValue()) + "%");
-
-                // Change color based on GPU usage
-                String color;
-                if (newVal.doubleValue() < 60) {
-                    color = "#3D5AFE"; // Blue for normal
-                } else if (newVal.doubleValue() < 85) {
-                    color = "#FBBC05"; // Yellow for medium
-                } else {
-                    color = "#EA4335"; // Red for high
-                }
-                outerCircle.setStyle("-fx-fill: #2D2D2D; -fx-stroke: " + color + "; -fx-stroke-width: 3;");
-            });
+            percentLabel.setText(Formats.percent(newVal.doubleValue()));
+            outerCircle.setStyle(usageStyle(newVal.doubleValue()));
         });
 
         circleContainer.getChildren().addAll(outerCircle, percentLabel);
@@ -173,34 +152,13 @@ public class GPUMonitor extends BaseMonitor {
     }
 
     /**
-     * Creates a line chart showing GPU usage over time.
-     * @return LineChart configured for GPU usage display.
+     * Creates a chart showing GPU usage over time.
+     * @return Chart configured for GPU usage display.
      */
-    private LineChart<Number, Number> createGPUChart() {
-        NumberAxis xAxis = new NumberAxis();
-        xAxis.setLabel("Time (s)");
-        xAxis.setAnimated(false);
-        xAxis.setAutoRanging(false);
-        xAxis.setLowerBound(0);
-        xAxis.setUpperBound(MAX_DATA_POINTS);
-        xAxis.setTickUnit(10);
-
-        NumberAxis yAxis = new NumberAxis();
-        yAxis.setLabel("Usage (%)");
-        yAxis.setAnimated(false);
-        yAxis.setAutoRanging(false);
-        yAxis.setLowerBound(0);
-        yAxis.setUpperBound(100);
-        yAxis.setTickUnit(20);
-
-        LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
-        chart.setTitle("GPU Usage Over Time");
-        chart.setAnimated(false);
-        chart.setCreateSymbols(false);
-        chart.setLegendVisible(false);
-        chart.setStyle("-fx-background-color: #323232; -fx-text-fill: white;");
-        chart.getData().add(gpuSeries);
-
+    private TimeSeriesChart createGPUChart() {
+        TimeSeriesChart chart = new TimeSeriesChart("GPU Usage Over Time", "Usage (%)", CHART_RANGE_MILLIS);
+        chart.setYRange(0, 100);
+        chart.addSeries("GPU Usage %", USAGE_COLOR);
         return chart;
     }
 
@@ -213,19 +171,15 @@ public class GPUMonitor extends BaseMonitor {
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         table.setStyle("-fx-background-color: #323232; -fx-text-fill: white;");
 
-        TableColumn<ProcessInfo, String> nameCol = new TableColumn<>("Process Name");
-        nameCol.setCellValueFactory(data -> data.getValue().nameProperty());
+        TableColumn<ProcessInfo, String> nameCol = createColumn("Process Name", ProcessInfo::getName, BaseMonitor::displayName);
 
-        TableColumn<ProcessInfo, String> pidCol = new TableColumn<>("PID");
-        pidCol.setCellValueFactory(data -> data.getValue().pidProperty());
+        TableColumn<ProcessInfo, Integer> pidCol = createColumn("PID", ProcessInfo::getPid, String::valueOf);
         pidCol.setPrefWidth(70);
 
-        TableColumn<ProcessInfo, String> gpuCol = new TableColumn<>("GPU %");
-        gpuCol.setCellValueFactory(data -> data.getValue().gpuUsageProperty());
+        TableColumn<ProcessInfo, Double> gpuCol = createColumn("GPU %", ProcessInfo::getGpuUsage, Formats::percent);
         gpuCol.setPrefWidth(80);
 
-        TableColumn<ProcessInfo, String> memoryCol = new TableColumn<>("Memory");
-        memoryCol.setCellValueFactory(data -> data.getValue().memoryUsageProperty());
+        TableColumn<ProcessInfo, Long> memoryCol = createColumn("Memory", ProcessInfo::getMemoryBytes, Formats::bytes);
         memoryCol.setPrefWidth(100);
 
         table.getColumns().addAll(nameCol, pidCol, gpuCol, memoryCol);
@@ -241,10 +195,10 @@ public class GPUMonitor extends BaseMonitor {
      * Starts monitoring GPU usage and processes.
      */
     protected void startMonitoring() {
-        scheduler.scheduleAtFixedRate(() -> {
-            updateGPUInfo();
-            updateProcessInfo();
-        }, 0, 1000, TimeUnit.MILLISECONDS);
+        subscribe("GPU", interval, BACKGROUND_INTERVAL_MILLIS, () -> true, snapshot -> {
+            measure("GPU.updateGPUInfo", this::updateGPUInfo);
+            measure("GPU.updateProcessInfo", () -> updateProcessInfo(snapshot));
+        });
     }
 
     /**
@@ -265,106 +219,77 @@ public class GPUMonitor extends BaseMonitor {
             // If no NVIDIA GPU found, fall back to the first GPU
             GraphicsCard gpu = nvidiaGPU != null ? nvidiaGPU : graphicsCards.get(0);
 
+            // Simulate GPU usage since OSHI doesn't provide direct GPU usage
+            double previousUsage = lastUsage;
+            double simulatedUsage = Math.min(100, Math.max(0, previousUsage + (Math.random() * 10 - 5)));
+            lastUsage = simulatedUsage;
+            interval.observe(simulatedUsage);
+            MetricHistory gpuHistory = history().metric("gpu.usage");
+            gpuHistory.add(System.currentTimeMillis(), simulatedUsage);
+
             // Update GPU information
-            Platform.runLater(() -> {
-                gpuName.set(gpu.getName());
-                gpuMemory.set(formatBytes((long)gpu.getVRam()));
-                gpuMemoryUsed.set(formatBytes((long)(gpu.getVRam() * (gpuUsage.get() / 100.0))));
-                gpuDriver.set("N/A"); // OSHI doesn't provide driver version
-
-                // Simulate GPU usage since OSHI doesn't provide direct GPU usage
-                double simulatedUsage = Math.min(100, Math.max(0, gpuUsage.get() + (Math.random() * 10 - 5)));
-                gpuUsage.set(simulatedUsage);
-
-                gpuSeries.getData().add(new XYChart.Data<>(xSeriesData++, simulatedUsage));
-                if (gpuSeries.getData().size() > MAX_DATA_POINTS) {
-                    gpuSeries.getData().remove(0);
-                }
+            publish(gpuName, gpu.getName());
+            publish(gpuMemory, Formats.bytes((long)gpu.getVRam()));
+            publish(gpuMemoryUsed, Formats.bytes((long)(gpu.getVRam() * (previousUsage / 100.0))));
+            publish(gpuDriver, "N/A"); // OSHI doesn't provide driver version
 
-                // Simulate temperature since OSHI doesn't provide GPU temperature
-                double simulatedTemp = 40 + (simulatedUsage / 2);
-                gpuTemp.set(df.format(simulatedTemp) + "°C");
-            });
+            publish(gpuUsage, simulatedUsage);
+            publish(gpuChart, () -> gpuChart.show(0, gpuHistory));
+
+            // Simulate temperature since OSHI doesn't provide GPU temperature
+            double simulatedTemp = 40 + (simulatedUsage / 2);
+            publish(gpuTemp, Formats.withUnit(simulatedTemp, "°C"));
         }
     }
 
     /**
      * Updates process information using GPU resources.
+     * @param snapshot The snapshot of the current sampling tick.
      */
-    private void updateProcessInfo() {
-        List<OSProcess> processes = os.getProcesses();
-        processes.sort((p1, p2) -> Long.compare(p2.getResidentSetSize(), p1.getResidentSetSize()));
-
-        List<OSProcess> topProcesses = processes.subList(0, Math.min(10, processes.size()));
-
-        Platform.runLater(() -> {
-            processData.clear();
-            for (OSProcess process : topProcesses) {
-                String name = process.getName();
-                if (name.length() > 30) {
-                    name = name.substring(0, 27) + "...";
-                }
+    private void updateProcessInfo(SystemSnapshot snapshot) {
+        ProcessSnapshot processes = snapshot.getProcesses();
+        if (processes == null) {
+            return;
+        }
+        int[] topProcesses = processes.topByMemory(10);
 
-                // Simulate GPU usage per process since OSHI doesn't provide this
-                double simulatedGPUUsage = Math.random() * 20;
-                long memBytes = process.getResidentSetSize();
-                String memoryUsage = formatBytes(memBytes);
-
-                processData.add(new ProcessInfo(
-                        name,
-                        String.valueOf(process.getProcessID()),
-                        df.format(simulatedGPUUsage) + "%",
-                        memoryUsage
-                ));
-            }
-        });
-    }
+        List<ProcessInfo> rows = new ArrayList<>(topProcesses.length);
+        for (int row : topProcesses) {
+            String name = processes.getName(row);
 
-    protected String formatBytes(long bytes) {
-        if (bytes < 1024) {
-            return bytes + " B";
-        } else if (bytes < 1024 * 1024) {
-            return df.format(bytes / 1024.0) + " KB";
-        } else if (bytes < 1024 * 1024 * 1024) {
-            return df.format(bytes / (1024.0 * 1024)) + " MB";
-        } else {
-            return df.format(bytes / (1024.0 * 1024 * 1024)) + " GB";
-        }
-    }
+            // Simulate GPU usage per process since OSHI doesn't provide this
+            double simulatedGPUUsage = Math.random() * 20;
+            long memBytes = processes.getResidentSetSize(row);
 
-    public void shutdown() {
-        scheduler.shutdown();
+            rows.add(new ProcessInfo(name, processes.getPid(row), simulatedGPUUsage, memBytes));
+        }
+        publish(processData, () -> processData.setAll(rows));
     }
 
     public static class ProcessInfo {
-        private final SimpleStringProperty name;
-        private final SimpleStringProperty pid;
-        private final SimpleStringProperty gpuUsage;
-        private final SimpleStringProperty memoryUsage;
+        private final String name;
+        private final int pid;
+        private final double gpuUsage;
+        private final long memoryBytes;
 
         /**
          * Creates a new ProcessInfo object with GPU monitoring information.
          * 
          * @param name The name of the process.
          * @param pid The process ID.
-         * @param gpuUsage The GPU usage of the process as a formatted string.
-         * @param memoryUsage The memory usage of the process as a formatted string.
+         * @param gpuUsage The GPU usage of the process in percent.
+         * @param memoryBytes The memory usage of the process in bytes.
          */
-        public ProcessInfo(String name, String pid, String gpuUsage, String memoryUsage) {
-            this.name = new SimpleStringProperty(name);
-            this.pid = new SimpleStringProperty(pid);
-            this.gpuUsage = new SimpleStringProperty(gpuUsage);
-            this.memoryUsage = new SimpleStringProperty(memoryUsage);
+        public ProcessInfo(String name, int pid, double gpuUsage, long memoryBytes) {
+            this.name = name;
+            this.pid = pid;
+            this.gpuUsage = gpuUsage;
+            this.memoryBytes = memoryBytes;
         }
 
-        public String getName() { return name.get(); }
-        public String getPid() { return pid.get(); }
-        public String getGpuUsage() { return gpuUsage.get(); }
-        public String getMemoryUsage() { return memoryUsage.get(); }
-
-        public SimpleStringProperty nameProperty() { return name; }
-        public SimpleStringProperty pidProperty() { return pid; }
-        public SimpleStringProperty gpuUsageProperty() { return gpuUsage; }
-        public SimpleStringProperty memoryUsageProperty() { return memoryUsage; }
+        public String getName() { return name; }
+        public int getPid() { return pid; }
+        public double getGpuUsage() { return gpuUsage; }
+        public long getMemoryBytes() { return memoryBytes; }
     }
 }
@@ -1,7 +1,9 @@
 package com.exodus.glimpse.models;
 
 import com.exodus.glimpse.BaseMonitor;
-import javafx.application.Platform;
+import com.exodus.glimpse.RemoteSnapshot;
+import com.exodus.glimpse.RemoteSnapshot.Section;
+import com.exodus.glimpse.ui.Formats;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -10,9 +12,10 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import oshi.hardware.*;
+import org.json.JSONException;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Monitors and displays hardware information.
@@ -40,7 +43,13 @@ public class HardwareMonitor extends BaseMonitor {
      */
     @Override
     protected void startMonitoring() {
-        scheduler.scheduleAtFixedRate(this::updateHardwareInfo, 0, 2, TimeUnit.SECONDS);
+        subscribe("Hardware", 2000, 0, snapshot -> {
+            if (remoteStation != null) {
+                pollRemote("Hardware", this::updateHardwareInfo, Section.CPU, Section.MEMORY);
+                return;
+            }
+            measure("Hardware.updateHardwareInfo", this::updateHardwareInfo);
+        });
     }
     
     /**
@@ -81,7 +90,7 @@ public class HardwareMonitor extends BaseMonitor {
         diskBox.getChildren().add(diskTable);
 
         monitorPanel.getChildren().addAll(cpuBox, ramBox, gpuBox, diskBox);
-        return monitorPanel;
+        return bindDemandTo(monitorPanel);
     }
 
     /**
@@ -133,74 +142,69 @@ public class HardwareMonitor extends BaseMonitor {
     }
 
     /**
-     * Updates all hardware information from local or remote source.
+     * Updates hardware information from a remote station's snapshot. Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station
+     */
+    private void updateHardwareInfo(RemoteSnapshot remote) {
+        try {
+            // Update CPU info
+            double freq = remote.getCpu().optDouble("frequencies", 0);
+            publish(cpuModel, "Remote CPU");
+            publish(cpuCores, "Remote");
+            publish(cpuThreads, "Remote");
+            publish(cpuFrequency, freq > 0 ? Formats.withUnit(freq / 1000.0, " GHz") : "Remote");
+
+            // Update RAM info
+            publish(totalRam, Formats.bytes(remote.getMemory().getLong("total")));
+
+            // Update GPU info
+            publish(gpuModel, "Remote GPU");
+            publish(gpuMemory, "Remote");
+
+            // Update disk info
+            publish(diskInfo, () -> diskInfo.setAll(new DiskInfo("Remote Disk", "Remote", "Remote")));
+        } catch (JSONException e) {
+            System.err.println("Error parsing hardware API response: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Updates all hardware information from the local system.
      */
     private void updateHardwareInfo() {
-        if (remoteStation != null) {
-            // Remote monitoring mode
-            try {
-                String response = remoteStation.getCpuUsage();
-                Platform.runLater(() -> {
-                    try {
-                        // Update CPU info
-                        cpuModel.set("Remote CPU");
-                        cpuCores.set("Remote");
-                        cpuThreads.set("Remote");
-                        cpuFrequency.set("Remote");
-
-                        // Update RAM info
-                        totalRam.set("Remote");
-
-                        // Update GPU info
-                        gpuModel.set("Remote GPU");
-                        gpuMemory.set("Remote");
-
-                        // Update disk info
-                        diskInfo.clear();
-                        diskInfo.add(new DiskInfo("Remote Disk", "Remote", "Remote"));
-                    } catch (Exception e) {
-                        System.err.println("Error parsing remote hardware data: " + e.getMessage());
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Error fetching remote hardware data: " + e.getMessage());
-            }
+        // Queried here rather than on the JavaFX thread
+        // Update CPU info
+        CentralProcessor processor = hardware.getProcessor();
+        publish(cpuModel, processor.getProcessorIdentifier().getName());
+        publish(cpuCores, String.valueOf(processor.getPhysicalProcessorCount()));
+        publish(cpuThreads, String.valueOf(processor.getLogicalProcessorCount()));
+        publish(cpuFrequency, Formats.withUnit(processor.getProcessorIdentifier().getVendorFreq() / 1000000000.0, " GHz"));
+
+        // Update RAM info
+        GlobalMemory memory = hardware.getMemory();
+        publish(totalRam, Formats.bytes(memory.getTotal()));
+
+        // Update GPU info
+        List<GraphicsCard> gpus = hardware.getGraphicsCards();
+        if (!gpus.isEmpty()) {
+            GraphicsCard gpu = gpus.get(0);
+            publish(gpuModel, gpu.getName());
+            publish(gpuMemory, Formats.bytes(gpu.getVRam()));
         } else {
-            // Local monitoring mode
-            Platform.runLater(() -> {
-                // Update CPU info
-                CentralProcessor processor = hardware.getProcessor();
-                cpuModel.set(processor.getProcessorIdentifier().getName());
-                cpuCores.set(String.valueOf(processor.getPhysicalProcessorCount()));
-                cpuThreads.set(String.valueOf(processor.getLogicalProcessorCount()));
-                cpuFrequency.set(df.format(processor.getProcessorIdentifier().getVendorFreq() / 1000000000.0) + " GHz");
-
-                // Update RAM info
-                GlobalMemory memory = hardware.getMemory();
-                totalRam.set(formatBytes(memory.getTotal()));
-
-                // Update GPU info
-                List<GraphicsCard> gpus = hardware.getGraphicsCards();
-                if (!gpus.isEmpty()) {
-                    GraphicsCard gpu = gpus.get(0);
-                    gpuModel.set(gpu.getName());
-                    gpuMemory.set(formatBytes(gpu.getVRam()));
-                } else {
-                    gpuModel.set("No GPU detected");
-                    gpuMemory.set("N/A");
-                }
-
-                // Update disk info
-                diskInfo.clear();
-                for (HWDiskStore disk : hardware.getDiskStores()) {
-                    diskInfo.add(new DiskInfo(
-                            disk.getName(),
-                            disk.getModel(),
-                            formatBytes(disk.getSize())
-                    ));
-                }
-            });
+            publish(gpuModel, "No GPU detected");
+            publish(gpuMemory, "N/A");
+        }
+
+        // Update disk info
+        List<DiskInfo> disks = new ArrayList<>();
+        for (HWDiskStore disk : hardware.getDiskStores()) {
+            disks.add(new DiskInfo(
+                    disk.getName(),
+                    disk.getModel(),
+                    Formats.bytes(disk.getSize())
+            ));
         }
+        publish(diskInfo, () -> diskInfo.setAll(disks));
     }
 
     /**
@@ -1,18 +1,21 @@
 package com.exodus.glimpse.models;
 
 import com.exodus.glimpse.BaseMonitor;
+import com.exodus.glimpse.RemoteSnapshot;
+import com.exodus.glimpse.RemoteSnapshot.Section;
 import com.exodus.glimpse.RemoteStation;
-import javafx.application.Platform;
+import com.exodus.glimpse.chart.TimeSeriesChart;
+import com.exodus.glimpse.history.MetricHistory;
+import com.exodus.glimpse.sampling.AdaptiveInterval;
+import com.exodus.glimpse.ui.Formats;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.chart.LineChart;
-import javafx.scene.chart.NumberAxis;
-import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import oshi.hardware.NetworkIF;
@@ -20,23 +23,19 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Monitors network interfaces and connections.
  */
 public class NetworkMonitor extends BaseMonitor {
+    private final AdaptiveInterval interval = AdaptiveInterval.forMetric("network", 250, 4000, 256);
     private final List<NetworkIF> networkInterfaces;
     private final ComboBox<String> interfaceSelector;
 
-    private final DecimalFormat df = new DecimalFormat("#.##");
     private final SimpleStringProperty currentInterface = new SimpleStringProperty("N/A");
     private final SimpleStringProperty ipAddress = new SimpleStringProperty("N/A");
     private final SimpleStringProperty macAddress = new SimpleStringProperty("N/A");
@@ -46,19 +45,15 @@ public class NetworkMonitor extends BaseMonitor {
     private final SimpleStringProperty totalUploaded = new SimpleStringProperty("0 KB");
     private final SimpleStringProperty connectionStatus = new SimpleStringProperty("Disconnected");
 
-    private final XYChart.Series<Number, Number> downloadSeries = new XYChart.Series<>();
-    private final XYChart.Series<Number, Number> uploadSeries = new XYChart.Series<>();
+    private static final int DOWNLOAD_SERIES = 0;
+    private static final int UPLOAD_SERIES = 1;
+    private final TimeSeriesChart networkChart = createNetworkChart();
 
     private final ObservableList<ConnectionEntry> connectionData = FXCollections.observableArrayList();
 
-    private final int MAX_DATA_POINTS = 60;
-    private int xSeriesData = 0;
-
-    private final Map<String, NetworkStats> previousStats = new HashMap<>();
+    private final Map<String, NetworkStats> previousStats = new ConcurrentHashMap<>();
     private NetworkIF currentNetworkIF;
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-
     /**
      * Constructor that initializes network monitoring.
      */
@@ -70,9 +65,6 @@ public class NetworkMonitor extends BaseMonitor {
 
         updateNetworkInterfaces();
 
-        downloadSeries.setName("Download");
-        uploadSeries.setName("Upload");
-
         startMonitoring();
     }
 
@@ -102,13 +94,11 @@ public class NetworkMonitor extends BaseMonitor {
         statusLabel.setStyle("-fx-font-weight: bold;");
         statusLabel.textProperty().bind(connectionStatus);
         connectionStatus.addListener((obs, oldVal, newVal) -> {
-            Platform.runLater(() -> {
-                if (newVal.equals("Connected")) {
-                    statusLabel.setStyle("-fx-text-fill: #4CAF50; -fx-font-weight: bold;");
-                } else {
-                    statusLabel.setStyle("-fx-text-fill: #F44336; -fx-font-weight: bold;");
-                }
-            });
+            if (newVal.equals("Connected")) {
+                statusLabel.setStyle("-fx-text-fill: #4CAF50; -fx-font-weight: bold;");
+            } else {
+                statusLabel.setStyle("-fx-text-fill: #F44336; -fx-font-weight: bold;");
+            }
         });
 
         Region spacer = new Region();
@@ -120,7 +110,6 @@ public class NetworkMonitor extends BaseMonitor {
         VBox statsBox = createStatsBox();
 
         // Network Usage Graph
-        LineChart<Number, Number> networkChart = createNetworkChart();
         VBox.setVgrow(networkChart, Priority.ALWAYS);
 
         // Connection Table
@@ -130,7 +119,7 @@ public class NetworkMonitor extends BaseMonitor {
         // Add all components to main container
         monitorPanel.getChildren().addAll(topPanel, statsBox, networkChart, connectionTable);
 
-        return monitorPanel;
+        return bindDemandTo(monitorPanel);
     }
 
     /**
@@ -139,14 +128,14 @@ public class NetworkMonitor extends BaseMonitor {
     private void updateNetworkInterfaces() {
         if (remoteStation != null) {
             // For remote monitoring, we'll just show a single "Remote" interface
-            Platform.runLater(() -> {
+            publish(interfaceSelector, () -> {
                 interfaceSelector.getItems().setAll("Remote Connection");
                 interfaceSelector.getSelectionModel().selectFirst();
-                currentInterface.set("Remote");
-                ipAddress.set("Remote");
-                macAddress.set("Remote");
-                connectionStatus.set("Connected");
             });
+            publish(currentInterface, "Remote");
+            publish(ipAddress, "Remote");
+            publish(macAddress, "Remote");
+            publish(connectionStatus, "Connected");
         } else {
             // Local monitoring
             List<String> interfaceNames = new ArrayList<>();
@@ -166,7 +155,7 @@ public class NetworkMonitor extends BaseMonitor {
                 }
             }
 
-            Platform.runLater(() -> {
+            publish(interfaceSelector, () -> {
                 interfaceSelector.getItems().setAll(interfaceNames);
                 if (!interfaceNames.isEmpty()) {
                     interfaceSelector.getSelectionModel().selectFirst();
@@ -255,43 +244,14 @@ public class NetworkMonitor extends BaseMonitor {
     }
 
     /**
-     * Creates a line chart showing network usage over time.
-     * @return LineChart configured for network usage display.
+     * Creates a chart showing network usage over time.
+     * @return Chart configured for network usage display.
      */
-    private LineChart<Number, Number> createNetworkChart() {
-        final NumberAxis xAxis = new NumberAxis();
-        final NumberAxis yAxis = new NumberAxis();
-
-        xAxis.setLabel("Time (seconds)");
-        xAxis.setAnimated(false);
-        xAxis.setTickLabelsVisible(false);
-        xAxis.setTickMarkVisible(false);
-        xAxis.setMinorTickVisible(false);
-
-        yAxis.setLabel("Speed (KB/s)");
-        yAxis.setAnimated(false);
-
-        final LineChart<Number, Number> lineChart = new LineChart<>(xAxis, yAxis);
-        lineChart.setTitle("Network Usage");
-        lineChart.setCreateSymbols(false);
-        lineChart.setAnimated(false);
-        lineChart.getData().add(downloadSeries);
-        lineChart.getData().add(uploadSeries);
-
-        lineChart.setStyle(
-                "-fx-background-color: #323232; " +
-                        "-fx-plot-background-color: #262626; " +
-                        "-fx-text-fill: white;"
-        );
-
-        // Style the series
-        downloadSeries.getNode().lookup(".chart-series-line").setStyle("-fx-stroke: #4CAF50; -fx-stroke-width: 2px;");
-        uploadSeries.getNode().lookup(".chart-series-line").setStyle("-fx-stroke: #2196F3; -fx-stroke-width: 2px;");
-
-        lineChart.lookup(".chart-title").setStyle("-fx-text-fill: white; -fx-font-size: 14px;");
-        lineChart.lookup(".axis-label").setStyle("-fx-text-fill: #BBBBBB;");
-
-        return lineChart;
+    private TimeSeriesChart createNetworkChart() {
+        TimeSeriesChart chart = new TimeSeriesChart("Network Usage", "Speed (KB/s)", CHART_RANGE_MILLIS);
+        chart.addSeries("Download", Color.web("#4CAF50"));
+        chart.addSeries("Upload", Color.web("#2196F3"));
+        return chart;
     }
 
     /**
@@ -331,11 +291,18 @@ public class NetworkMonitor extends BaseMonitor {
      * Starts monitoring network interfaces and connections.
      */
     public void startMonitoring() {
-        // Update data every second
-        scheduler.scheduleAtFixedRate(() -> {
-            updateNetworkInfo();
-            updateConnectionInfo();
-        }, 0, 1000, TimeUnit.MILLISECONDS);
+        // Adapt to traffic changes while visible, every 10 seconds otherwise
+        subscribe("Network", interval, BACKGROUND_INTERVAL_MILLIS, () -> false, snapshot -> {
+            if (remoteStation != null) {
+                pollRemote("Network", remote -> {
+                    updateNetworkInfo(remote);
+                    updateConnectionInfo(remote);
+                }, Section.NETWORK);
+                return;
+            }
+            measure("Network.updateNetworkInfo", this::updateNetworkInfo);
+            measure("Network.updateConnectionInfo", this::updateConnectionInfo);
+        });
     }
 
     /**
@@ -345,10 +312,10 @@ public class NetworkMonitor extends BaseMonitor {
     private void updateSelectedInterface(int index) {
         if (remoteStation != null) {
             // For remote monitoring, we don't have multiple interfaces
-            currentInterface.set("Remote");
-            ipAddress.set("Remote");
-            macAddress.set("Remote");
-            connectionStatus.set("Connected");
+            publish(currentInterface, "Remote");
+            publish(ipAddress, "Remote");
+            publish(macAddress, "Remote");
+            publish(connectionStatus, "Connected");
             return;
         }
 
@@ -359,159 +326,166 @@ public class NetworkMonitor extends BaseMonitor {
         currentNetworkIF = networkInterfaces.get(index);
         currentNetworkIF.updateAttributes();
 
-        currentInterface.set(currentNetworkIF.getName());
+        // Published rather than set so that a pending update for the previous interface cannot overwrite them
+        publish(currentInterface, currentNetworkIF.getName());
 
         // Update interface details
         String[] ipv4Addresses = currentNetworkIF.getIPv4addr();
-        ipAddress.set(ipv4Addresses.length > 0 ? ipv4Addresses[0] : "N/A");
-        macAddress.set(currentNetworkIF.getMacaddr());
+        publish(ipAddress, ipv4Addresses.length > 0 ? ipv4Addresses[0] : "N/A");
+        publish(macAddress, currentNetworkIF.getMacaddr());
 
         // Update connection status
         boolean isConnected = currentNetworkIF.getSpeed() > 0;
-        connectionStatus.set(isConnected ? "Connected" : "Disconnected");
+        publish(connectionStatus, isConnected ? "Connected" : "Disconnected");
 
-        // Reset chart data
-        Platform.runLater(() -> {
-            downloadSeries.getData().clear();
-            uploadSeries.getData().clear();
-            xSeriesData = 0;
-        });
+        // Show the history of the newly selected interface
+        showHistory(currentNetworkIF.getName());
 
         // Update total bytes
         updateTotalBytes(currentNetworkIF);
     }
 
-     /**
-     * Updates network usage and performance information.
+    /**
+     * Updates network usage and performance information from a remote station's snapshot.
+     * Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station
      */
-    private void updateNetworkInfo() {
-        if (remoteStation != null) {
-            try {
-                String response = remoteStation.getNetworkUsage();
-                Platform.runLater(() -> {
-                    try {
-                        JSONObject json = new JSONObject(response);
-                        JSONArray interfaces = json.getJSONArray("interfaces");
-
-                        if (!interfaces.isEmpty()) {
-                            JSONObject netData = interfaces.getJSONObject(0);
-
-                            // Calculate speeds
-                            long bytesRecv = netData.getLong("bytes_recv");
-                            long bytesSent = netData.getLong("bytes_sent");
-
-                            String interfaceName = "Remote";
-                            NetworkStats prevStats = previousStats.get(interfaceName);
-
-                            if (prevStats != null) {
-                                long currentTime = System.currentTimeMillis();
-                                long byteDiff = bytesRecv - prevStats.bytesReceived;
-                                long sentDiff = bytesSent - prevStats.bytesSent;
-                                double timeSeconds = (currentTime - prevStats.timestamp) / 1000.0;
-
-                                // Calculate speeds in KB/s
-                                double downloadRate = byteDiff / (1024.0 * timeSeconds);
-                                double uploadRate = sentDiff / (1024.0 * timeSeconds);
-
-                                // Update previous stats
-                                previousStats.put(interfaceName, new NetworkStats(
-                                        bytesRecv,
-                                        bytesSent,
-                                        currentTime
-                                ));
-
-                                // Update UI
-                                downloadSpeed.set(formatSpeed(downloadRate));
-                                uploadSpeed.set(formatSpeed(uploadRate));
-
-                                // Update chart data
-                                downloadSeries.getData().add(new XYChart.Data<>(xSeriesData, downloadRate));
-                                uploadSeries.getData().add(new XYChart.Data<>(xSeriesData, uploadRate));
-                                xSeriesData++;
-
-                                // Remove old data points
-                                if (downloadSeries.getData().size() > MAX_DATA_POINTS) {
-                                    downloadSeries.getData().remove(0);
-                                    uploadSeries.getData().remove(0);
-                                }
-                            } else {
-                                // First reading - just store the stats
-                                previousStats.put(interfaceName, new NetworkStats(
-                                        bytesRecv,
-                                        bytesSent,
-                                        System.currentTimeMillis()
-                                ));
-                            }
-
-                            // Update total bytes
-                            totalDownloaded.set(formatBytes(bytesRecv));
-                            totalUploaded.set(formatBytes(bytesSent));
-                        }
-                    } catch (JSONException e) {
-                        System.err.println("Error parsing network API response: " + e.getMessage());
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Error fetching remote network data: " + e.getMessage());
-            }
-        } else {
-            // Local monitoring mode
-            if (currentNetworkIF == null) {
-                return;
-            }
+    private void updateNetworkInfo(RemoteSnapshot remote) {
+        try {
+            JSONObject json = remote.getNetwork();
+            JSONArray interfaces = json.getJSONArray("interfaces");
+
+            if (!interfaces.isEmpty()) {
+                JSONObject netData = interfaces.getJSONObject(0);
+
+                // Calculate speeds
+                long bytesRecv = netData.getLong("bytes_recv");
+                long bytesSent = netData.getLong("bytes_sent");
+
+                String interfaceName = "Remote";
+                NetworkStats prevStats = previousStats.get(interfaceName);
+
+                if (prevStats != null) {
+                    long currentTime = System.currentTimeMillis();
+                    long byteDiff = bytesRecv - prevStats.bytesReceived;
+                    long sentDiff = bytesSent - prevStats.bytesSent;
+                    long elapsedMillis = currentTime - prevStats.timestamp;
+
+                    // Calculate speeds in KB/s
+                    double downloadRate = kilobytesPerSecond(byteDiff, elapsedMillis);
+                    double uploadRate = kilobytesPerSecond(sentDiff, elapsedMillis);
+                    interval.observe(downloadRate + uploadRate);
+                    downloadHistory(interfaceName).add(currentTime, downloadRate);
+                    uploadHistory(interfaceName).add(currentTime, uploadRate);
+
+                    // Update previous stats
+                    previousStats.put(interfaceName, new NetworkStats(
+                            bytesRecv,
+                            bytesSent,
+                            currentTime
+                    ));
 
-            // Update network interface
-            currentNetworkIF.updateAttributes();
+                    // Update UI
+                    publish(downloadSpeed, Formats.speed(downloadRate));
+                    publish(uploadSpeed, Formats.speed(uploadRate));
+                    showHistory(interfaceName);
+                } else {
+                    // First reading - just store the stats
+                    previousStats.put(interfaceName, new NetworkStats(
+                            bytesRecv,
+                            bytesSent,
+                            System.currentTimeMillis()
+                    ));
+                }
 
-            // Check if interface is still connected
-            boolean isConnected = currentNetworkIF.getSpeed() > 0;
-            Platform.runLater(() -> connectionStatus.set(isConnected ? "Connected" : "Disconnected"));
+                // Update total bytes
+                publish(totalDownloaded, Formats.bytes(bytesRecv));
+                publish(totalUploaded, Formats.bytes(bytesSent));
+            }
+        } catch (JSONException e) {
+            System.err.println("Error parsing network API response: " + e.getMessage());
+        }
+    }
 
-            // Calculate speeds
-            String interfaceName = currentNetworkIF.getName();
-            NetworkStats prevStats = previousStats.get(interfaceName);
+    /**
+     * Updates network usage and performance information from the local system.
+     */
+    private void updateNetworkInfo() {
+        if (currentNetworkIF == null) {
+            return;
+        }
 
-            if (prevStats != null) {
-                long currentBytes = currentNetworkIF.getBytesRecv();
-                long currentSent = currentNetworkIF.getBytesSent();
-                long currentTime = System.currentTimeMillis();
+        // Update network interface
+        currentNetworkIF.updateAttributes();
 
-                long byteDiff = currentBytes - prevStats.bytesReceived;
-                long sentDiff = currentSent - prevStats.bytesSent;
-                double timeSeconds = (currentTime - prevStats.timestamp) / 1000.0;
+        // Check if interface is still connected
+        boolean isConnected = currentNetworkIF.getSpeed() > 0;
+        publish(connectionStatus, isConnected ? "Connected" : "Disconnected");
+
+        // Calculate speeds
+        String interfaceName = currentNetworkIF.getName();
+        NetworkStats prevStats = previousStats.get(interfaceName);
+
+        if (prevStats != null) {
+            long currentBytes = currentNetworkIF.getBytesRecv();
+            long currentSent = currentNetworkIF.getBytesSent();
+            long currentTime = System.currentTimeMillis();
+
+            long byteDiff = currentBytes - prevStats.bytesReceived;
+            long sentDiff = currentSent - prevStats.bytesSent;
+            long elapsedMillis = currentTime - prevStats.timestamp;
+
+            // Calculate speeds in KB/s
+            double downloadRate = kilobytesPerSecond(byteDiff, elapsedMillis);
+            double uploadRate = kilobytesPerSecond(sentDiff, elapsedMillis);
+            interval.observe(downloadRate + uploadRate);
+            downloadHistory(interfaceName).add(currentTime, downloadRate);
+            uploadHistory(interfaceName).add(currentTime, uploadRate);
+
+            // Update previous stats
+            previousStats.put(interfaceName, new NetworkStats(
+                    currentBytes,
+                    currentSent,
+                    currentTime
+            ));
+
+            // Update UI
+            publish(downloadSpeed, Formats.speed(downloadRate));
+            publish(uploadSpeed, Formats.speed(uploadRate));
+            showHistory(interfaceName);
+            updateTotalBytes(currentNetworkIF);
+        }
+    }
 
-                // Calculate speeds in KB/s
-                double downloadRate = byteDiff / (1024.0 * timeSeconds);
-                double uploadRate = sentDiff / (1024.0 * timeSeconds);
+    /**
+     * Shows the rate history of an interface in the chart on the next frame.
+     * @param interfaceName Name of the interface.
+     */
+    private void showHistory(String interfaceName) {
+        MetricHistory downloadHistory = downloadHistory(interfaceName);
+        MetricHistory uploadHistory = uploadHistory(interfaceName);
+        publish(networkChart, () -> {
+            networkChart.show(DOWNLOAD_SERIES, downloadHistory);
+            networkChart.show(UPLOAD_SERIES, uploadHistory);
+        });
+    }
 
-                // Update previous stats
-                previousStats.put(interfaceName, new NetworkStats(
-                        currentBytes,
-                        currentSent,
-                        currentTime
-                ));
+    /**
+     * Returns the download rate history of an interface.
+     * @param interfaceName Name of the interface.
+     * @return The history in KB/s.
+     */
+    private MetricHistory downloadHistory(String interfaceName) {
+        return history().metric("network." + interfaceName + ".download");
+    }
 
-                // Update UI
-                Platform.runLater(() -> {
-                    // Update speed labels
-                    downloadSpeed.set(formatSpeed(downloadRate));
-                    uploadSpeed.set(formatSpeed(uploadRate));
-
-                    // Update chart data
-                    downloadSeries.getData().add(new XYChart.Data<>(xSeriesData, downloadRate));
-                    uploadSeries.getData().add(new XYChart.Data<>(xSeriesData, uploadRate));
-                    xSeriesData++;
-
-                    // Remove old data points
-                    if (downloadSeries.getData().size() > MAX_DATA_POINTS) {
-                        downloadSeries.getData().removeFirst();
-                        uploadSeries.getData().removeFirst();
-                    }
-
-                    updateTotalBytes(currentNetworkIF);
-                });
-            }
-        }
+    /**
+     * Returns the upload rate history of an interface.
+     * @param interfaceName Name of the interface.
+     * @return The history in KB/s.
+     */
+    private MetricHistory uploadHistory(String interfaceName) {
+        return history().metric("network." + interfaceName + ".upload");
     }
 
     /**
@@ -522,87 +496,66 @@ public class NetworkMonitor extends BaseMonitor {
         if (remoteStation != null) {
             return;
         }
-        totalDownloaded.set(formatBytes(netIF.getBytesRecv()));
-        totalUploaded.set(formatBytes(netIF.getBytesSent()));
+        publish(totalDownloaded, Formats.bytes(netIF.getBytesRecv()));
+        publish(totalUploaded, Formats.bytes(netIF.getBytesSent()));
     }
 
     /**
-     * Updates active network connection information.
+     * Updates active network connection information from a remote station's snapshot.
+     * Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station
      */
-    private void updateConnectionInfo() {
-        Platform.runLater(() -> {
-            connectionData.clear();
-
-            if (remoteStation != null) {
-                // Remote connection info
-                try {
-                    String response = remoteStation.getNetworkUsage();
-                    JSONObject json = new JSONObject(response);
-                    JSONArray connections = json.getJSONArray("connections");
-
-                    for (int i = 0; i < connections.length(); i++) {
-                        JSONObject conn = connections.getJSONObject(i);
-                        connectionData.add(new ConnectionEntry(
-                                conn.optString("laddr", "N/A"),
-                                conn.optString("raddr", "N/A"),
-                                conn.optString("type", "N/A"),
-                                conn.optString("status", "N/A")
-                        ));
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error fetching remote connection data: " + e.getMessage());
-                    connectionData.add(new ConnectionEntry(
-                            "Remote:443",
-                            "192.168.1.1:53",
-                            "TCP",
-                            "ESTABLISHED"
-                    ));
-                }
-            } else if (currentNetworkIF != null && connectionStatus.get().equals("Connected")) {
-                connectionData.add(new ConnectionEntry(
-                        ipAddress.get() + ":443",
-                        "192.168.1.1:53",
-                        "TCP",
-                        "ESTABLISHED"
-                ));
-                connectionData.add(new ConnectionEntry(
-                        ipAddress.get() + ":80",
-                        "172.217.22.14:443",
-                        "TCP",
-                        "TIME_WAIT"
+    private void updateConnectionInfo(RemoteSnapshot remote) {
+        List<ConnectionEntry> rows = new ArrayList<>();
+        try {
+            JSONArray connections = remote.getNetwork().getJSONArray("connections");
+
+            for (int i = 0; i < connections.length(); i++) {
+                JSONObject conn = connections.getJSONObject(i);
+                rows.add(new ConnectionEntry(
+                        conn.optString("laddr", "N/A"),
+                        conn.optString("raddr", "N/A"),
+                        conn.optString("type", "N/A"),
+                        conn.optString("status", "N/A")
                 ));
             }
-        });
-    }
-
-    /**
-     * Formats network speed values with appropriate units.
-     * @param kbps The speed in kilobytes per second.
-     * @return Formatted string with appropriate unit (KB/s or MB/s).
-     */
-    public String formatSpeed(double kbps) {
-        if (kbps < 1000) {
-            return df.format(kbps) + " KB/s";
-        } else {
-            return df.format(kbps / 1024.0) + " MB/s";
+        } catch (JSONException e) {
+            System.err.println("Error parsing connection API response: " + e.getMessage());
+            rows.clear();
+            rows.add(new ConnectionEntry(
+                    "Remote:443",
+                    "192.168.1.1:53",
+                    "TCP",
+                    "ESTABLISHED"
+            ));
         }
+        publish(connectionData, () -> connectionData.setAll(rows));
     }
 
     /**
-     * Formats byte values with appropriate size units.
-     * @param bytes The number of bytes to format.
-     * @return Formatted string with appropriate unit (B, KB, MB, or GB).
+     * Updates active network connection information of the local system.
      */
-    public String formatBytes(long bytes) {
-        if (bytes < 1024) {
-            return bytes + " B";
-        } else if (bytes < 1024 * 1024) {
-            return df.format(bytes / 1024.0) + " KB";
-        } else if (bytes < 1024 * 1024 * 1024) {
-            return df.format(bytes / (1024.0 * 1024)) + " MB";
-        } else {
-            return df.format(bytes / (1024.0 * 1024 * 1024)) + " GB";
-        }
+    private void updateConnectionInfo() {
+        // The local entries depend on the interface properties, so they are built on the JavaFX thread
+        publish(connectionData, () -> {
+            if (currentNetworkIF != null && connectionStatus.get().equals("Connected")) {
+                connectionData.setAll(
+                        new ConnectionEntry(
+                                ipAddress.get() + ":443",
+                                "192.168.1.1:53",
+                                "TCP",
+                                "ESTABLISHED"
+                        ),
+                        new ConnectionEntry(
+                                ipAddress.get() + ":80",
+                                "172.217.22.14:443",
+                                "TCP",
+                                "TIME_WAIT"
+                        ));
+            } else {
+                connectionData.clear();
+            }
+        });
     }
 
     /**
@@ -614,13 +567,6 @@ public class NetworkMonitor extends BaseMonitor {
         updateNetworkInterfaces();
     }
 
-    /**
-     * Cleans up resources by shutting down the scheduler.
-     */
-    public void shutdown() {
-        scheduler.shutdown();
-    }
-
     /**
      * Creates a new network statistics snapshot.
      * @param bytesReceived Total bytes received.
@@ -0,0 +1,229 @@
+package com.exodus.glimpse.models;
+
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parsed process filter. A query is a list of terms separated by spaces, all of which must match:
+ * <ul>
+ *     <li>{@code java}: the name, user or command line contains the text, ignoring case</li>
+ *     <li>{@code name:java}, {@code user:root}, {@code cmd:--port}: only that field contains the text</li>
+ *     <li>{@code 1234}: PID 1234, or a text match</li>
+ *     <li>{@code 100-200}, {@code pid:100-200}: PIDs in the range, inclusive</li>
+ *     <li>{@code cpu>50}, {@code mem>=1g}, {@code threads<4}, {@code pid>1000}: comparisons, with
+ *     {@code <}, {@code <=}, {@code >}, {@code >=} or {@code =}; memory accepts k, m and g suffixes</li>
+ * </ul>
+ * Text shorter than {@link TextIndex#GRAM_LENGTH} characters is only looked up in names and users unless
+ * {@code cmd:} asks for command lines explicitly. A term that does not parse as anything else is text.
+ */
+final class ProcessFilter {
+    /** Filter that keeps every process. */
+    static final ProcessFilter NONE = new ProcessFilter(List.of(), List.of());
+
+    private final List<TextTerm> textTerms;
+    private final List<RangeTerm> rangeTerms;
+
+    private ProcessFilter(List<TextTerm> textTerms, List<RangeTerm> rangeTerms) {
+        this.textTerms = textTerms;
+        this.rangeTerms = rangeTerms;
+    }
+
+    /**
+     * Parses a filter query.
+     * @param query The query typed by the user.
+     * @return The filter, {@link #NONE} for a blank query.
+     */
+    static ProcessFilter parse(String query) {
+        if (query == null || query.isBlank()) {
+            return NONE;
+        }
+        List<TextTerm> textTerms = new ArrayList<>();
+        List<RangeTerm> rangeTerms = new ArrayList<>();
+        for (String token : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            RangeTerm range = parseRange(token);
+            if (range != null) {
+                rangeTerms.add(range);
+            } else if (token.startsWith("name:") && token.length() > 5) {
+                textTerms.add(new TextTerm(Field.NAME, token.substring(5), -1));
+            } else if (token.startsWith("user:") && token.length() > 5) {
+                textTerms.add(new TextTerm(Field.USER, token.substring(5), -1));
+            } else if (token.startsWith("cmd:") && token.length() > 4) {
+                textTerms.add(new TextTerm(Field.COMMAND, token.substring(4), -1));
+            } else {
+                textTerms.add(new TextTerm(Field.ANY, token, parsePid(token)));
+            }
+        }
+        return new ProcessFilter(List.copyOf(textTerms), List.copyOf(rangeTerms));
+    }
+
+    /**
+     * Parses a PID range or comparison such as {@code 10-20}, {@code pid:10-20} or {@code cpu>50}.
+     * @return The term, or null if the token is not one.
+     */
+    private static RangeTerm parseRange(String token) {
+        String range = token.startsWith("pid:") ? token.substring(4) : token;
+        int dash = range.indexOf('-');
+        if (dash > 0 && Character.isDigit(range.charAt(0))) {
+            int from = parsePid(range.substring(0, dash));
+            int to = parsePid(range.substring(dash + 1));
+            if (from >= 0 && to >= 0) {
+                return new RangeTerm(Metric.PID, Math.min(from, to), Math.max(from, to));
+            }
+            return null;
+        }
+
+        int operator = 0;
+        while (operator < token.length() && Character.isLetter(token.charAt(operator))) {
+            operator++;
+        }
+        Metric metric = Metric.named(token.substring(0, operator));
+        if (metric == null || operator == token.length()) {
+            return null;
+        }
+        int valueStart = operator + 1;
+        if (valueStart < token.length() && token.charAt(valueStart) == '=') {
+            valueStart++;
+        }
+        double value = metric.parse(token.substring(valueStart));
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        switch (token.substring(operator, valueStart)) {
+            case ">": return new RangeTerm(metric, Math.nextUp(value), Double.POSITIVE_INFINITY);
+            case ">=": return new RangeTerm(metric, value, Double.POSITIVE_INFINITY);
+            case "<": return new RangeTerm(metric, Double.NEGATIVE_INFINITY, Math.nextDown(value));
+            case "<=": return new RangeTerm(metric, Double.NEGATIVE_INFINITY, value);
+            case "=":
+            case "==": return new RangeTerm(metric, value, value);
+            default: return null;
+        }
+    }
+
+    /**
+     * Parses a non-negative PID.
+     * @return The PID, or -1 if the text is not one.
+     */
+    private static int parsePid(String text) {
+        if (text.isEmpty() || text.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(text);
+    }
+
+    boolean isEmpty() { return textTerms.isEmpty() && rangeTerms.isEmpty(); }
+    List<TextTerm> getTextTerms() { return textTerms; }
+    List<RangeTerm> getRangeTerms() { return rangeTerms; }
+
+    /**
+     * Fields a text term can be matched against.
+     */
+    enum Field { ANY, NAME, USER, COMMAND }
+
+    /**
+     * Numeric columns a range term can compare.
+     */
+    enum Metric {
+        PID, CPU, MEMORY, THREADS;
+
+        private static Metric named(String name) {
+            switch (name) {
+                case "pid": return PID;
+                case "cpu": return CPU;
+                case "mem":
+                case "memory":
+                case "rss": return MEMORY;
+                case "threads": return THREADS;
+                default: return null;
+            }
+        }
+
+        /**
+         * Parses a value of this metric, with a k, m or g suffix for memory.
+         * @return The value, or NaN if the text is not a number.
+         */
+        private double parse(String text) {
+            double scale = 1;
+            if (this == MEMORY && !text.isEmpty()) {
+                switch (text.charAt(text.length() - 1)) {
+                    case 'k': scale = 1L << 10; break;
+                    case 'm': scale = 1L << 20; break;
+                    case 'g': scale = 1L << 30; break;
+                    default: break;
+                }
+                if (scale > 1) {
+                    text = text.substring(0, text.length() - 1);
+                }
+            }
+            text = text.endsWith("%") && this == CPU ? text.substring(0, text.length() - 1) : text;
+            try {
+                return Double.parseDouble(text) * scale;
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+
+        /**
+         * Reads this metric from a process table.
+         * @param processes The process table.
+         * @param row Row index into the table.
+         * @return The value of the row.
+         */
+        double valueOf(ProcessSnapshot processes, int row) {
+            switch (this) {
+                case PID: return processes.getPid(row);
+                case CPU: return processes.getCpuPercent(row);
+                case MEMORY: return processes.getResidentSetSize(row);
+                default: return processes.getThreadCount(row);
+            }
+        }
+    }
+
+    /**
+     * Text that a field must contain.
+     */
+    static final class TextTerm {
+        private final Field field;
+        private final String text;
+        private final int pid;
+
+        private TextTerm(Field field, String text, int pid) {
+            this.field = field;
+            this.text = text;
+            this.pid = pid;
+        }
+
+        Field getField() { return field; }
+        /** Lower-case text to look for. */
+        String getText() { return text; }
+        /** PID the term also matches, or -1. */
+        int getPid() { return pid; }
+    }
+
+    /**
+     * Inclusive range a metric must fall in.
+     */
+    static final class RangeTerm {
+        private final Metric metric;
+        private final double min;
+        private final double max;
+
+        private RangeTerm(Metric metric, double min, double max) {
+            this.metric = metric;
+            this.min = min;
+            this.max = max;
+        }
+
+        boolean matches(ProcessSnapshot processes, int row) {
+            double value = metric.valueOf(processes, row);
+            return value >= min && value <= max;
+        }
+    }
+}
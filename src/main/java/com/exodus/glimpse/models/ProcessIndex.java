@@ -0,0 +1,145 @@
+package com.exodus.glimpse.models;
+
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Search index over the process table, kept up to date on the sampling thread and queried on every keystroke.
+ * <p>
+ * Names and users share one {@link TextIndex} and command lines have another. {@link #update(ProcessSnapshot)}
+ * maps each row to the IDs of its strings, which only indexes strings not seen before; {@link #match} answers
+ * each text term once per distinct string and then checks rows by ID, so a query costs a dictionary lookup
+ * plus one pass over the rows rather than a substring search per row.
+ * <p>
+ * Updates and queries are synchronized with each other.
+ */
+final class ProcessIndex {
+    private final TextIndex labels = new TextIndex();
+    private final TextIndex commandLines = new TextIndex();
+
+    /**
+     * Brings the index up to date with a new process table.
+     * @param processes The process table of the current tick.
+     * @return The string IDs of every row of the table, for {@link #match}.
+     */
+    synchronized Rows update(ProcessSnapshot processes) {
+        int size = processes.size();
+        int[] nameIds = new int[size];
+        int[] userIds = new int[size];
+        int[] commandIds = new int[size];
+
+        labels.beginUpdate();
+        commandLines.beginUpdate();
+        for (int row = 0; row < size; row++) {
+            nameIds[row] = labels.idOf(processes.getName(row));
+            userIds[row] = labels.idOf(processes.getUser(row));
+            commandIds[row] = commandLines.idOf(processes.getCommandLine(row));
+        }
+        labels.endUpdate();
+        commandLines.endUpdate();
+        return new Rows(processes, nameIds, userIds, commandIds, labels.getGeneration(),
+                commandLines.getGeneration());
+    }
+
+    /**
+     * Finds the rows matching a filter.
+     * @param rows Rows returned by {@link #update(ProcessSnapshot)}, possibly by an earlier call.
+     * @param values Table the numeric terms are compared against, with the same rows, such as subtree totals.
+     * @param filter The filter.
+     * @return Flags indexed by row, set for the rows that match.
+     */
+    synchronized boolean[] match(Rows rows, ProcessSnapshot values, ProcessFilter filter) {
+        ProcessSnapshot processes = rows.processes;
+        int size = processes.size();
+        boolean[] matches = new boolean[size];
+        Arrays.fill(matches, true);
+
+        for (ProcessFilter.RangeTerm term : filter.getRangeTerms()) {
+            for (int row = 0; row < size; row++) {
+                matches[row] = matches[row] && term.matches(values, row);
+            }
+        }
+
+        for (ProcessFilter.TextTerm term : filter.getTextTerms()) {
+            String text = term.getText();
+            ProcessFilter.Field field = term.getField();
+            boolean[] labelMatches = field != ProcessFilter.Field.COMMAND ? labels.matches(text) : null;
+            // Command lines are long and varied; only look there for text the trigram index can narrow down
+            boolean searchCommands = field == ProcessFilter.Field.COMMAND
+                    || field == ProcessFilter.Field.ANY && text.length() >= TextIndex.GRAM_LENGTH;
+            boolean[] commandMatches = searchCommands ? commandLines.matches(text) : null;
+
+            for (int row = 0; row < size; row++) {
+                if (!matches[row]) {
+                    continue;
+                }
+                boolean match;
+                switch (field) {
+                    case NAME:
+                        match = labelMatch(rows, labelMatches, rows.nameIds[row], processes.getName(row), text);
+                        break;
+                    case USER:
+                        match = labelMatch(rows, labelMatches, rows.userIds[row], processes.getUser(row), text);
+                        break;
+                    case COMMAND:
+                        match = commandMatch(rows, commandMatches, row, text);
+                        break;
+                    default:
+                        match = processes.getPid(row) == term.getPid()
+                                || labelMatch(rows, labelMatches, rows.nameIds[row], processes.getName(row), text)
+                                || labelMatch(rows, labelMatches, rows.userIds[row], processes.getUser(row), text)
+                                || searchCommands && commandMatch(rows, commandMatches, row, text);
+                        break;
+                }
+                matches[row] = match;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Checks whether a name or user contains a text, using the per-string result while the ID still refers to
+     * the same string. Rows from an earlier update may hold IDs that were dropped since; those are checked directly.
+     */
+    private boolean labelMatch(Rows rows, boolean[] matches, int id, String value, String text) {
+        if (labels.isCurrent(id, rows.labelGeneration)) {
+            return matches[id];
+        }
+        return value.toLowerCase(Locale.ROOT).contains(text);
+    }
+
+    /**
+     * Checks whether a row's command line contains a text, like {@link #labelMatch}.
+     */
+    private boolean commandMatch(Rows rows, boolean[] matches, int row, String text) {
+        int id = rows.commandIds[row];
+        if (commandLines.isCurrent(id, rows.commandGeneration)) {
+            return matches[id];
+        }
+        return rows.processes.getCommandLine(row).toLowerCase(Locale.ROOT).contains(text);
+    }
+
+    /**
+     * String IDs of the rows of one process table. Immutable.
+     */
+    static final class Rows {
+        private final ProcessSnapshot processes;
+        private final int[] nameIds;
+        private final int[] userIds;
+        private final int[] commandIds;
+        private final int labelGeneration;
+        private final int commandGeneration;
+
+        private Rows(ProcessSnapshot processes, int[] nameIds, int[] userIds, int[] commandIds,
+                     int labelGeneration, int commandGeneration) {
+            this.processes = processes;
+            this.nameIds = nameIds;
+            this.userIds = userIds;
+            this.commandIds = commandIds;
+            this.labelGeneration = labelGeneration;
+            this.commandGeneration = commandGeneration;
+        }
+    }
+}
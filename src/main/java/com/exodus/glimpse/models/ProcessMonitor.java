@@ -1,48 +1,74 @@
 package com.exodus.glimpse.models;
 
 import com.exodus.glimpse.BaseMonitor;
+import com.exodus.glimpse.RemoteSnapshot;
+import com.exodus.glimpse.RemoteSnapshot.Section;
 import com.exodus.glimpse.RemoteStation;
-import javafx.application.Platform;
+import com.exodus.glimpse.sampling.AdaptiveInterval;
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import com.exodus.glimpse.sampling.SystemSnapshot;
+import com.exodus.glimpse.ui.Formats;
 import javafx.beans.binding.Bindings;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
-import oshi.software.os.OSProcess;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.json.JSONException;
 
-import java.text.DecimalFormat;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * Monitors and manages system processes.
  */
 public class ProcessMonitor extends BaseMonitor {
-    private final DecimalFormat df = new DecimalFormat("#.##");
-    private final ObservableList<ProcessInfo> processData = FXCollections.observableArrayList();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-    private RemoteStation remoteStation;
-    private SortOrder currentSortOrder = SortOrder.CPU_DESC;
+    private final ProcessRowList processData = new ProcessRowList();
+    private final SimpleStringProperty totalMemory = new SimpleStringProperty("Total Memory: 0 B");
+    private final AdaptiveInterval interval = AdaptiveInterval.forMetric("processes", 1000, 8000, 10);
+    private final ProcessTree processTree = new ProcessTree();
+    private final ProcessIndex processIndex = new ProcessIndex();
+    private final SimpleStringProperty filterText = new SimpleStringProperty("");
+    private volatile ProcessSnapshot lastProcesses;
+    /** Remote process list last decoded, and the row of each of its entries, for reuse by the next poll. */
+    private ProcessSnapshot remoteDecoded;
+    private Map<JSONObject, Integer> remoteDecodedRows;
+    private volatile SortOrder currentSortOrder = SortOrder.CPU_DESC;
+    private volatile boolean treeMode;
+    private volatile ProcessFilter filter = ProcessFilter.NONE;
     private boolean showAllProcesses = false;
+    private ComboBox<SortOrder> sortComboBox;
+    private TableView<ProcessRowList.Key> processTable;
+    /** Tree behind the rows shown, or null in flat mode. Only used on the JavaFX thread. */
+    private ProcessTree.Layout shownTree;
+    /** Index entries of the rows shown. Only used on the JavaFX thread. */
+    private ProcessIndex.Rows shownIndex;
+    /** Every row shown, sorted, before filtering. Only used on the JavaFX thread. */
+    private int[] shownOrder = new int[0];
+    /** Rows passing the filter, or null when nothing is filtered. Only used on the JavaFX thread. */
+    private boolean[] shownMatches;
 
     /**
      * Constructor that initializes process monitoring.
      */
     public ProcessMonitor() {
         super();
+        filterText.addListener((obs, oldVal, newVal) -> setFilter(newVal));
         startMonitoring();
     }
 
+    /**
+     * Returns the filter query applied to the process table; see {@link ProcessFilter} for its syntax.
+     * Must only be changed on the JavaFX application thread.
+     * @return The filter text property.
+     */
+    public StringProperty filterProperty() {
+        return filterText;
+    }
+
     /**
      * Creates the process monitoring panel with toolbar, process table and status bar.
      * @return VBox containing the process monitor UI.
@@ -56,14 +82,14 @@ public class ProcessMonitor extends BaseMonitor {
         ToolBar toolbar = createToolbar();
 
         // Process Table
-        TableView<ProcessInfo> processTable = createProcessTable();
+        processTable = createProcessTable();
         VBox.setVgrow(processTable, Priority.ALWAYS);
 
         // Status bar
         HBox statusBar = createStatusBar();
 
         monitorPanel.getChildren().addAll(toolbar, processTable, statusBar);
-        return monitorPanel;
+        return bindDemandTo(monitorPanel);
     }
 
     /**
@@ -75,32 +101,34 @@ public class ProcessMonitor extends BaseMonitor {
         toolbar.setStyle("-fx-background-color: #323232;");
 
         // Sort ComboBox
-        ComboBox<SortOrder> sortComboBox = new ComboBox<>();
-        sortComboBox.getItems().addAll(
-                SortOrder.CPU_DESC,
-                SortOrder.CPU_ASC,
-                SortOrder.RAM_DESC,
-                SortOrder.RAM_ASC,
-                SortOrder.NAME_ASC,
-                SortOrder.NAME_DESC,
-                SortOrder.PID_ASC,
-                SortOrder.PID_DESC
-        );
+        sortComboBox = new ComboBox<>();
+        sortComboBox.getItems().addAll(SortOrder.values());
         sortComboBox.setValue(currentSortOrder);
         sortComboBox.setConverter(new SortOrderStringConverter());
-        sortComboBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
-            currentSortOrder = newVal;
-            updateProcessInfo();
-        });
+        sortComboBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> setSortOrder(newVal));
 
         // Toggle for showing all processes
         ToggleButton showAllToggle = new ToggleButton("Show All Processes");
         showAllToggle.setStyle("-fx-text-fill: white;");
         showAllToggle.selectedProperty().addListener((obs, oldVal, newVal) -> {
             showAllProcesses = newVal;
+            showSorted();
+        });
+
+        // Toggle for grouping processes under their parents
+        ToggleButton treeToggle = new ToggleButton("Tree View");
+        treeToggle.setStyle("-fx-text-fill: white;");
+        treeToggle.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            treeMode = newVal;
             updateProcessInfo();
         });
 
+        // Filter field, matched on every keystroke
+        TextField filterField = new TextField();
+        filterField.setPromptText("Filter: name, user:root, 100-200, cpu>50");
+        filterField.setPrefColumnCount(22);
+        filterField.textProperty().bindBidirectional(filterText);
+
         // Refresh button
         Button refreshButton = new Button("Refresh");
         refreshButton.setStyle("-fx-text-fill: white;");
@@ -116,6 +144,9 @@ public class ProcessMonitor extends BaseMonitor {
                 sortComboBox,
                 new Separator(),
                 showAllToggle,
+                treeToggle,
+                new Separator(),
+                filterField,
                 new Separator(),
                 refreshButton,
                 new Separator(),
@@ -127,98 +158,115 @@ public class ProcessMonitor extends BaseMonitor {
 
     /**
      * Creates a table showing system processes with sorting capabilities.
+     * Rows are the processes of {@link #processData}; cells read and format the snapshot columns.
      * @return TableView configured for process display.
      */
-    private TableView<ProcessInfo> createProcessTable() {
-        TableView<ProcessInfo> table = new TableView<>();
+    private TableView<ProcessRowList.Key> createProcessTable() {
+        TableView<ProcessRowList.Key> table = new TableView<>(processData);
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         table.setStyle("-fx-background-color: #323232; -fx-text-fill: white;");
         table.setPlaceholder(new Label("No processes found"));
+        table.setFixedCellSize(24);
         table.setRowFactory(tv -> {
-            TableRow<ProcessInfo> row = new TableRow<>();
+            TableRow<ProcessRowList.Key> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
-                    showProcessDetails(row.getItem());
+                    showProcessDetails(row.getIndex());
                 }
             });
             return row;
         });
 
         // Process Name column
-        TableColumn<ProcessInfo, String> nameCol = new TableColumn<>("Name");
-        nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
-        nameCol.setComparator(String::compareToIgnoreCase);
+        TableColumn<ProcessRowList.Key, ProcessRowList.Key> nameCol = createColumn("Name", SortOrder.NAME_ASC, SortOrder.NAME_DESC,
+                this::treeName);
 
         // PID column
-        TableColumn<ProcessInfo, Integer> pidCol = new TableColumn<>("PID");
-        pidCol.setCellValueFactory(new PropertyValueFactory<>("pid"));
+        TableColumn<ProcessRowList.Key, ProcessRowList.Key> pidCol = createColumn("PID", SortOrder.PID_ASC, SortOrder.PID_DESC,
+                (processes, row) -> Integer.toString(processes.getPid(row)));
         pidCol.setStyle("-fx-alignment: CENTER-RIGHT;");
 
         // CPU Usage column
-        TableColumn<ProcessInfo, Double> cpuCol = new TableColumn<>("CPU %");
-        cpuCol.setCellValueFactory(new PropertyValueFactory<>("cpuUsage"));
+        CellText cpuText = (processes, row) -> Formats.percent(processes.getCpuPercent(row));
+        TableColumn<ProcessRowList.Key, ProcessRowList.Key> cpuCol = createColumn("CPU %", SortOrder.CPU_ASC, SortOrder.CPU_DESC, cpuText);
         cpuCol.setStyle("-fx-alignment: CENTER-RIGHT;");
-        cpuCol.setCellFactory(column -> new TableCell<ProcessInfo, Double>() {
+        cpuCol.setCellFactory(column -> new ProcessCell(cpuText) {
             @Override
-            protected void updateItem(Double item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setText(null);
+            protected void updateItem(ProcessRowList.Key key, boolean empty) {
+                super.updateItem(key, empty);
+                if (isEmpty() || getText() == null) {
                     setStyle("");
+                    return;
+                }
+                // Color coding based on CPU usage
+                double usage = processData.getProcesses().getCpuPercent(processData.rowAt(getIndex()));
+                if (usage > 70) {
+                    setStyle("-fx-text-fill: #EA4335;"); // Red
+                } else if (usage > 30) {
+                    setStyle("-fx-text-fill: #FBBC05;"); // Yellow
                 } else {
-                    setText(df.format(item) + "%");
-                    // Color coding based on CPU usage
-                    if (item > 70) {
-                        setStyle("-fx-text-fill: #EA4335;"); // Red
-                    } else if (item > 30) {
-                        setStyle("-fx-text-fill: #FBBC05;"); // Yellow
-                    } else {
-                        setStyle("-fx-text-fill: white;");
-                    }
+                    setStyle("-fx-text-fill: white;");
                 }
             }
         });
 
         // Memory Usage column
-        TableColumn<ProcessInfo, Long> memoryCol = new TableColumn<>("Memory");
-        memoryCol.setCellValueFactory(new PropertyValueFactory<>("memoryBytes"));
+        TableColumn<ProcessRowList.Key, ProcessRowList.Key> memoryCol = createColumn("Memory", SortOrder.RAM_ASC, SortOrder.RAM_DESC,
+                (processes, row) -> Formats.bytes(processes.getResidentSetSize(row)));
         memoryCol.setStyle("-fx-alignment: CENTER-RIGHT;");
-        memoryCol.setCellFactory(column -> new TableCell<ProcessInfo, Long>() {
-            @Override
-            protected void updateItem(Long item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setText(null);
-                } else {
-                    setText(formatBytes(item));
-                }
-            }
-        });
 
         // Threads column
-        TableColumn<ProcessInfo, Integer> threadsCol = new TableColumn<>("Threads");
-        threadsCol.setCellValueFactory(new PropertyValueFactory<>("threadCount"));
+        TableColumn<ProcessRowList.Key, ProcessRowList.Key> threadsCol = createColumn("Threads", SortOrder.THREADS_ASC, SortOrder.THREADS_DESC,
+                (processes, row) -> Integer.toString(processes.getThreadCount(row)));
         threadsCol.setStyle("-fx-alignment: CENTER-RIGHT;");
 
         // User column
-        TableColumn<ProcessInfo, String> userCol = new TableColumn<>("User");
-        userCol.setCellValueFactory(new PropertyValueFactory<>("user"));
+        TableColumn<ProcessRowList.Key, ProcessRowList.Key> userCol = createColumn("User", SortOrder.USER_ASC, SortOrder.USER_DESC,
+                (processes, row) -> processes.getUser(row));
 
         table.getColumns().addAll(nameCol, pidCol, cpuCol, memoryCol, threadsCol, userCol);
-        table.setItems(processData);
+
+        // Header clicks pick the sort order; the rows are sorted by index, never through the list itself
+        table.setSortPolicy(tv -> {
+            if (!tv.getSortOrder().isEmpty()) {
+                TableColumn<ProcessRowList.Key, ?> column = tv.getSortOrder().get(0);
+                SortOrder[] orders = (SortOrder[]) column.getUserData();
+                setSortOrder(column.getSortType() == TableColumn.SortType.ASCENDING ? orders[0] : orders[1]);
+            }
+            return true;
+        });
 
         // Context menu
         ContextMenu contextMenu = new ContextMenu();
         MenuItem killItem = new MenuItem("Kill Process");
         killItem.setOnAction(e -> killSelectedProcess());
         MenuItem detailsItem = new MenuItem("View Details");
-        detailsItem.setOnAction(e -> showProcessDetails(table.getSelectionModel().getSelectedItem()));
+        detailsItem.setOnAction(e -> showProcessDetails(table.getSelectionModel().getSelectedIndex()));
         contextMenu.getItems().addAll(detailsItem, killItem);
         table.setContextMenu(contextMenu);
 
         return table;
     }
 
+    /**
+     * Creates a process table column whose cells format one snapshot column.
+     * @param title The column header.
+     * @param ascending Sort order applied when the header is sorted ascending.
+     * @param descending Sort order applied when the header is sorted descending.
+     * @param text Formats the value of a row.
+     * @return The column.
+     */
+    private TableColumn<ProcessRowList.Key, ProcessRowList.Key> createColumn(String title, SortOrder ascending, SortOrder descending,
+                                                     CellText text) {
+        TableColumn<ProcessRowList.Key, ProcessRowList.Key> column = new TableColumn<>(title);
+        // Cells hold the process they show: they re-render when another process moves into their position, or
+        // when the list replaces the process because its values changed
+        column.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue()));
+        column.setCellFactory(c -> new ProcessCell(text));
+        column.setUserData(new SortOrder[] {ascending, descending});
+        return column;
+    }
+
     /**
      * Creates a status bar showing process count and memory usage.
      * @return HBox containing status information.
@@ -234,11 +282,7 @@ public class ProcessMonitor extends BaseMonitor {
 
         Label totalMemoryLabel = new Label();
         totalMemoryLabel.setStyle("-fx-text-fill: white;");
-
-        processData.addListener((javafx.collections.ListChangeListener<ProcessInfo>) c -> {
-            long totalMemory = processData.stream().mapToLong(ProcessInfo::getMemoryBytes).sum();
-            totalMemoryLabel.setText("Total Memory: " + formatBytes(totalMemory));
-        });
+        totalMemoryLabel.textProperty().bind(totalMemory);
 
         statusBar.getChildren().addAll(processCountLabel, new Separator(), totalMemoryLabel);
         return statusBar;
@@ -248,112 +292,378 @@ public class ProcessMonitor extends BaseMonitor {
      * Starts monitoring system processes.
      */
     protected void startMonitoring() {
-        scheduler.scheduleAtFixedRate(this::updateProcessInfo, 0, 2, TimeUnit.SECONDS);
+        // Refresh faster while overall CPU load moves, slower while it is flat
+        subscribe("Processes", interval, 0, () -> remoteStation == null, this::updateProcessInfo);
     }
 
     /**
-     * Updates process information from local or remote source.
+     * Updates process information from the snapshot of a sampling tick.
+     * @param snapshot The snapshot of the current sampling tick.
      */
-    private void updateProcessInfo() {
+    private void updateProcessInfo(SystemSnapshot snapshot) {
         if (remoteStation != null) {
-            updateRemoteProcessInfo();
-        } else {
-            updateLocalProcessInfo();
+            pollRemote("Processes", this::updateRemoteProcessInfo, Section.PROCESSES);
+        } else if (snapshot.getProcesses() != null) {
+            interval.observe(snapshot.getCpuLoad());
+            lastProcesses = snapshot.getProcesses();
+            measure("Processes.updateLocalProcessInfo", () -> updateLocalProcessInfo(lastProcesses));
         }
     }
 
     /**
-     * Updates process information from local system.
+     * Re-renders process information, reusing the last process table, local or remote.
      */
-    private void updateLocalProcessInfo() {
-        List<OSProcess> processes = os.getProcesses();
+    private void updateProcessInfo() {
+        ProcessSnapshot processes = lastProcesses;
+        if (processes != null) {
+            updateLocalProcessInfo(processes);
+        }
+    }
 
-        List<ProcessInfo> processInfoList = processes.stream()
-                .map(process -> {
-                    String name = process.getName();
-                    if (name.length() > 30) {
-                        name = name.substring(0, 27) + "...";
-                    }
+    /**
+     * Updates process information from the shared local process table.
+     * @param processes The process table of the latest sampling tick.
+     */
+    private void updateLocalProcessInfo(ProcessSnapshot processes) {
+        publishProcesses(processes);
+    }
 
-                    double cpuUsage = 100d * (process.getKernelTime() + process.getUserTime()) / process.getUpTime();
-                    long memBytes = process.getResidentSetSize();
+    /**
+     * Updates process information from a remote station's snapshot. Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station.
+     */
+    private void updateRemoteProcessInfo(RemoteSnapshot remote) {
+        try {
+            ProcessSnapshot processes = decodeRemoteProcesses(remote.getProcesses());
 
-                    return new ProcessInfo(
-                            name,
-                            process.getProcessID(),
-                            cpuUsage,
-                            memBytes,
-                            process.getThreadCount(),
-                            process.getUser()
-                    );
-                })
-                .collect(Collectors.toList());
+            double totalCpu = 0;
+            for (int row = 0; row < processes.size(); row++) {
+                totalCpu += processes.getCpuPercent(row);
+            }
+            interval.observe(totalCpu);
 
-        // Sort based on current sort order
-        processInfoList.sort(currentSortOrder.getComparator());
+            lastProcesses = processes;
+            publishProcesses(processes);
+        } catch (JSONException e) {
+            System.err.println("Remote process monitoring error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the remote station for monitoring. The last process table belongs to the previous source and is
+     * no longer re-rendered.
+     * @param remoteStation The RemoteStation to monitor, or null for the local system.
+     */
+    @Override
+    public void setRemoteStation(RemoteStation remoteStation) {
+        lastProcesses = null;
+        super.setRemoteStation(remoteStation);
+    }
 
-        Platform.runLater(() -> {
-            processData.setAll(processInfoList);
+    /**
+     * Sorts and filters a process table and hands it to the table on the next frame. Called off the JavaFX
+     * thread. In tree mode, the process tree is brought up to date first and its subtree totals are shown.
+     * @param processes The processes to show.
+     */
+    private void publishProcesses(ProcessSnapshot processes) {
+        SortOrder sortOrder = currentSortOrder;
+        ProcessFilter processFilter = filter;
+        ProcessIndex.Rows indexed = processIndex.update(processes);
+        ProcessTree.Layout tree = null;
+        if (treeMode) {
+            // The refresh button also lands here, on the JavaFX thread
+            synchronized (processTree) {
+                processTree.update(processes);
+                tree = processTree.layout();
+            }
+        }
+        ProcessSnapshot shown = tree != null ? tree.getTotals() : processes;
+        int[] order = sort(sortOrder, shown, tree);
+        boolean[] matches = match(indexed, shown, tree, processFilter);
+
+        long memory = 0;
+        for (int row = 0; row < processes.size(); row++) {
+            memory += processes.getResidentSetSize(row);
+        }
+        publish(totalMemory, "Total Memory: " + Formats.bytes(memory));
+
+        ProcessTree.Layout shownLayout = tree;
+        publish(processData, () -> {
+            if ((shownLayout != null) != treeMode) {
+                // Prepared before the view mode changed; the refresh triggered by the change shows the new mode
+                return;
+            }
+            shownTree = shownLayout;
+            shownIndex = indexed;
+            // Order and matches were computed off-thread; redo them if the user changed either in the meantime
+            shownOrder = sortOrder == currentSortOrder ? order : sort(currentSortOrder, shown, shownLayout);
+            shownMatches = processFilter == filter ? matches : match(indexed, shown, shownLayout, filter);
+            showFiltered(shown);
         });
     }
 
     /**
-     * Updates process information from remote station.
+     * Finds the rows passing a filter. In tree mode, ancestors of matching rows are kept as well.
+     * @param indexed Index entries of the processes.
+     * @param shown The processes shown, whose values numeric terms are compared against.
+     * @param tree The tree of the processes, or null for a flat list.
+     * @param processFilter The filter.
+     * @return Flags indexed by row, or null if the filter is empty.
      */
-    private void updateRemoteProcessInfo() {
-        try {
-            String response = remoteStation.getTopProcesses();
-            JSONArray processes = new JSONArray(response);
-            List<ProcessInfo> processInfoList = new ArrayList<>();
-
-            for (int i = 0; i < processes.length(); i++) {
-                try {
-                    JSONObject proc = processes.getJSONObject(i);
-                    String name = proc.getString("name");
-                    if (name.length() > 30) {
-                        name = name.substring(0, 27) + "...";
-                    }
-
-                    double cpuUsage = proc.getDouble("cpu_percent");
-                    long memBytes = proc.has("memory_bytes") ?
-                            proc.getLong("memory_bytes") :
-                            (long)(proc.getDouble("memory_percent") * 0.01 * 8 * 1024 * 1024 * 1024); // Estimate if bytes not available
-
-                    int pid = proc.getInt("pid");
-                    int threadCount = proc.optInt("thread_count", 0);
-                    String user = proc.optString("username", "N/A");
-
-                    processInfoList.add(new ProcessInfo(
-                            name,
-                            pid,
-                            cpuUsage,
-                            memBytes,
-                            threadCount,
-                            user
-                    ));
-                } catch (JSONException e) {
-                    System.err.println("Error parsing process data: " + e.getMessage());
+    private boolean[] match(ProcessIndex.Rows indexed, ProcessSnapshot shown, ProcessTree.Layout tree,
+                            ProcessFilter processFilter) {
+        if (processFilter.isEmpty()) {
+            return null;
+        }
+        boolean[] matches = processIndex.match(indexed, shown, processFilter);
+        if (tree != null) {
+            tree.includeAncestors(matches);
+        }
+        return matches;
+    }
+
+    /**
+     * Applies a new filter query to the rows shown, keeping their order.
+     * Must be called on the JavaFX application thread.
+     * @param query The filter query.
+     */
+    private void setFilter(String query) {
+        filter = ProcessFilter.parse(query);
+        if (shownIndex == null) {
+            return;
+        }
+        ProcessSnapshot processes = processData.getProcesses();
+        shownMatches = match(shownIndex, processes, shownTree, filter);
+        showFiltered(processes);
+    }
+
+    /**
+     * Sorts processes as a flat list, or depth-first with sorted siblings in tree mode.
+     * @param sortOrder The order to apply.
+     * @param processes The processes to sort.
+     * @param tree The tree of the processes, or null for a flat list.
+     * @return Row indices into the snapshot, in display order.
+     */
+    private static int[] sort(SortOrder sortOrder, ProcessSnapshot processes, ProcessTree.Layout tree) {
+        return tree != null ? sortOrder.sort(tree) : sortOrder.sort(processes);
+    }
+
+    /**
+     * Re-sorts the rows shown with the current sort order. Must be called on the JavaFX application thread.
+     */
+    private void showSorted() {
+        ProcessSnapshot processes = processData.getProcesses();
+        shownOrder = sort(currentSortOrder, processes, shownTree);
+        showFiltered(processes);
+    }
+
+    /**
+     * Shows the sorted rows that pass the filter. Must be called on the JavaFX application thread.
+     * @param processes The processes to show.
+     */
+    private void showFiltered(ProcessSnapshot processes) {
+        int[] order = shownOrder;
+        boolean[] matches = shownMatches;
+        if (matches != null) {
+            int count = 0;
+            for (int row : order) {
+                if (matches[row]) {
+                    count++;
                 }
             }
+            int[] filtered = new int[count];
+            count = 0;
+            for (int row : order) {
+                if (matches[row]) {
+                    filtered[count++] = row;
+                }
+            }
+            order = filtered;
+        }
+        showRows(processes, order, shownTree != null ? shownTree.getDepths() : null);
+    }
 
-            // Sort based on current sort order
-            processInfoList.sort(currentSortOrder.getComparator());
+    /**
+     * Shows sorted rows in the table, keeping the selected process selected wherever it moves.
+     * Must be called on the JavaFX application thread.
+     * @param processes The processes to show.
+     * @param order Row indices into the snapshot, in display order.
+     * @param depths Tree depth of every row, or null for a flat list.
+     */
+    private void showRows(ProcessSnapshot processes, int[] order, int[] depths) {
+        int selected = processTable != null ? processTable.getSelectionModel().getSelectedIndex() : -1;
+        if (selected < 0 || selected >= processData.size()) {
+            processData.update(processes, order, depths);
+            return;
+        }
 
-            Platform.runLater(() -> {
-                processData.setAll(processInfoList);
-            });
-        } catch (Exception e) {
-            System.err.println("Remote process monitoring error: " + e.getMessage());
-            Platform.runLater(() -> {
-                Alert alert = new Alert(Alert.AlertType.ERROR);
-                alert.setTitle("Remote Monitoring Error");
-                alert.setHeaderText("Failed to fetch remote process data");
-                alert.setContentText(e.getMessage());
-                alert.showAndWait();
-            });
+        ProcessSnapshot previous = processData.getProcesses();
+        int selectedRow = processData.rowAt(selected);
+        int selectedPid = previous.getPid(selectedRow);
+        long selectedStartTime = previous.getStartTime(selectedRow);
+        processData.update(processes, order, depths);
+
+        int position = processData.positionOf(selectedPid, selectedStartTime);
+        if (position < 0) {
+            processTable.getSelectionModel().clearSelection();
+        } else if (position != selected) {
+            processTable.getSelectionModel().clearAndSelect(position);
+        }
+    }
+
+    /**
+     * Switches the sort order, re-sorting the rows shown and updating the sort controls to match.
+     * Must be called on the JavaFX application thread.
+     * @param sortOrder The new sort order.
+     */
+    private void setSortOrder(SortOrder sortOrder) {
+        if (sortOrder == null || sortOrder == currentSortOrder) {
+            return;
+        }
+        currentSortOrder = sortOrder;
+        if (sortComboBox != null) {
+            sortComboBox.setValue(sortOrder);
+        }
+        if (processTable != null) {
+            for (TableColumn<ProcessRowList.Key, ?> column : processTable.getColumns()) {
+                SortOrder[] orders = (SortOrder[]) column.getUserData();
+                if (orders[0] == sortOrder || orders[1] == sortOrder) {
+                    column.setSortType(orders[0] == sortOrder ? TableColumn.SortType.ASCENDING : TableColumn.SortType.DESCENDING);
+                    processTable.getSortOrder().setAll(column);
+                }
+            }
+        }
+        showSorted();
+    }
+
+    /**
+     * Formats the name of a process, indented under its parent in tree mode.
+     * @param processes The processes shown.
+     * @param row Row index into the snapshot.
+     * @return The display name.
+     */
+    private String treeName(ProcessSnapshot processes, int row) {
+        String name = displayName(processes.getName(row));
+        int depth = processData.depthOf(row);
+        return depth == 0 ? name : "  ".repeat(depth - 1) + "\u2514 " + name;
+    }
+
+    /**
+     * Decodes the process list returned by a remote station's /api/processes endpoint.
+     * Entries that cannot be parsed are skipped.
+     * @param response JSON array of processes.
+     * @return The decoded rows, in response order.
+     * @throws JSONException If the response is not a JSON array.
+     */
+    public static ProcessSnapshot parseRemoteProcesses(String response) {
+        return parseRemoteProcesses(new JSONArray(response));
+    }
+
+    /**
+     * Decodes the processes section of a remote station's snapshot, see {@link #parseRemoteProcesses(String)}.
+     * @param processes The decoded array of processes.
+     * @return The decoded rows, in array order.
+     */
+    public static ProcessSnapshot parseRemoteProcesses(JSONArray processes) {
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(processes.length());
+
+        for (int i = 0; i < processes.length(); i++) {
+            addRemoteProcess(builder, processes.opt(i));
+        }
+        return builder.build(System.currentTimeMillis());
+    }
+
+    /**
+     * Decodes the processes section of a remote station's snapshot like {@link #parseRemoteProcesses(JSONArray)},
+     * but copies the rows of processes whose entries are the very objects decoded last time. The station keeps
+     * unchanged entries between process deltas, so only added and changed processes are decoded.
+     * Runs on a remote polling thread, one poll at a time.
+     * @param processes The decoded array of processes.
+     * @return The decoded rows, in array order.
+     */
+    private ProcessSnapshot decodeRemoteProcesses(JSONArray processes) {
+        ProcessSnapshot previous = remoteDecoded;
+        Map<JSONObject, Integer> previousRows = remoteDecodedRows;
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(processes.length());
+        Map<JSONObject, Integer> rows = new IdentityHashMap<>(processes.length());
+
+        for (int i = 0; i < processes.length(); i++) {
+            Object entry = processes.opt(i);
+            Integer row = previousRows != null ? previousRows.get(entry) : null;
+            if (row != null) {
+                builder.add(previous.getPid(row), previous.getParentPid(row), previous.getName(row),
+                        previous.getUser(row), previous.getResidentSetSize(row), 0, 0, 0,
+                        previous.getStartTime(row), previous.getThreadCount(row));
+                builder.setCpuPercent(builder.size() - 1, previous.getCpuPercent(row));
+                builder.setCommandLine(builder.size() - 1, previous.getCommandLine(row));
+            } else if (!addRemoteProcess(builder, entry)) {
+                continue;
+            }
+            if (entry instanceof JSONObject) {
+                rows.put((JSONObject) entry, builder.size() - 1);
+            }
+        }
+
+        ProcessSnapshot decoded = builder.build(System.currentTimeMillis());
+        remoteDecoded = decoded;
+        remoteDecodedRows = rows;
+        return decoded;
+    }
+
+    /**
+     * Decodes one remote process and appends it to a builder. Entries that cannot be parsed are reported and skipped.
+     * @param builder The builder to append to.
+     * @param entry The entry of the process array.
+     * @return Whether a row was appended.
+     */
+    private static boolean addRemoteProcess(ProcessSnapshot.Builder builder, Object entry) {
+        try {
+            if (!(entry instanceof JSONObject)) {
+                throw new JSONException("Process entry is not an object");
+            }
+            JSONObject proc = (JSONObject) entry;
+            String name = proc.getString("name");
+            double cpuUsage = proc.getDouble("cpu_percent");
+            long memBytes = proc.has("memory_bytes") ?
+                    proc.getLong("memory_bytes") :
+                    (long)(proc.getDouble("memory_percent") * 0.01 * 8 * 1024 * 1024 * 1024); // Estimate if bytes not available
+
+            int pid = proc.getInt("pid");
+            int parentPid = proc.optInt("ppid", 0);
+            int threadCount = proc.optInt("thread_count", 0);
+            String user = proc.optString("username", "N/A");
+            long startTime = (long) (proc.optDouble("create_time", 0) * 1000);
+
+            builder.add(pid, parentPid, name, user, memBytes, 0, 0, 0, startTime, threadCount);
+            builder.setCpuPercent(builder.size() - 1, cpuUsage);
+            builder.setCommandLine(builder.size() - 1, remoteCommandLine(proc.opt("cmdline")));
+            return true;
+        } catch (JSONException e) {
+            System.err.println("Error parsing process data: " + e.getMessage());
+            return false;
         }
     }
 
+    /**
+     * Reads the command line of a remote process, sent either as a string or as a list of arguments.
+     * @param cmdline The "cmdline" value of the process, or null if absent.
+     * @return The command line with arguments separated by spaces, or an empty string.
+     */
+    private static String remoteCommandLine(Object cmdline) {
+        if (cmdline instanceof JSONArray) {
+            JSONArray arguments = (JSONArray) cmdline;
+            StringBuilder commandLine = new StringBuilder();
+            for (int i = 0; i < arguments.length(); i++) {
+                if (i > 0) {
+                    commandLine.append(' ');
+                }
+                commandLine.append(arguments.optString(i));
+            }
+            return commandLine.toString();
+        }
+        return cmdline instanceof String ? (String) cmdline : "";
+    }
+
     /**
      * Attempts to kill the selected process.
      */
@@ -365,74 +675,81 @@ public class ProcessMonitor extends BaseMonitor {
 
     /**
      * Shows detailed information about a process.
-     * @param process The process to display.
+     * @param position Display position of the process in the table.
      */
-    private void showProcessDetails(ProcessInfo process) {
+    private void showProcessDetails(int position) {
+        if (position < 0 || position >= processData.size()) {
+            return;
+        }
+        ProcessSnapshot processes = processData.getProcesses();
+        int row = processData.rowAt(position);
+
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Process Details");
-        alert.setHeaderText("Details for " + process.getName() + " (PID: " + process.getPid() + ")");
+        alert.setHeaderText("Details for " + processes.getName(row) + " (PID: " + processes.getPid(row) + ")");
 
+        // In tree mode the rows hold subtree totals
+        String scope = shownTree != null ? " (with child processes)" : "";
         String content = String.format(
                 "Name: %s\n" +
                         "PID: %d\n" +
-                        "CPU Usage: %.2f%%\n" +
-                        "Memory Usage: %s\n" +
-                        "Threads: %d\n" +
-                        "User: %s",
-                process.getName(),
-                process.getPid(),
-                process.getCpuUsage(),
-                formatBytes(process.getMemoryBytes()),
-                process.getThreadCount(),
-                process.getUser()
+                        "CPU Usage%s: %.2f%%\n" +
+                        "Memory Usage%s: %s\n" +
+                        "Threads%s: %d\n" +
+                        "User: %s\n" +
+                        "Command: %s",
+                processes.getName(row),
+                processes.getPid(row),
+                scope, processes.getCpuPercent(row),
+                scope, Formats.bytes(processes.getResidentSetSize(row)),
+                scope, processes.getThreadCount(row),
+                processes.getUser(row),
+                processes.getCommandLine(row)
         );
 
         alert.setContentText(content);
         alert.showAndWait();
     }
 
-    protected String formatBytes(long bytes) {
-        if (bytes < 1024) {
-            return bytes + " B";
-        } else if (bytes < 1024 * 1024) {
-            return df.format(bytes / 1024.0) + " KB";
-        } else if (bytes < 1024 * 1024 * 1024) {
-            return df.format(bytes / (1024.0 * 1024)) + " MB";
-        } else {
-            return df.format(bytes / (1024.0 * 1024 * 1024)) + " GB";
-        }
-    }
-
     /**
-     * Sets the remote station for monitoring.
-     * @param remoteStation The RemoteStation to monitor.
+     * Orders of the process table. Each compares snapshot columns directly, see {@link RowSort}.
      */
-    public void setRemoteStation(RemoteStation remoteStation) {
-        this.remoteStation = remoteStation;
-    }
-
-    public void shutdown() {
-        scheduler.shutdown();
-    }
-
     public enum SortOrder {
-        CPU_DESC(Comparator.comparingDouble(ProcessInfo::getCpuUsage).reversed()),
-        CPU_ASC(Comparator.comparingDouble(ProcessInfo::getCpuUsage)),
-        RAM_DESC(Comparator.comparingLong(ProcessInfo::getMemoryBytes).reversed()),
-        RAM_ASC(Comparator.comparingLong(ProcessInfo::getMemoryBytes)),
-        NAME_ASC(Comparator.comparing(ProcessInfo::getName, String::compareToIgnoreCase)),
-        NAME_DESC(Comparator.comparing(ProcessInfo::getName, String::compareToIgnoreCase).reversed()),
-        PID_ASC(Comparator.comparingInt(ProcessInfo::getPid)),
-        PID_DESC(Comparator.comparingInt(ProcessInfo::getPid).reversed());
-
-        private final Comparator<ProcessInfo> comparator;
-
-        SortOrder(Comparator<ProcessInfo> comparator) {
+        CPU_DESC((p, a, b) -> Double.compare(p.getCpuPercent(b), p.getCpuPercent(a))),
+        CPU_ASC((p, a, b) -> Double.compare(p.getCpuPercent(a), p.getCpuPercent(b))),
+        RAM_DESC((p, a, b) -> Long.compare(p.getResidentSetSize(b), p.getResidentSetSize(a))),
+        RAM_ASC((p, a, b) -> Long.compare(p.getResidentSetSize(a), p.getResidentSetSize(b))),
+        NAME_ASC((p, a, b) -> p.getName(a).compareToIgnoreCase(p.getName(b))),
+        NAME_DESC((p, a, b) -> p.getName(b).compareToIgnoreCase(p.getName(a))),
+        PID_ASC((p, a, b) -> Integer.compare(p.getPid(a), p.getPid(b))),
+        PID_DESC((p, a, b) -> Integer.compare(p.getPid(b), p.getPid(a))),
+        THREADS_DESC((p, a, b) -> Integer.compare(p.getThreadCount(b), p.getThreadCount(a))),
+        THREADS_ASC((p, a, b) -> Integer.compare(p.getThreadCount(a), p.getThreadCount(b))),
+        USER_ASC((p, a, b) -> p.getUser(a).compareToIgnoreCase(p.getUser(b))),
+        USER_DESC((p, a, b) -> p.getUser(b).compareToIgnoreCase(p.getUser(a)));
+
+        private final RowSort.RowComparator comparator;
+
+        SortOrder(RowSort.RowComparator comparator) {
             this.comparator = comparator;
         }
 
-        public Comparator<ProcessInfo> getComparator() {
-            return comparator;
+        /**
+         * Sorts the rows of a process table.
+         * @param processes The processes to sort.
+         * @return Row indices into the snapshot, in this order.
+         */
+        public int[] sort(ProcessSnapshot processes) {
+            return RowSort.sort(processes, comparator);
+        }
+
+        /**
+         * Sorts a process tree depth-first, ordering siblings by their subtree totals.
+         * @param tree The tree to sort.
+         * @return Row indices into the tree's totals, in display order.
+         */
+        int[] sort(ProcessTree.Layout tree) {
+            return tree.order(comparator);
         }
     }
 
@@ -449,6 +766,10 @@ public class ProcessMonitor extends BaseMonitor {
                 case NAME_DESC: return "Name (Z-A)";
                 case PID_ASC: return "PID (Ascending)";
                 case PID_DESC: return "PID (Descending)";
+                case THREADS_DESC: return "Threads (High to Low)";
+                case THREADS_ASC: return "Threads (Low to High)";
+                case USER_ASC: return "User (A-Z)";
+                case USER_DESC: return "User (Z-A)";
                 default: return sortOrder.name();
             }
         }
@@ -460,41 +781,33 @@ public class ProcessMonitor extends BaseMonitor {
     }
 
     /**
-     * Inner class that represents process information for display in the process table.
-     * Contains observable properties for process name, PID, memory usage and percentage.
+     * Formats one value of a process table row.
      */
-    public static class ProcessInfo {
-        private final String name;
-        private final int pid;
-        private final double cpuUsage;
-        private final long memoryBytes;
-        private final int threadCount;
-        private final String user;
+    @FunctionalInterface
+    private interface CellText {
+        String format(ProcessSnapshot processes, int row);
+    }
 
-        /**
-         * Creates a new ProcessInfo object with detailed process metrics.
-         * 
-         * @param name The name of the process.
-         * @param pid The process ID as an integer.
-         * @param cpuUsage The CPU usage percentage as a double.
-         * @param memoryBytes The memory usage in bytes.
-         * @param threadCount The number of threads used by the process.
-         * @param user The username of the process owner.
-         */
-        public ProcessInfo(String name, int pid, double cpuUsage, long memoryBytes, int threadCount, String user) {
-            this.name = name;
-            this.pid = pid;
-            this.cpuUsage = cpuUsage;
-            this.memoryBytes = memoryBytes;
-            this.threadCount = threadCount;
-            this.user = user;
+    /**
+     * Cell of the process table. It holds only the process key: it formats the snapshot row at its position,
+     * and only while it is visible.
+     */
+    private class ProcessCell extends TableCell<ProcessRowList.Key, ProcessRowList.Key> {
+        private final CellText text;
+
+        ProcessCell(CellText text) {
+            this.text = text;
         }
 
-        public String getName() { return name; }
-        public int getPid() { return pid; }
-        public double getCpuUsage() { return cpuUsage; }
-        public long getMemoryBytes() { return memoryBytes; }
-        public int getThreadCount() { return threadCount; }
-        public String getUser() { return user; }
+        @Override
+        protected void updateItem(ProcessRowList.Key key, boolean empty) {
+            super.updateItem(key, empty);
+            int position = getIndex();
+            if (empty || position < 0 || position >= processData.size()) {
+                setText(null);
+            } else {
+                setText(text.format(processData.getProcesses(), processData.rowAt(position)));
+            }
+        }
     }
 }
@@ -0,0 +1,226 @@
+package com.exodus.glimpse.models;
+
+import com.exodus.glimpse.sampling.IntLongHashMap;
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import javafx.collections.ObservableListBase;
+
+import java.util.Objects;
+
+/**
+ * Rows of the process table, backed by the columns of a {@link ProcessSnapshot} and a display order.
+ * <p>
+ * The list holds one small {@link Key} per process shown, naming the process by PID and start time, so a reused
+ * PID counts as a different process. Values stay in the snapshot columns: cells look up the snapshot row at
+ * their position and format it when they are shown, so only visible cells cost anything to render.
+ * <p>
+ * A refresh is a keyed diff between the rows shown and the new order. Rows keeping their relative order stay in
+ * place (longest increasing run of their new positions); all other rows are removed and re-inserted, and kept
+ * rows whose displayed values changed are replaced with themselves. All of it is fired as one change, so cells of
+ * unchanged rows are not re-rendered and the scroll position stays where it was.
+ * <p>
+ * Must only be used on the JavaFX application thread.
+ */
+final class ProcessRowList extends ObservableListBase<ProcessRowList.Key> {
+    private static final ProcessSnapshot EMPTY = new ProcessSnapshot.Builder(0).build(0);
+
+    /** Display position of every shown process by PID, as of the last refresh. */
+    private final IntLongHashMap positionsByPid = new IntLongHashMap(1024);
+    private Key[] keys = new Key[0];
+    private ProcessSnapshot processes = EMPTY;
+    private int[] order = new int[0];
+    private int[] depths;
+
+    /**
+     * Identity of a process shown in the table.
+     */
+    static final class Key {
+        private final int pid;
+        private final long startTime;
+
+        Key(int pid, long startTime) {
+            this.pid = pid;
+            this.startTime = startTime;
+        }
+
+        int getPid() { return pid; }
+        long getStartTime() { return startTime; }
+    }
+
+    /**
+     * Shows a new snapshot, firing the fewest changes that turn the rows shown into the new ones.
+     * @param processes The snapshot to show.
+     * @param order Row indices into the snapshot, in display order.
+     * @param depths Tree depth of every row, indexed by row, or null for a flat list.
+     */
+    void update(ProcessSnapshot processes, int[] order, int[] depths) {
+        positionsByPid.clear();
+        for (int position = 0; position < order.length; position++) {
+            positionsByPid.put(processes.getPid(order[position]), position);
+        }
+
+        // Position of every current row in the new order, or -1 if the process is gone. Matched processes keep
+        // their key wherever they move, so the table sees the same item
+        Key[] oldKeys = keys;
+        int size = oldKeys.length;
+        int[] targets = new int[size];
+        Key[] nextKeys = new Key[order.length];
+        for (int j = 0; j < size; j++) {
+            Key key = oldKeys[j];
+            int position = (int) positionsByPid.get(key.pid, -1);
+            if (position >= 0 && nextKeys[position] == null
+                    && processes.getStartTime(order[position]) == key.startTime) {
+                targets[j] = position;
+                nextKeys[position] = key;
+            } else {
+                targets[j] = -1;
+            }
+        }
+        boolean[] keep = longestIncreasingRun(targets);
+
+        for (int position = 0; position < order.length; position++) {
+            if (nextKeys[position] == null) {
+                int row = order[position];
+                nextKeys[position] = new Key(processes.getPid(row), processes.getStartTime(row));
+            }
+        }
+
+        ProcessSnapshot oldProcesses = this.processes;
+        int[] oldOrder = this.order;
+        int[] oldDepths = this.depths;
+        this.keys = nextKeys;
+        this.processes = processes;
+        this.order = order;
+        this.depths = depths;
+
+        beginChange();
+        try {
+            for (int j = size - 1; j >= 0; j--) {
+                if (!keep[j]) {
+                    nextRemove(j, oldKeys[j]);
+                }
+            }
+            // Kept rows are now in new order, so walking both together places everything else
+            int kept = 0;
+            for (int position = 0; position < nextKeys.length; position++) {
+                while (kept < size && !keep[kept]) {
+                    kept++;
+                }
+                if (kept < size && targets[kept] == position) {
+                    int oldRow = oldOrder[kept];
+                    int row = order[position];
+                    if (!sameValues(oldProcesses, oldRow, depthOf(oldDepths, oldRow), processes, row, depthOf(row))) {
+                        nextSet(position, nextKeys[position]);
+                    }
+                    kept++;
+                } else {
+                    nextAdd(position, position + 1);
+                }
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Checks whether two snapshot rows of the same process would be displayed alike.
+     */
+    private static boolean sameValues(ProcessSnapshot previous, int previousRow, int previousDepth,
+                                      ProcessSnapshot next, int row, int depth) {
+        return previousDepth == depth
+                && previous.getCpuPercent(previousRow) == next.getCpuPercent(row)
+                && previous.getResidentSetSize(previousRow) == next.getResidentSetSize(row)
+                && previous.getThreadCount(previousRow) == next.getThreadCount(row)
+                && Objects.equals(previous.getName(previousRow), next.getName(row))
+                && Objects.equals(previous.getUser(previousRow), next.getUser(row));
+    }
+
+    /**
+     * Marks the entries that form the longest strictly increasing subsequence of the non-negative targets.
+     * @param targets New positions of the current rows, -1 for removed rows.
+     * @return For each entry, whether it can stay where it is.
+     */
+    private static boolean[] longestIncreasingRun(int[] targets) {
+        int n = targets.length;
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+        for (int j = 0; j < n; j++) {
+            if (targets[j] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (targets[tails[mid]] < targets[j]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[j] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = j;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] keep = new boolean[n];
+        for (int j = length > 0 ? tails[length - 1] : -1; j >= 0; j = previous[j]) {
+            keep[j] = true;
+        }
+        return keep;
+    }
+
+    /**
+     * Returns the snapshot currently shown.
+     * @return The snapshot.
+     */
+    ProcessSnapshot getProcesses() {
+        return processes;
+    }
+
+    /**
+     * Returns the snapshot row shown at a display position.
+     * @param position The display position.
+     * @return Row index into {@link #getProcesses()}.
+     */
+    int rowAt(int position) {
+        return order[position];
+    }
+
+    /**
+     * Returns the tree depth of a snapshot row.
+     * @param row Row index into {@link #getProcesses()}.
+     * @return The depth, 0 for top-level processes and in a flat list.
+     */
+    int depthOf(int row) {
+        return depthOf(depths, row);
+    }
+
+    private static int depthOf(int[] depths, int row) {
+        return depths != null ? depths[row] : 0;
+    }
+
+    /**
+     * Finds the display position of a process.
+     * @param pid The process ID.
+     * @param startTime The process start time, which tells a reused PID apart.
+     * @return The position, or -1 if the process is not shown.
+     */
+    int positionOf(int pid, long startTime) {
+        int position = (int) positionsByPid.get(pid, -1);
+        return position >= 0 && keys[position].startTime == startTime ? position : -1;
+    }
+
+    @Override
+    public Key get(int index) {
+        Objects.checkIndex(index, keys.length);
+        return keys[index];
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+}
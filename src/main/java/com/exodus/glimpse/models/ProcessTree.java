@@ -0,0 +1,286 @@
+package com.exodus.glimpse.models;
+
+import com.exodus.glimpse.sampling.IntLongHashMap;
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * Processes grouped by parent PID, with CPU, resident memory and thread totals for every subtree.
+ * <p>
+ * Nodes persist from one process table to the next and totals are never summed from scratch. A change in a
+ * process's own values moves the totals of its ancestors by the difference, a process that starts or exits
+ * adds or removes its totals along its ancestor chain, and a reparented process (an orphan adopted by init)
+ * moves its whole subtree's totals from the old chain to the new one. Each update therefore costs one pass
+ * over the table plus a walk up the ancestors of what changed.
+ * <p>
+ * Not thread-safe. {@link Layout}s taken from it are immutable and can be used from any thread.
+ */
+final class ProcessTree {
+    /** Parent of all top-level processes; its totals cover the whole table. */
+    private final Node root = new Node(0);
+
+    private IntLongHashMap rowsByPid = new IntLongHashMap(1024);
+    private IntLongHashMap nextRowsByPid = new IntLongHashMap(1024);
+    private Node[] nodes = new Node[0];
+    private Node[] nextNodes = new Node[0];
+    private ProcessSnapshot processes = new ProcessSnapshot.Builder(0).build(0);
+    private int generation;
+
+    /**
+     * Brings the tree up to date with a new process table.
+     * @param processes The process table of the current tick.
+     */
+    void update(ProcessSnapshot processes) {
+        int size = processes.size();
+        int previousSize = this.processes.size();
+        if (nextNodes.length < size) {
+            nextNodes = new Node[Math.max(size, nextNodes.length * 2)];
+        }
+        nextRowsByPid.clear();
+        generation++;
+
+        // Match rows to the nodes of the previous table
+        for (int row = 0; row < size; row++) {
+            int pid = processes.getPid(row);
+            long startTime = processes.getStartTime(row);
+            int previousRow = (int) rowsByPid.get(pid, -1);
+            Node node = previousRow >= 0 ? nodes[previousRow] : null;
+            // A different start time means the PID was reused by a new process
+            if (node == null || node.startTime != startTime || node.generation == generation) {
+                node = new Node(startTime);
+            }
+            node.row = row;
+            node.generation = generation;
+            nextNodes[row] = node;
+            nextRowsByPid.put(pid, row);
+        }
+
+        // Take exited processes out; their children are moved to their new parents below
+        for (int row = 0; row < previousSize; row++) {
+            Node node = nodes[row];
+            if (node.generation != generation) {
+                detach(node);
+            }
+        }
+
+        for (int row = 0; row < size; row++) {
+            Node node = nextNodes[row];
+
+            int parentRow = (int) nextRowsByPid.get(processes.getParentPid(row), -1);
+            Node parent = parentRow >= 0 ? nextNodes[parentRow] : root;
+            if (node.parent != parent) {
+                // Never let a process become its own ancestor
+                if (parent == node || isAncestor(node, parent)) {
+                    parent = root;
+                }
+                if (node.parent != parent) {
+                    detach(node);
+                    attach(node, parent);
+                }
+            }
+
+            double cpuDelta = processes.getCpuPercent(row) - node.cpu;
+            long rssDelta = processes.getResidentSetSize(row) - node.rss;
+            int threadDelta = processes.getThreadCount(row) - node.threads;
+            if (cpuDelta != 0 || rssDelta != 0 || threadDelta != 0) {
+                node.cpu += cpuDelta;
+                node.rss += rssDelta;
+                node.threads += threadDelta;
+                for (Node current = node; current != null; current = current.parent) {
+                    current.totalCpu += cpuDelta;
+                    current.totalRss += rssDelta;
+                    current.totalThreads += threadDelta;
+                }
+            }
+        }
+
+        Node[] swapNodes = nodes;
+        nodes = nextNodes;
+        nextNodes = swapNodes;
+        Arrays.fill(nextNodes, 0, Math.min(previousSize, nextNodes.length), null);
+        IntLongHashMap swapRows = rowsByPid;
+        rowsByPid = nextRowsByPid;
+        nextRowsByPid = swapRows;
+        this.processes = processes;
+    }
+
+    /**
+     * Captures the current tree for display.
+     * @return The rows of the last table with subtree totals, and their parents and depths.
+     */
+    Layout layout() {
+        int size = processes.size();
+        ProcessSnapshot.Builder totals = new ProcessSnapshot.Builder(size);
+        int[] parentRows = new int[size];
+        int[] depths = new int[size];
+
+        for (int row = 0; row < size; row++) {
+            Node node = nodes[row];
+            totals.add(processes.getPid(row), processes.getParentPid(row), processes.getName(row),
+                    processes.getUser(row), node.totalRss, processes.getKernelTime(row), processes.getUserTime(row),
+                    processes.getUpTime(row), processes.getStartTime(row), node.totalThreads);
+            totals.setCommandLine(row, processes.getCommandLine(row));
+            // Rounding of the running sums can leave a tiny negative total behind
+            totals.setCpuPercent(row, Math.max(0, node.totalCpu));
+
+            parentRows[row] = node.parent == root ? -1 : node.parent.row;
+            int depth = 0;
+            for (Node parent = node.parent; parent != root; parent = parent.parent) {
+                depth++;
+            }
+            depths[row] = depth;
+        }
+        return new Layout(totals.build(processes.getTimestamp()), parentRows, depths);
+    }
+
+    /**
+     * Checks whether a node lies on the path from another node up to the root.
+     */
+    private static boolean isAncestor(Node ancestor, Node node) {
+        for (Node current = node.parent; current != null; current = current.parent) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a node and its subtree from its parent, taking the subtree's totals off every ancestor.
+     */
+    private static void detach(Node node) {
+        Node parent = node.parent;
+        if (parent == null) {
+            return;
+        }
+        for (Node current = parent; current != null; current = current.parent) {
+            current.totalCpu -= node.totalCpu;
+            current.totalRss -= node.totalRss;
+            current.totalThreads -= node.totalThreads;
+        }
+        node.parent = null;
+    }
+
+    /**
+     * Adds a detached node and its subtree under a parent, adding the subtree's totals to every ancestor.
+     */
+    private static void attach(Node node, Node parent) {
+        node.parent = parent;
+        for (Node current = parent; current != null; current = current.parent) {
+            current.totalCpu += node.totalCpu;
+            current.totalRss += node.totalRss;
+            current.totalThreads += node.totalThreads;
+        }
+    }
+
+    /**
+     * One process in the tree: its own values and the totals of its subtree, itself included.
+     * Only the parent link is kept; display order is derived from the parent rows of a {@link Layout}.
+     */
+    private static final class Node {
+        private final long startTime;
+        private Node parent;
+        private int row;
+        private int generation;
+
+        private double cpu;
+        private long rss;
+        private int threads;
+        private double totalCpu;
+        private long totalRss;
+        private int totalThreads;
+
+        private Node(long startTime) {
+            this.startTime = startTime;
+        }
+    }
+
+    /**
+     * Immutable capture of the tree for display.
+     */
+    static final class Layout {
+        private final ProcessSnapshot totals;
+        private final int[] parentRows;
+        private final int[] depths;
+
+        private Layout(ProcessSnapshot totals, int[] parentRows, int[] depths) {
+            this.totals = totals;
+            this.parentRows = parentRows;
+            this.depths = depths;
+        }
+
+        /**
+         * Returns the processes with CPU, resident memory and thread counts replaced by their subtree totals.
+         * @return Process table with the same rows as the one the tree was updated with.
+         */
+        ProcessSnapshot getTotals() { return totals; }
+
+        /**
+         * Returns the depth of every row, 0 for top-level processes.
+         * @return Depths indexed by row.
+         */
+        int[] getDepths() { return depths; }
+
+        /**
+         * Extends a set of rows with all of their ancestors, so that filtered rows keep their place in the tree.
+         * @param rows Flags indexed by row, updated in place.
+         */
+        void includeAncestors(boolean[] rows) {
+            for (int row = 0; row < rows.length; row++) {
+                if (rows[row]) {
+                    // Stop at the first ancestor already included; its own chain is handled on its turn
+                    for (int parent = parentRows[row]; parent >= 0 && !rows[parent]; parent = parentRows[parent]) {
+                        rows[parent] = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Orders the rows depth-first, each process followed by its subtree, with siblings sorted.
+         * @param comparator Order of siblings, applied to the subtree totals.
+         * @return Row indices in display order.
+         */
+        int[] order(RowSort.RowComparator comparator) {
+            int size = parentRows.length;
+
+            // Group rows by parent; slot size holds the top-level processes
+            int[] bounds = new int[size + 2];
+            for (int row = 0; row < size; row++) {
+                bounds[parentSlot(row) + 1]++;
+            }
+            for (int slot = 1; slot < bounds.length; slot++) {
+                bounds[slot] += bounds[slot - 1];
+            }
+            int[] children = new int[size];
+            int[] next = Arrays.copyOf(bounds, size + 1);
+            for (int row = 0; row < size; row++) {
+                children[next[parentSlot(row)]++] = row;
+            }
+            RowSort.sortRanges(children, bounds, totals, comparator);
+
+            // Walk depth-first; children are pushed in reverse so that they come out sorted
+            int[] order = new int[size];
+            int[] stack = new int[size];
+            int count = 0;
+            int top = 0;
+            for (int i = bounds[size + 1] - 1; i >= bounds[size]; i--) {
+                stack[top++] = children[i];
+            }
+            while (top > 0) {
+                int row = stack[--top];
+                order[count++] = row;
+                for (int i = bounds[row + 1] - 1; i >= bounds[row]; i--) {
+                    stack[top++] = children[i];
+                }
+            }
+            return order;
+        }
+
+        private int parentSlot(int row) {
+            int parentRow = parentRows[row];
+            return parentRow < 0 ? parentRows.length : parentRow;
+        }
+    }
+}
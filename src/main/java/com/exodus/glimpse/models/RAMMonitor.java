@@ -1,62 +1,51 @@
 package com.exodus.glimpse.models;
 
 import com.exodus.glimpse.BaseMonitor;
+import com.exodus.glimpse.RemoteSnapshot;
+import com.exodus.glimpse.RemoteSnapshot.Section;
 import com.exodus.glimpse.RemoteStation;
-import javafx.application.Platform;
+import com.exodus.glimpse.chart.TimeSeriesChart;
+import com.exodus.glimpse.history.MetricHistory;
+import com.exodus.glimpse.sampling.AdaptiveInterval;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.chart.LineChart;
-import javafx.scene.chart.NumberAxis;
-import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
-import oshi.hardware.GlobalMemory;
-import oshi.software.os.OSProcess;
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import com.exodus.glimpse.sampling.SystemSnapshot;
+import com.exodus.glimpse.ui.Formats;
 
-import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Monitors RAM/memory usage and processes consuming memory.
  */
 public class RAMMonitor extends BaseMonitor {
-    private final GlobalMemory memory;
-
-    private final DecimalFormat df = new DecimalFormat("#.##");
+    private final AdaptiveInterval interval = AdaptiveInterval.forMetric("ram", 500, 5000, 2);
     private final SimpleDoubleProperty ramUsagePercent = new SimpleDoubleProperty(0);
     private final SimpleStringProperty totalRam = new SimpleStringProperty("N/A");
     private final SimpleStringProperty usedRam = new SimpleStringProperty("N/A");
     private final SimpleStringProperty freeRam = new SimpleStringProperty("N/A");
     private final SimpleStringProperty swapTotal = new SimpleStringProperty("N/A");
     private final SimpleStringProperty swapUsed = new SimpleStringProperty("N/A");
-    private final XYChart.Series<Number, Number> ramSeries = new XYChart.Series<>();
+    private final TimeSeriesChart ramChart = createRAMChart();
     private final ObservableList<ProcessInfo> processData = FXCollections.observableArrayList();
 
-    private final int MAX_DATA_POINTS = 60;
-    private int xSeriesData = 0;
-
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-
     /**
      * Constructor that initializes RAM monitoring components.
      * Sets up properties for memory usage tracking and initial data collection.
      */
     public RAMMonitor() {
         super();
-        memory = hardware.getMemory();
-        ramSeries.setName("RAM Usage %");
 
-        updateProcessInfo();
         startMonitoring();
     }
 
@@ -90,7 +79,6 @@ public class RAMMonitor extends BaseMonitor {
         statsContainer.getChildren().addAll(usageBox, statsBox);
 
         // RAM Usage Graph
-        LineChart<Number, Number> ramChart = createRAMChart();
         VBox.setVgrow(ramChart, Priority.ALWAYS);
 
         // Process Table
@@ -100,7 +88,7 @@ public class RAMMonitor extends BaseMonitor {
         // Add all components to main container
         monitorPanel.getChildren().addAll(statsContainer, ramChart, processTable);
 
-        return monitorPanel;
+        return bindDemandTo(monitorPanel);
     }
 
     /**
@@ -119,19 +107,8 @@ public class RAMMonitor extends BaseMonitor {
         percentLabel.setStyle("-fx-text-fill: white; -fx-font-size: 22px; -fx-font-weight: bold;");
 
         ramUsagePercent.addListener((obs, oldVal, newVal) -> {
-            Platform.runLater(() -> {
-                percentLabel.setText(df.format(newVal.doubleValue()) + "%");
-
-                String color;
-                if (newVal.doubleValue() < 60) {
-                    color = "#3D5AFE"; // Blue for normal
-                } else if (newVal.doubleValue() < 85) {
-                    color = "#FBBC05"; // Yellow for medium
-                } else {
-                    color = "#EA4335"; // Red for high
-                }
-                outerCircle.setStyle("-fx-fill: #2D2D2D; -fx-stroke: " + color + "; -fx-stroke-width: 3;");
-            });
+            percentLabel.setText(Formats.percent(newVal.doubleValue()));
+            outerCircle.setStyle(usageStyle(newVal.doubleValue()));
         });
 
         circleContainer.getChildren().addAll(outerCircle, percentLabel);
@@ -180,37 +157,14 @@ public class RAMMonitor extends BaseMonitor {
     }
 
     /**
-     * Creates a line chart for displaying RAM usage over time.
-     * @return LineChart configured for displaying RAM usage percentage
+     * Creates a chart for displaying RAM usage over time.
+     * @return Chart configured for displaying RAM usage percentage
      */
-    private LineChart<Number, Number> createRAMChart() {
-        final NumberAxis xAxis = new NumberAxis();
-        final NumberAxis yAxis = new NumberAxis(0, 100, 20);
-
-        xAxis.setLabel("Time (seconds)");
-        xAxis.setAnimated(false);
-        xAxis.setTickLabelsVisible(false);
-        xAxis.setTickMarkVisible(false);
-        xAxis.setMinorTickVisible(false);
-
-        yAxis.setLabel("Usage %");
-        yAxis.setAnimated(false);
-
-        final LineChart<Number, Number> lineChart = new LineChart<>(xAxis, yAxis);
-        lineChart.setTitle("RAM Usage");
-        lineChart.setCreateSymbols(false);
-        lineChart.setAnimated(false);
-        lineChart.getData().add(ramSeries);
-
-        lineChart.setStyle(
-                "-fx-background-color: #323232; " +
-                        "-fx-plot-background-color: #262626; " +
-                        "-fx-text-fill: white;"
-        );
-        lineChart.lookup(".chart-title").setStyle("-fx-text-fill: white; -fx-font-size: 14px;");
-        lineChart.lookup(".axis-label").setStyle("-fx-text-fill: #BBBBBB;");
-
-        return lineChart;
+    private TimeSeriesChart createRAMChart() {
+        TimeSeriesChart chart = new TimeSeriesChart("RAM Usage", "Usage %", CHART_RANGE_MILLIS);
+        chart.setYRange(0, 100);
+        chart.addSeries("RAM Usage %", USAGE_COLOR);
+        return chart;
     }
 
     /**
@@ -222,19 +176,15 @@ public class RAMMonitor extends BaseMonitor {
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         table.setStyle("-fx-background-color: #323232; -fx-text-fill: white;");
 
-        TableColumn<ProcessInfo, String> nameCol = new TableColumn<>("Process Name");
-        nameCol.setCellValueFactory(data -> data.getValue().nameProperty());
+        TableColumn<ProcessInfo, String> nameCol = createColumn("Process Name", ProcessInfo::getName, BaseMonitor::displayName);
 
-        TableColumn<ProcessInfo, String> pidCol = new TableColumn<>("PID");
-        pidCol.setCellValueFactory(data -> data.getValue().pidProperty());
+        TableColumn<ProcessInfo, Integer> pidCol = createColumn("PID", ProcessInfo::getPid, String::valueOf);
         pidCol.setPrefWidth(70);
 
-        TableColumn<ProcessInfo, String> memoryCol = new TableColumn<>("Memory");
-        memoryCol.setCellValueFactory(data -> data.getValue().memoryUsageProperty());
+        TableColumn<ProcessInfo, Long> memoryCol = createColumn("Memory", ProcessInfo::getMemoryBytes, Formats::bytes);
         memoryCol.setPrefWidth(100);
 
-        TableColumn<ProcessInfo, String> memoryPercentCol = new TableColumn<>("RAM %");
-        memoryPercentCol.setCellValueFactory(data -> data.getValue().memoryPercentProperty());
+        TableColumn<ProcessInfo, Double> memoryPercentCol = createColumn("RAM %", ProcessInfo::getMemoryPercent, Formats::percent);
         memoryPercentCol.setPrefWidth(80);
 
         table.getColumns().addAll(nameCol, pidCol, memoryCol, memoryPercentCol);
@@ -247,170 +197,121 @@ public class RAMMonitor extends BaseMonitor {
     }
 
     /**
-     * Starts the monitoring scheduler that updates RAM information and process data
-     * at regular intervals (every 1 second).
+     * Subscribes to the sampling engine to update RAM information and process data
+     * at an interval that adapts to how fast memory usage changes.
      */
     public void startMonitoring() {
-        scheduler.scheduleAtFixedRate(() -> {
-            updateRAMInfo();
-            updateProcessInfo();
-        }, 0, 1000, TimeUnit.MILLISECONDS);
+        subscribe("RAM", interval, BACKGROUND_INTERVAL_MILLIS, () -> remoteStation == null, snapshot -> {
+            if (remoteStation != null) {
+                pollRemote("RAM", remote -> {
+                    updateRAMInfo(remote);
+                    updateProcessInfo(remote);
+                }, Section.MEMORY, Section.PROCESSES);
+                return;
+            }
+            measure("RAM.updateRAMInfo", () -> updateRAMInfo(snapshot));
+            measure("RAM.updateProcessInfo", () -> updateProcessInfo(snapshot));
+        });
     }
 
     /**
-     * Updates RAM usage information from either local or remote system.
-     * Updates UI components with the current RAM statistics.
+     * Updates RAM usage information from a remote station's snapshot. Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station
      */
-    private void updateRAMInfo() {
-        if (remoteStation != null) {
-            try {
-                String response = remoteStation.getMemoryUsage();
-                Platform.runLater(() -> {
-                    try {
-                        JSONObject json = new JSONObject(response);
-                        double usedPercent = json.getDouble("percent");
-                        long totalBytes = json.getLong("total");
-                        long usedBytes = json.getLong("used");
-                        long freeBytes = json.getLong("free");
-                        long swapTotalBytes = json.getLong("swap_total");
-                        long swapUsedBytes = json.getLong("swap_used");
-
-                        ramUsagePercent.set(usedPercent);
-                        ramSeries.getData().add(new XYChart.Data<>(xSeriesData++, usedPercent));
-                        if (ramSeries.getData().size() > MAX_DATA_POINTS) {
-                            ramSeries.getData().remove(0);
-                        }
-
-                        totalRam.set(formatBytes(totalBytes));
-                        usedRam.set(formatBytes(usedBytes));
-                        freeRam.set(formatBytes(freeBytes));
-                        swapTotal.set(formatBytes(swapTotalBytes));
-                        swapUsed.set(formatBytes(swapUsedBytes));
-                    } catch (JSONException e) {
-                        System.err.println("Error parsing RAM API response: " + e.getMessage());
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Error fetching remote RAM data: " + e.getMessage());
-            }
-        } else {
-            long total = memory.getTotal();
-            long available = memory.getAvailable();
-            long used = total - available;
-            double percentUsed = (double) used / total * 100;
-
-            long swapTotal = memory.getVirtualMemory().getSwapTotal();
-            long swapUsed = memory.getVirtualMemory().getSwapUsed();
-
-            Platform.runLater(() -> {
-                ramUsagePercent.set(percentUsed);
-                ramSeries.getData().add(new XYChart.Data<>(xSeriesData++, percentUsed));
-                if (ramSeries.getData().size() > MAX_DATA_POINTS) {
-                    ramSeries.getData().remove(0);
-                }
-
-                this.totalRam.set(formatBytes(total));
-                this.usedRam.set(formatBytes(used));
-                this.freeRam.set(formatBytes(available));
-                this.swapTotal.set(formatBytes(swapTotal));
-                this.swapUsed.set(formatBytes(swapUsed));
-            });
+    private void updateRAMInfo(RemoteSnapshot remote) {
+        MetricHistory ramHistory = history().metric("ram.usage");
+        try {
+            JSONObject json = remote.getMemory();
+            double usedPercent = json.getDouble("percent");
+            interval.observe(usedPercent);
+            ramHistory.add(System.currentTimeMillis(), usedPercent);
+            long total = json.getLong("total");
+
+            publish(ramUsagePercent, usedPercent);
+            publish(ramChart, () -> ramChart.show(0, ramHistory));
+
+            publish(totalRam, Formats.bytes(total));
+            publish(usedRam, Formats.bytes(json.getLong("used")));
+            publish(freeRam, Formats.bytes(json.getLong("free")));
+            publish(swapTotal, Formats.bytes(json.getLong("swap_total")));
+            publish(swapUsed, Formats.bytes(json.getLong("swap_used")));
+        } catch (JSONException e) {
+            System.err.println("Error parsing RAM API response: " + e.getMessage());
         }
     }
 
     /**
-     * Updates the list of top memory-consuming processes from either local or remote system.
-     * Refreshes the process table with current data.
+     * Updates RAM usage information from the local system.
+     * Updates UI components with the current RAM statistics.
+     * @param snapshot The snapshot of the current sampling tick
+     */
+    private void updateRAMInfo(SystemSnapshot snapshot) {
+        long total = snapshot.getMemoryTotal();
+        long available = snapshot.getMemoryAvailable();
+        long used = snapshot.getMemoryUsed();
+        double percentUsed = (double) used / total * 100;
+        interval.observe(percentUsed);
+        MetricHistory ramHistory = history().metric("ram.usage");
+        ramHistory.add(snapshot.getTimestamp(), percentUsed);
+
+        publish(ramUsagePercent, percentUsed);
+        publish(ramChart, () -> ramChart.show(0, ramHistory));
+
+        publish(totalRam, Formats.bytes(total));
+        publish(usedRam, Formats.bytes(used));
+        publish(freeRam, Formats.bytes(available));
+        publish(swapTotal, Formats.bytes(snapshot.getSwapTotal()));
+        publish(swapUsed, Formats.bytes(snapshot.getSwapUsed()));
+    }
+
+    /**
+     * Updates the list of top memory-consuming processes from a remote station's snapshot.
+     * Runs on a remote polling thread.
+     * @param remote The snapshot of the remote station
      */
-    private void updateProcessInfo() {
-        if (remoteStation != null) {
-            // Remote process monitoring
-            try {
-                String response = remoteStation.getTopProcesses();
-                Platform.runLater(() -> {
-                    try {
-                        JSONArray processes = new JSONArray(response);
-                        processData.clear();
-
-                        long totalMemory = 0;
-                        try {
-                            JSONObject memInfo = new JSONObject(remoteStation.getMemoryUsage());
-                            totalMemory = memInfo.getLong("total");
-                        } catch (Exception e) {
-                            System.err.println("Error getting total memory for remote: " + e.getMessage());
-                            totalMemory = 1; // Avoid division by zero
-                        }
-
-                        for (int i = 0; i < processes.length(); i++) {
-                            JSONObject proc = processes.getJSONObject(i);
-                            String name = proc.getString("name");
-                            if (name.length() > 30) {
-                                name = name.substring(0, 27) + "...";
-                            }
-
-                            long memBytes = (long)(proc.getDouble("memory_percent") * 0.01 * totalMemory);
-                            String memoryUsage = formatBytes(memBytes);
-                            double memoryPercent = proc.getDouble("memory_percent");
-
-                            processData.add(new ProcessInfo(
-                                    name,
-                                    String.valueOf(proc.getInt("pid")),
-                                    memoryUsage,
-                                    df.format(memoryPercent) + "%"
-                            ));
-                        }
-                    } catch (JSONException e) {
-                        System.err.println("Error parsing process API response: " + e.getMessage());
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Error fetching remote process data: " + e.getMessage());
+    private void updateProcessInfo(RemoteSnapshot remote) {
+        try {
+            JSONArray processes = remote.getProcesses();
+            long totalMemory = Math.max(1, remote.getMemory().getLong("total"));
+            int[] topProcesses = remote.topProcessesByMemory(10);
+            List<ProcessInfo> rows = new ArrayList<>(topProcesses.length);
+
+            for (int i : topProcesses) {
+                JSONObject proc = processes.getJSONObject(i);
+                String name = proc.getString("name");
+
+                double memoryPercent = proc.getDouble("memory_percent");
+                long memBytes = (long)(memoryPercent * 0.01 * totalMemory);
+
+                rows.add(new ProcessInfo(name, proc.getInt("pid"), memBytes, memoryPercent));
             }
-        } else {
-            List<OSProcess> processes = os.getProcesses();
-            processes.sort((p1, p2) -> Long.compare(p2.getResidentSetSize(), p1.getResidentSetSize()));
-
-            List<OSProcess> topProcesses = processes.subList(0, Math.min(10, processes.size()));
-
-            Platform.runLater(() -> {
-                processData.clear();
-                long totalMemory = memory.getTotal();
-
-                for (OSProcess process : topProcesses) {
-                    String name = process.getName();
-                    if (name.length() > 30) {
-                        name = name.substring(0, 27) + "...";
-                    }
-
-                    long memBytes = process.getResidentSetSize();
-                    String memoryUsage = formatBytes(memBytes);
-                    double memoryPercent = (double) memBytes / totalMemory * 100;
-
-                    processData.add(new ProcessInfo(
-                            name,
-                            String.valueOf(process.getProcessID()),
-                            memoryUsage,
-                            df.format(memoryPercent) + "%"
-                    ));
-                }
-            });
+            publish(processData, () -> processData.setAll(rows));
+        } catch (JSONException e) {
+            System.err.println("Error parsing process API response: " + e.getMessage());
         }
     }
 
     /**
-     * Formats byte values into human-readable strings with appropriate units (B, KB, MB, GB).
-     * @param bytes The number of bytes to format
-     * @return String representation of bytes with appropriate unit suffix
+     * Updates the list of top memory-consuming processes from the local system.
+     * Refreshes the process table with current data.
+     * @param snapshot The snapshot of the current sampling tick
      */
-    public String formatBytes(long bytes) {
-        if (bytes < 1024) {
-            return bytes + " B";
-        } else if (bytes < 1024 * 1024) {
-            return df.format(bytes / 1024.0) + " KB";
-        } else if (bytes < 1024 * 1024 * 1024) {
-            return df.format(bytes / (1024.0 * 1024)) + " MB";
-        } else {
-            return df.format(bytes / (1024.0 * 1024 * 1024)) + " GB";
+    private void updateProcessInfo(SystemSnapshot snapshot) {
+        if (snapshot.getProcesses() != null) {
+            ProcessSnapshot processes = snapshot.getProcesses();
+            int[] topProcesses = processes.topByMemory(10);
+            long totalMemory = snapshot.getMemoryTotal();
+            List<ProcessInfo> rows = new ArrayList<>(topProcesses.length);
+
+            for (int row : topProcesses) {
+                String name = processes.getName(row);
+
+                long memBytes = processes.getResidentSetSize(row);
+                double memoryPercent = (double) memBytes / totalMemory * 100;
+
+                rows.add(new ProcessInfo(name, processes.getPid(row), memBytes, memoryPercent));
+            }
+            publish(processData, () -> processData.setAll(rows));
         }
     }
 
@@ -422,39 +323,26 @@ public class RAMMonitor extends BaseMonitor {
         this.remoteStation = remoteStation;
     }
 
-    /**
-     * Shuts down the monitoring scheduler when the monitor is no longer needed.
-     * Ensures proper resource cleanup.
-     */
-    public void shutdown() {
-        scheduler.shutdown();
-    }
-
     /**
      * Inner class that represents process information for display in the process table.
-     * Contains observable properties for process name, PID, memory usage and percentage.
+     * Holds the raw process name, PID, memory usage in bytes and percentage; the table formats them for display.
      */
     public static class ProcessInfo {
-        private final SimpleStringProperty name;
-        private final SimpleStringProperty pid;
-        private final SimpleStringProperty memoryUsage;
-        private final SimpleStringProperty memoryPercent;
-
-        public ProcessInfo(String name, String pid, String memoryUsage, String memoryPercent) {
-            this.name = new SimpleStringProperty(name);
-            this.pid = new SimpleStringProperty(pid);
-            this.memoryUsage = new SimpleStringProperty(memoryUsage);
-            this.memoryPercent = new SimpleStringProperty(memoryPercent);
+        private final String name;
+        private final int pid;
+        private final long memoryBytes;
+        private final double memoryPercent;
+
+        public ProcessInfo(String name, int pid, long memoryBytes, double memoryPercent) {
+            this.name = name;
+            this.pid = pid;
+            this.memoryBytes = memoryBytes;
+            this.memoryPercent = memoryPercent;
         }
 
-        public String getName() { return name.get(); }
-        public String getPid() { return pid.get(); }
-        public String getMemoryUsage() { return memoryUsage.get(); }
-        public String getMemoryPercent() { return memoryPercent.get(); }
-
-        public SimpleStringProperty nameProperty() { return name; }
-        public SimpleStringProperty pidProperty() { return pid; }
-        public SimpleStringProperty memoryUsageProperty() { return memoryUsage; }
-        public SimpleStringProperty memoryPercentProperty() { return memoryPercent; }
+        public String getName() { return name; }
+        public int getPid() { return pid; }
+        public long getMemoryBytes() { return memoryBytes; }
+        public double getMemoryPercent() { return memoryPercent; }
     }
 }
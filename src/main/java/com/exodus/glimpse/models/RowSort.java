@@ -0,0 +1,100 @@
+package com.exodus.glimpse.models;
+
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+
+/**
+ * Sorts row indices of a {@link ProcessSnapshot} by comparing its columns directly, so ordering thousands of
+ * processes neither boxes values nor creates a row object per process.
+ */
+final class RowSort {
+    /** Runs shorter than this are sorted by insertion. */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private RowSort() {
+    }
+
+    /**
+     * Compares two rows of a snapshot.
+     */
+    @FunctionalInterface
+    interface RowComparator {
+        /**
+         * @param processes The snapshot holding both rows.
+         * @param a First row index.
+         * @param b Second row index.
+         * @return Negative, zero or positive as the first row sorts before, with or after the second.
+         */
+        int compare(ProcessSnapshot processes, int a, int b);
+    }
+
+    /**
+     * Returns all rows of a snapshot in sorted order. The sort is stable.
+     * @param processes The snapshot to sort.
+     * @param comparator Order of the rows.
+     * @return Row indices into the snapshot, in display order.
+     */
+    static int[] sort(ProcessSnapshot processes, RowComparator comparator) {
+        int size = processes.size();
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        if (size > 1) {
+            mergeSort(rows, rows.clone(), 0, size, processes, comparator);
+        }
+        return rows;
+    }
+
+    /**
+     * Sorts consecutive ranges of rows independently, such as the children of each process in a tree.
+     * @param rows Row indices, sorted in place within each range.
+     * @param bounds Range boundaries in ascending order: range {@code i} is {@code rows[bounds[i], bounds[i + 1])}.
+     * @param processes The snapshot the rows belong to.
+     * @param comparator Order of the rows.
+     */
+    static void sortRanges(int[] rows, int[] bounds, ProcessSnapshot processes, RowComparator comparator) {
+        // One scratch copy serves every range, since sorting a range only touches its own slots
+        int[] scratch = rows.clone();
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            if (bounds[i + 1] - bounds[i] > 1) {
+                mergeSort(rows, scratch, bounds[i], bounds[i + 1], processes, comparator);
+            }
+        }
+    }
+
+    /**
+     * Sorts {@code rows[from, to)}, using {@code scratch}, which holds the same values, as the merge source.
+     */
+    private static void mergeSort(int[] rows, int[] scratch, int from, int to, ProcessSnapshot processes,
+                                  RowComparator comparator) {
+        if (to - from < INSERTION_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(processes, rows[j], row) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+            return;
+        }
+
+        // Sort both halves of scratch using rows as their source, then merge them back into rows
+        int middle = (from + to) >>> 1;
+        mergeSort(scratch, rows, from, middle, processes, comparator);
+        mergeSort(scratch, rows, middle, to, processes, comparator);
+
+        if (comparator.compare(processes, scratch[middle - 1], scratch[middle]) <= 0) {
+            System.arraycopy(scratch, from, rows, from, to - from);
+            return;
+        }
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || left < middle && comparator.compare(processes, scratch[left], scratch[right]) <= 0) {
+                rows[i] = scratch[left++];
+            } else {
+                rows[i] = scratch[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.exodus.glimpse.models;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary of the distinct strings of a process table column, with a trigram index for substring search.
+ * <p>
+ * Process tables repeat the same few hundred names and users thousands of times, so rows refer to strings by
+ * ID and a query is answered once per distinct string, not once per row. The dictionary is kept up to date
+ * incrementally: an update only indexes strings it has not seen before, and strings no longer used by any row
+ * are dropped and their IDs reused. Postings of dropped strings stay behind until they outnumber the live
+ * ones, at which point the trigram table is rebuilt; queries verify every candidate, so stale postings only
+ * cost a little time.
+ * <p>
+ * Not thread-safe.
+ */
+final class TextIndex {
+    /** Length of the indexed substrings; shorter queries scan the dictionary instead. */
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private String[] strings = new String[256];
+    private String[] lowerCase = new String[256];
+    private int[] lastSeen = new int[256];
+    private int[] addedAt = new int[256];
+    private int[] gramCounts = new int[256];
+    private int[] freeIds = new int[64];
+    private int freeCount;
+    /** Number of IDs ever handed out; IDs below this are either live or free. */
+    private int idCount;
+    private int generation;
+    private long livePostings;
+    private long stalePostings;
+
+    /**
+     * Starts an update; every string still in use must then be passed to {@link #idOf(String)}.
+     */
+    void beginUpdate() {
+        generation++;
+    }
+
+    /**
+     * Returns the ID of a string, adding it to the dictionary and the index if it is new.
+     * @param value The string.
+     * @return Its ID, stable for as long as the string stays in use.
+     */
+    int idOf(String value) {
+        Integer known = ids.get(value);
+        int id;
+        if (known != null) {
+            id = known;
+        } else {
+            id = freeCount > 0 ? freeIds[--freeCount] : idCount++;
+            if (id == strings.length) {
+                int capacity = strings.length * 2;
+                strings = Arrays.copyOf(strings, capacity);
+                lowerCase = Arrays.copyOf(lowerCase, capacity);
+                lastSeen = Arrays.copyOf(lastSeen, capacity);
+                addedAt = Arrays.copyOf(addedAt, capacity);
+                gramCounts = Arrays.copyOf(gramCounts, capacity);
+            }
+            strings[id] = value;
+            addedAt[id] = generation;
+            lowerCase[id] = value.toLowerCase(Locale.ROOT);
+            gramCounts[id] = addGrams(id, lowerCase[id]);
+            livePostings += gramCounts[id];
+            ids.put(value, id);
+        }
+        lastSeen[id] = generation;
+        return id;
+    }
+
+    /**
+     * Ends an update, dropping the strings that were not used since {@link #beginUpdate()}.
+     */
+    void endUpdate() {
+        for (int id = 0; id < idCount; id++) {
+            if (strings[id] != null && lastSeen[id] != generation) {
+                ids.remove(strings[id]);
+                strings[id] = null;
+                lowerCase[id] = null;
+                livePostings -= gramCounts[id];
+                stalePostings += gramCounts[id];
+                if (freeCount == freeIds.length) {
+                    freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+                }
+                freeIds[freeCount++] = id;
+            }
+        }
+        if (stalePostings > livePostings) {
+            postings.clear();
+            for (int id = 0; id < idCount; id++) {
+                if (lowerCase[id] != null) {
+                    addGrams(id, lowerCase[id]);
+                }
+            }
+            stalePostings = 0;
+        }
+    }
+
+    /**
+     * Returns the number of updates started so far.
+     * @return The current update generation.
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Checks whether an ID handed out by an earlier update still refers to the same string.
+     * @param id The ID.
+     * @param generation The generation of the update that handed out the ID.
+     * @return True if the string has been in use without a break since that update.
+     */
+    boolean isCurrent(int id, int generation) {
+        return strings[id] != null && addedAt[id] <= generation;
+    }
+
+    /**
+     * Finds the strings containing a text, ignoring case.
+     * @param text Lower-case text to look for.
+     * @return Flags indexed by ID, set for the strings that contain the text.
+     */
+    boolean[] matches(String text) {
+        boolean[] matches = new boolean[idCount];
+        if (text.length() < GRAM_LENGTH) {
+            for (int id = 0; id < idCount; id++) {
+                matches[id] = lowerCase[id] != null && lowerCase[id].contains(text);
+            }
+            return matches;
+        }
+
+        // Only strings holding every trigram of the text can match; verify those of the rarest trigram
+        Postings rarest = null;
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            Postings candidates = postings.get(gram(text, i));
+            if (candidates == null) {
+                return matches;
+            }
+            if (rarest == null || candidates.size < rarest.size) {
+                rarest = candidates;
+            }
+        }
+        for (int i = 0; i < rarest.size; i++) {
+            int id = rarest.ids[i];
+            if (!matches[id] && lowerCase[id] != null && lowerCase[id].contains(text)) {
+                matches[id] = true;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Adds the trigrams of a string to the index.
+     * @return Number of postings added.
+     */
+    private int addGrams(int id, String lower) {
+        int added = 0;
+        for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            Postings list = postings.computeIfAbsent(gram(lower, i), key -> new Postings());
+            // Skip repeats of a trigram within the same string
+            if (list.size == 0 || list.ids[list.size - 1] != id) {
+                list.add(id);
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private static long gram(String text, int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    /**
+     * IDs of the strings containing one trigram, in insertion order.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.exodus.glimpse.sampling;
+
+/**
+ * Sampling interval that follows the volatility of a metric. A change of at least {@code threshold}
+ * between two observations drops the interval to its minimum, so spikes are sampled at full resolution;
+ * while the metric stays flat the interval doubles up to its maximum.
+ * <p>
+ * Bounds are configured per metric with system properties, for example
+ * {@code -Dglimpse.interval.cpu.min=250 -Dglimpse.interval.cpu.max=4000 -Dglimpse.interval.cpu.threshold=5}.
+ */
+public final class AdaptiveInterval {
+    private final long minMillis;
+    private final long maxMillis;
+    private final double threshold;
+
+    private volatile long currentMillis;
+    private double lastValue = Double.NaN;
+
+    /**
+     * Creates an interval that adapts between two bounds.
+     * @param minMillis Shortest interval in milliseconds, used while the metric is volatile.
+     * @param maxMillis Longest interval in milliseconds, reached while the metric is flat.
+     * @param threshold Change between two observations that counts as volatile, in the metric's unit.
+     */
+    public AdaptiveInterval(long minMillis, long maxMillis, double threshold) {
+        if (minMillis <= 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid interval bounds: " + minMillis + ".." + maxMillis);
+        }
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.threshold = threshold;
+        this.currentMillis = Math.max(minMillis, Math.min(maxMillis, 1000));
+    }
+
+    /**
+     * Creates a constant interval that never adapts.
+     * @param intervalMillis The interval in milliseconds.
+     * @return The fixed interval.
+     */
+    public static AdaptiveInterval fixed(long intervalMillis) {
+        return new AdaptiveInterval(intervalMillis, intervalMillis, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Creates the interval of a named metric, reading its bounds from the
+     * {@code glimpse.interval.<metric>.min}, {@code .max} and {@code .threshold} system properties.
+     * @param metric Name of the metric, such as "cpu".
+     * @param defaultMinMillis Shortest interval if not configured.
+     * @param defaultMaxMillis Longest interval if not configured.
+     * @param defaultThreshold Volatility threshold if not configured.
+     * @return The configured interval.
+     */
+    public static AdaptiveInterval forMetric(String metric, long defaultMinMillis, long defaultMaxMillis,
+                                             double defaultThreshold) {
+        String prefix = "glimpse.interval." + metric + ".";
+        long min = Long.getLong(prefix + "min", defaultMinMillis);
+        long max = Long.getLong(prefix + "max", defaultMaxMillis);
+        double threshold = defaultThreshold;
+        String configured = System.getProperty(prefix + "threshold");
+        if (configured != null) {
+            try {
+                threshold = Double.parseDouble(configured);
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid " + prefix + "threshold: " + configured);
+            }
+        }
+        if (min <= 0 || max < min) {
+            System.err.println("Invalid interval bounds for " + metric + ", using defaults");
+            min = defaultMinMillis;
+            max = defaultMaxMillis;
+        }
+        return new AdaptiveInterval(min, max, threshold);
+    }
+
+    /**
+     * Feeds the latest value of the metric and adapts the interval to how much it moved.
+     * @param value The latest value.
+     */
+    public synchronized void observe(double value) {
+        if (minMillis == maxMillis) {
+            return;
+        }
+        double change = Double.isNaN(lastValue) ? 0 : Math.abs(value - lastValue);
+        lastValue = value;
+
+        if (change >= threshold) {
+            currentMillis = minMillis;
+        } else if (change < threshold / 2) {
+            // Back off exponentially while the metric is flat
+            currentMillis = Math.min(maxMillis, currentMillis * 2);
+        }
+    }
+
+    public long getMillis() { return currentMillis; }
+    public long getMinMillis() { return minMillis; }
+    public long getMaxMillis() { return maxMillis; }
+}
@@ -0,0 +1,134 @@
+package com.exodus.glimpse.sampling;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code int} keys to {@code long} values.
+ * Keys and values live in flat primitive arrays, so lookups and inserts never box and
+ * {@link #clear()} keeps the allocated tables for reuse.
+ */
+public final class IntLongHashMap {
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates a map able to hold {@code expectedSize} entries without resizing.
+     * @param expectedSize Expected number of entries.
+     */
+    public IntLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the value mapped to a key.
+     * @param key The key to look up. Must not be {@link Integer#MIN_VALUE}.
+     * @param defaultValue Value returned when the key is absent.
+     * @return The mapped value, or {@code defaultValue}.
+     */
+    public long get(int key, long defaultValue) {
+        int index = slot(key);
+        while (true) {
+            int current = keys[index];
+            if (current == key) {
+                return values[index];
+            }
+            if (current == EMPTY) {
+                return defaultValue;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Checks whether a key is present.
+     * @param key The key to look up.
+     * @return True if the key is mapped.
+     */
+    public boolean containsKey(int key) {
+        int index = slot(key);
+        while (true) {
+            int current = keys[index];
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous mapping.
+     * @param key The key. Must not be {@link Integer#MIN_VALUE}.
+     * @param value The value.
+     */
+    public void put(int key, long value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key " + key + " is reserved");
+        }
+        int index = slot(key);
+        while (true) {
+            int current = keys[index];
+            if (current == key) {
+                values[index] = value;
+                return;
+            }
+            if (current == EMPTY) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size > (mask + 1) >> 1) {
+                    rehash();
+                }
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != EMPTY) {
+                int index = slot(key);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Removes all entries while keeping the allocated capacity.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+    }
+
+    public int size() { return size; }
+}
@@ -0,0 +1,71 @@
+package com.exodus.glimpse.sampling;
+
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * Portable process collector backed by OSHI's {@code os.getProcesses()}.
+ * <p>
+ * Command lines can be expensive to query (WMI on Windows), so they are fetched once per process and
+ * carried over from the previous enumeration while the PID keeps its start time.
+ */
+public final class OshiProcessCollector implements ProcessCollector {
+    private final OperatingSystem os;
+
+    private IntLongHashMap previousRows = new IntLongHashMap(1024);
+    private IntLongHashMap currentRows = new IntLongHashMap(1024);
+    private long[] previousStartTimes = new long[0];
+    private String[] previousCommandLines = new String[0];
+
+    /**
+     * Creates a collector over the given OSHI operating system.
+     * @param os The operating system to enumerate.
+     */
+    public OshiProcessCollector(OperatingSystem os) {
+        this.os = os;
+    }
+
+    @Override
+    public void collect(ProcessSnapshot.Builder builder, long now) {
+        int first = builder.size();
+        currentRows.clear();
+        for (OSProcess process : os.getProcesses()) {
+            int pid = process.getProcessID();
+            long startTime = process.getStartTime();
+            builder.add(
+                    pid,
+                    process.getParentProcessID(),
+                    process.getName(),
+                    process.getUser(),
+                    process.getResidentSetSize(),
+                    process.getKernelTime(),
+                    process.getUserTime(),
+                    process.getUpTime(),
+                    startTime,
+                    process.getThreadCount()
+            );
+
+            int previousRow = (int) previousRows.get(pid, -1);
+            String commandLine = previousRow >= 0 && previousStartTimes[previousRow] == startTime
+                    ? previousCommandLines[previousRow]
+                    : process.getCommandLine();
+            int row = builder.size() - 1;
+            builder.setCommandLine(row, commandLine);
+            currentRows.put(pid, row - first);
+        }
+
+        // Remember this enumeration for the next one
+        int count = builder.size() - first;
+        long[] startTimes = new long[count];
+        String[] commandLines = new String[count];
+        for (int i = 0; i < count; i++) {
+            startTimes[i] = builder.getStartTime(first + i);
+            commandLines[i] = builder.getCommandLine(first + i);
+        }
+        previousStartTimes = startTimes;
+        previousCommandLines = commandLines;
+        IntLongHashMap swap = previousRows;
+        previousRows = currentRows;
+        currentRows = swap;
+    }
+}
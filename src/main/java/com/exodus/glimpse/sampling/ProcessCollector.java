@@ -0,0 +1,13 @@
+package com.exodus.glimpse.sampling;
+
+/**
+ * Source of the rows of a {@link ProcessSnapshot}.
+ */
+public interface ProcessCollector {
+    /**
+     * Enumerates all processes once and appends one row per process.
+     * @param builder The table being built for the current tick.
+     * @param now Time of the enumeration in epoch milliseconds.
+     */
+    void collect(ProcessSnapshot.Builder builder, long now);
+}
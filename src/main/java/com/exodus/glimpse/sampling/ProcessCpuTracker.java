@@ -0,0 +1,56 @@
+package com.exodus.glimpse.sampling;
+
+/**
+ * Computes per-process CPU usage over the interval between two process tables, the way {@code top} does,
+ * instead of the lifetime average {@code (kernel + user) / upTime}. 100% means one fully busy core.
+ * <p>
+ * The previous tick's counters are kept in two pairs of primitive PID-keyed maps that are swapped on
+ * every update, so exited processes fall out without any removal and steady state allocates nothing.
+ */
+public final class ProcessCpuTracker {
+    private IntLongHashMap previousCpuTimes = new IntLongHashMap(1024);
+    private IntLongHashMap previousStartTimes = new IntLongHashMap(1024);
+    private IntLongHashMap currentCpuTimes = new IntLongHashMap(1024);
+    private IntLongHashMap currentStartTimes = new IntLongHashMap(1024);
+    private long previousTimestamp;
+
+    /**
+     * Fills the CPU column of a process table being built from the counters of the previous call.
+     * @param builder The process table of the current tick.
+     * @param now Time of the enumeration in milliseconds.
+     */
+    public void update(ProcessSnapshot.Builder builder, long now) {
+        long elapsed = now - previousTimestamp;
+        currentCpuTimes.clear();
+        currentStartTimes.clear();
+
+        for (int row = 0; row < builder.size(); row++) {
+            int pid = builder.getPid(row);
+            long startTime = builder.getStartTime(row);
+            long cpuTime = builder.getKernelTime(row) + builder.getUserTime(row);
+
+            double cpuPercent;
+            // A different start time means the PID was reused by a new process
+            if (elapsed > 0 && previousStartTimes.containsKey(pid) && previousStartTimes.get(pid, 0) == startTime) {
+                long delta = cpuTime - previousCpuTimes.get(pid, cpuTime);
+                cpuPercent = 100d * Math.max(0, delta) / elapsed;
+            } else {
+                // Seen for the first time: everything it has used was used since it started
+                long upTime = builder.getUpTime(row);
+                cpuPercent = upTime > 0 ? 100d * cpuTime / upTime : 0;
+            }
+            builder.setCpuPercent(row, cpuPercent);
+
+            currentCpuTimes.put(pid, cpuTime);
+            currentStartTimes.put(pid, startTime);
+        }
+
+        IntLongHashMap swap = previousCpuTimes;
+        previousCpuTimes = currentCpuTimes;
+        currentCpuTimes = swap;
+        swap = previousStartTimes;
+        previousStartTimes = currentStartTimes;
+        currentStartTimes = swap;
+        previousTimestamp = now;
+    }
+}
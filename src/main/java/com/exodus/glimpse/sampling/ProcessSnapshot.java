@@ -0,0 +1,230 @@
+package com.exodus.glimpse.sampling;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, timestamped table of all processes enumerated in one sampling tick.
+ * Stored column by column so that consumers can scan a single metric without touching the others.
+ */
+public final class ProcessSnapshot {
+    private final long timestamp;
+    private final int size;
+    private final int[] pids;
+    private final int[] parentPids;
+    private final String[] names;
+    private final String[] users;
+    private final long[] residentSetSizes;
+    private final long[] kernelTimes;
+    private final long[] userTimes;
+    private final long[] upTimes;
+    private final long[] startTimes;
+    private final int[] threadCounts;
+    private final double[] cpuPercents;
+    private final String[] commandLines;
+
+    private ProcessSnapshot(Builder builder, long timestamp) {
+        this.timestamp = timestamp;
+        this.size = builder.size;
+        this.pids = Arrays.copyOf(builder.pids, size);
+        this.parentPids = Arrays.copyOf(builder.parentPids, size);
+        this.names = Arrays.copyOf(builder.names, size);
+        this.users = Arrays.copyOf(builder.users, size);
+        this.residentSetSizes = Arrays.copyOf(builder.residentSetSizes, size);
+        this.kernelTimes = Arrays.copyOf(builder.kernelTimes, size);
+        this.userTimes = Arrays.copyOf(builder.userTimes, size);
+        this.upTimes = Arrays.copyOf(builder.upTimes, size);
+        this.startTimes = Arrays.copyOf(builder.startTimes, size);
+        this.threadCounts = Arrays.copyOf(builder.threadCounts, size);
+        this.cpuPercents = Arrays.copyOf(builder.cpuPercents, size);
+        this.commandLines = Arrays.copyOf(builder.commandLines, size);
+    }
+
+    public long getTimestamp() { return timestamp; }
+    public int size() { return size; }
+    public int getPid(int row) { return pids[row]; }
+    public int getParentPid(int row) { return parentPids[row]; }
+    public String getName(int row) { return names[row]; }
+    public String getUser(int row) { return users[row]; }
+    public long getResidentSetSize(int row) { return residentSetSizes[row]; }
+    public long getKernelTime(int row) { return kernelTimes[row]; }
+    public long getUserTime(int row) { return userTimes[row]; }
+    public long getUpTime(int row) { return upTimes[row]; }
+    public long getStartTime(int row) { return startTimes[row]; }
+    public int getThreadCount(int row) { return threadCounts[row]; }
+
+    /**
+     * Returns the CPU usage of a process over the last sampling interval, where 100% is one full core.
+     * @param row Row index into this snapshot.
+     * @return CPU usage in percent.
+     */
+    public double getCpuPercent(int row) { return cpuPercents[row]; }
+
+    /**
+     * Returns the command line a process was started with, with arguments separated by spaces.
+     * @param row Row index into this snapshot.
+     * @return The command line, or an empty string if the source did not provide it.
+     */
+    public String getCommandLine(int row) {
+        String commandLine = commandLines[row];
+        return commandLine != null ? commandLine : "";
+    }
+
+    /**
+     * Returns the rows of the processes using the most CPU, highest first.
+     * @param limit Maximum number of rows to return.
+     * @return Row indices into this snapshot.
+     */
+    public int[] topByCpu(int limit) {
+        return new TopK(limit).select(cpuPercents, size);
+    }
+
+    /**
+     * Returns the rows of the processes with the largest resident set, highest first.
+     * @param limit Maximum number of rows to return.
+     * @return Row indices into this snapshot.
+     */
+    public int[] topByMemory(int limit) {
+        return new TopK(limit).select(residentSetSizes, size);
+    }
+
+    /**
+     * Accumulates process rows for a new snapshot.
+     */
+    public static final class Builder {
+        private int size;
+        private int[] pids;
+        private int[] parentPids;
+        private String[] names;
+        private String[] users;
+        private long[] residentSetSizes;
+        private long[] kernelTimes;
+        private long[] userTimes;
+        private long[] upTimes;
+        private long[] startTimes;
+        private int[] threadCounts;
+        private double[] cpuPercents;
+        private String[] commandLines;
+
+        /**
+         * Creates a builder sized for the expected number of processes.
+         * @param capacity Initial number of rows.
+         */
+        public Builder(int capacity) {
+            int initial = Math.max(16, capacity);
+            pids = new int[initial];
+            parentPids = new int[initial];
+            names = new String[initial];
+            users = new String[initial];
+            residentSetSizes = new long[initial];
+            kernelTimes = new long[initial];
+            userTimes = new long[initial];
+            upTimes = new long[initial];
+            startTimes = new long[initial];
+            threadCounts = new int[initial];
+            cpuPercents = new double[initial];
+            commandLines = new String[initial];
+        }
+
+        /**
+         * Appends one process row.
+         * @param pid The process ID.
+         * @param parentPid The parent process ID.
+         * @param name The process name.
+         * @param user The owning user.
+         * @param residentSetSize Resident memory in bytes.
+         * @param kernelTime Cumulative kernel time in milliseconds.
+         * @param userTime Cumulative user time in milliseconds.
+         * @param upTime Time since the process started in milliseconds.
+         * @param startTime Start time in epoch milliseconds.
+         * @param threadCount Number of threads.
+         * @return This builder.
+         */
+        public Builder add(int pid, int parentPid, String name, String user, long residentSetSize,
+                           long kernelTime, long userTime, long upTime, long startTime, int threadCount) {
+            if (size == pids.length) {
+                grow();
+            }
+            pids[size] = pid;
+            parentPids[size] = parentPid;
+            names[size] = name;
+            users[size] = user;
+            residentSetSizes[size] = residentSetSize;
+            kernelTimes[size] = kernelTime;
+            userTimes[size] = userTime;
+            upTimes[size] = upTime;
+            startTimes[size] = startTime;
+            threadCounts[size] = threadCount;
+            commandLines[size] = null;
+            size++;
+            return this;
+        }
+
+        private void grow() {
+            int capacity = pids.length * 2;
+            pids = Arrays.copyOf(pids, capacity);
+            parentPids = Arrays.copyOf(parentPids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            users = Arrays.copyOf(users, capacity);
+            residentSetSizes = Arrays.copyOf(residentSetSizes, capacity);
+            kernelTimes = Arrays.copyOf(kernelTimes, capacity);
+            userTimes = Arrays.copyOf(userTimes, capacity);
+            upTimes = Arrays.copyOf(upTimes, capacity);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            threadCounts = Arrays.copyOf(threadCounts, capacity);
+            cpuPercents = Arrays.copyOf(cpuPercents, capacity);
+            commandLines = Arrays.copyOf(commandLines, capacity);
+        }
+
+        /**
+         * Appends all rows of another builder, such as one filled by a parallel scan shard.
+         * @param other The builder to copy rows from.
+         * @return This builder.
+         */
+        public Builder addAll(Builder other) {
+            for (int row = 0; row < other.size; row++) {
+                add(other.pids[row], other.parentPids[row], other.names[row], other.users[row],
+                        other.residentSetSizes[row], other.kernelTimes[row], other.userTimes[row],
+                        other.upTimes[row], other.startTimes[row], other.threadCounts[row]);
+                commandLines[size - 1] = other.commandLines[row];
+            }
+            return this;
+        }
+
+        /**
+         * Discards all rows while keeping the allocated columns for reuse.
+         */
+        void reset() { size = 0; }
+
+        public int size() { return size; }
+        int getPid(int row) { return pids[row]; }
+        String getName(int row) { return names[row]; }
+        String getCommandLine(int row) { return commandLines[row]; }
+        long getKernelTime(int row) { return kernelTimes[row]; }
+        long getUserTime(int row) { return userTimes[row]; }
+        long getUpTime(int row) { return upTimes[row]; }
+        long getStartTime(int row) { return startTimes[row]; }
+
+        /**
+         * Sets the CPU usage of a row, for sources that report it directly, such as remote stations.
+         * @param row Row index into this builder.
+         * @param cpuPercent CPU usage in percent, where 100% is one full core.
+         */
+        public void setCpuPercent(int row, double cpuPercent) { cpuPercents[row] = cpuPercent; }
+
+        /**
+         * Sets the command line of a row, for sources that can provide it.
+         * @param row Row index into this builder.
+         * @param commandLine The command line, with arguments separated by spaces.
+         */
+        public void setCommandLine(int row, String commandLine) { commandLines[row] = commandLine; }
+
+        /**
+         * Freezes the accumulated rows into an immutable snapshot.
+         * @param timestamp Time of the enumeration in epoch milliseconds.
+         * @return The new snapshot.
+         */
+        public ProcessSnapshot build(long timestamp) {
+            return new ProcessSnapshot(this, timestamp);
+        }
+    }
+}
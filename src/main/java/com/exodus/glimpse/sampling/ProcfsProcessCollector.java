@@ -0,0 +1,523 @@
+package com.exodus.glimpse.sampling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Linux fast path for process enumeration. Reads {@code /proc/[pid]/stat} and {@code status}
+ * into reusable direct buffers and parses the fields in place, so no String is created per field.
+ * Process names are decoded only when a PID is new or its name changed since the previous scan, command lines
+ * are read from {@code cmdline} only for new processes, and user names come from a table built once from
+ * {@code /etc/passwd}.
+ * <p>
+ * Large PID counts are split into shards that are scanned in parallel, each with its own buffers.
+ * The proc root is configurable so captured trees can be scanned offline.
+ * <p>
+ * The resident set size is the {@code VmRSS} line of {@code status}, which the kernel reports in kB whatever the
+ * page size. CPU times in {@code stat} are in clock ticks; the tick rate ({@code USER_HZ}) is read from the
+ * {@code AT_CLKTCK} entry of {@code /proc/self/auxv}, falling back to 100, its value on all common architectures.
+ */
+public final class ProcfsProcessCollector implements ProcessCollector {
+    /** Number of PIDs from which the scan is split into parallel shards. */
+    static final int PARALLEL_THRESHOLD = 2048;
+    private static final int MIN_SHARD_SIZE = 512;
+    private static final int BUFFER_SIZE = 8192;
+    /** Tick rate assumed when {@code /proc/self/auxv} cannot be read. */
+    private static final long DEFAULT_CLOCK_TICKS = 100;
+    /** Type of the auxiliary vector entry holding the tick rate. */
+    private static final long AT_CLKTCK = 17;
+    private static final byte[] UID_FIELD = "Uid:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RSS_FIELD = "VmRSS:".getBytes(StandardCharsets.US_ASCII);
+
+    private final Path procRoot;
+    private final long clockTicks;
+    private final long bootTimeMillis;
+    private final int[] uids;
+    private final String[] userNames;
+
+    private Reader[] readers = new Reader[0];
+    private ProcessSnapshot.Builder[] shardBuilders = new ProcessSnapshot.Builder[0];
+    private int[] pids = new int[1024];
+    private String[] pidNames = new String[1024];
+
+    // Names and command lines seen in the previous scan, so unchanged processes reuse their String
+    private final IntLongHashMap previousRows = new IntLongHashMap(1024);
+    private long[] previousStartTimes = new long[1024];
+    private String[] previousNames = new String[1024];
+    private String[] previousCommandLines = new String[1024];
+
+    /**
+     * Creates a collector over the live {@code /proc} of this host.
+     */
+    public ProcfsProcessCollector() {
+        this(Paths.get("/proc"), Paths.get("/etc/passwd"), readClockTicks(Paths.get("/proc/self/auxv")));
+    }
+
+    /**
+     * Creates a collector over an arbitrary proc tree, such as a captured fixture.
+     * @param procRoot Directory laid out like {@code /proc}.
+     * @param passwdFile File laid out like {@code /etc/passwd}, used to resolve user names.
+     * @param clockTicks Clock ticks per second ({@code USER_HZ}), used to convert {@code stat} times.
+     */
+    public ProcfsProcessCollector(Path procRoot, Path passwdFile, long clockTicks) {
+        this.procRoot = procRoot;
+        this.clockTicks = clockTicks;
+        this.bootTimeMillis = readBootTime(procRoot.resolve("stat")) * 1000;
+
+        List<String> passwd;
+        try {
+            passwd = Files.exists(passwdFile) ? Files.readAllLines(passwdFile) : List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + passwdFile, e);
+        }
+        long[] entries = new long[passwd.size()];
+        String[] names = new String[passwd.size()];
+        int count = 0;
+        for (String line : passwd) {
+            String[] fields = line.split(":");
+            if (fields.length > 2) {
+                try {
+                    int uid = Integer.parseInt(fields[2]);
+                    // Pack uid and original position so sorting keeps the names aligned
+                    entries[count] = ((long) uid << 32) | count;
+                    names[count] = fields[0];
+                    count++;
+                } catch (NumberFormatException ignored) {
+                    // Skip malformed entries
+                }
+            }
+        }
+        Arrays.sort(entries, 0, count);
+        this.uids = new int[count];
+        this.userNames = new String[count];
+        for (int i = 0; i < count; i++) {
+            uids[i] = (int) (entries[i] >> 32);
+            userNames[i] = names[(int) entries[i]];
+        }
+    }
+
+    /**
+     * Checks whether this host exposes a readable Linux procfs.
+     * @return True if the collector can run on this host.
+     */
+    public static boolean isSupported() {
+        return Files.isReadable(Paths.get("/proc/self/stat"));
+    }
+
+    /**
+     * Reads the tick rate from the auxiliary vector of this process: pairs of native words, type then value.
+     * @param auxvFile The {@code auxv} file of this process.
+     * @return Clock ticks per second, or {@link #DEFAULT_CLOCK_TICKS} if the file cannot be read.
+     */
+    static long readClockTicks(Path auxvFile) {
+        try {
+            ByteBuffer auxv = ByteBuffer.wrap(Files.readAllBytes(auxvFile)).order(ByteOrder.nativeOrder());
+            boolean wide = !"32".equals(System.getProperty("sun.arch.data.model"));
+            int entrySize = wide ? 16 : 8;
+            for (int i = 0; i + entrySize <= auxv.limit(); i += entrySize) {
+                long type = wide ? auxv.getLong(i) : auxv.getInt(i);
+                long value = wide ? auxv.getLong(i + 8) : auxv.getInt(i + 4);
+                if (type == AT_CLKTCK && value > 0) {
+                    return value;
+                }
+                if (type == 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // Not readable here; use the usual rate
+        }
+        return DEFAULT_CLOCK_TICKS;
+    }
+
+    private static long readBootTime(Path statFile) {
+        try {
+            for (String line : Files.readAllLines(statFile)) {
+                if (line.startsWith("btime ")) {
+                    return Long.parseLong(line.substring(6).trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + statFile, e);
+        }
+        throw new IllegalStateException("No btime in " + statFile);
+    }
+
+    @Override
+    public void collect(ProcessSnapshot.Builder builder, long now) {
+        int count = listPids();
+        int shards = count >= PARALLEL_THRESHOLD
+                ? Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), count / MIN_SHARD_SIZE))
+                : 1;
+        ensureShards(shards);
+
+        if (shards == 1) {
+            readers[0].scan(0, count, builder, now);
+        } else {
+            int chunk = (count + shards - 1) / shards;
+            IntStream.range(0, shards).parallel().forEach(shard -> {
+                ProcessSnapshot.Builder part = shardBuilders[shard];
+                part.reset();
+                readers[shard].scan(shard * chunk, Math.min(count, (shard + 1) * chunk), part, now);
+            });
+            for (int shard = 0; shard < shards; shard++) {
+                builder.addAll(shardBuilders[shard]);
+            }
+        }
+
+        rememberNames(builder);
+    }
+
+    /**
+     * Lists the numeric entries of the proc root.
+     * @return Number of PIDs found.
+     */
+    private int listPids() {
+        String[] entries = new File(procRoot.toString()).list();
+        if (entries == null) {
+            return 0;
+        }
+        if (pids.length < entries.length) {
+            pids = new int[entries.length];
+            pidNames = new String[entries.length];
+        }
+        int count = 0;
+        for (String entry : entries) {
+            int pid = parsePid(entry);
+            if (pid >= 0) {
+                pids[count] = pid;
+                pidNames[count] = entry;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int parsePid(String entry) {
+        int length = entry.length();
+        if (length == 0 || length > 9) {
+            return -1;
+        }
+        int pid = 0;
+        for (int i = 0; i < length; i++) {
+            char c = entry.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            pid = pid * 10 + (c - '0');
+        }
+        return pid;
+    }
+
+    private void ensureShards(int shards) {
+        if (readers.length < shards) {
+            Reader[] grown = Arrays.copyOf(readers, shards);
+            ProcessSnapshot.Builder[] grownBuilders = Arrays.copyOf(shardBuilders, shards);
+            for (int i = readers.length; i < shards; i++) {
+                grown[i] = new Reader();
+                grownBuilders[i] = new ProcessSnapshot.Builder(MIN_SHARD_SIZE * 2);
+            }
+            readers = grown;
+            shardBuilders = grownBuilders;
+        }
+    }
+
+    private void rememberNames(ProcessSnapshot.Builder builder) {
+        int size = builder.size();
+        if (previousNames.length < size) {
+            previousStartTimes = new long[size * 2];
+            previousNames = new String[size * 2];
+            previousCommandLines = new String[size * 2];
+        }
+        previousRows.clear();
+        for (int row = 0; row < size; row++) {
+            previousRows.put(builder.getPid(row), row);
+            previousStartTimes[row] = builder.getStartTime(row);
+            previousNames[row] = builder.getName(row);
+            previousCommandLines[row] = builder.getCommandLine(row);
+        }
+    }
+
+    /**
+     * Resolves a numeric user ID through the passwd table.
+     * @param uid The user ID.
+     * @return The user name, or the numeric ID if unknown.
+     */
+    private String userName(int uid) {
+        int index = Arrays.binarySearch(uids, uid);
+        return index >= 0 ? userNames[index] : Integer.toString(uid);
+    }
+
+    /**
+     * Per-shard scanning state: one direct buffer reused for every file and a scratch array for names.
+     */
+    private final class Reader {
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private byte[] nameBytes = new byte[64];
+        private int position;
+
+        /**
+         * Scans a range of the PID list into a builder.
+         * @param from First PID index, inclusive.
+         * @param to Last PID index, exclusive.
+         * @param out Builder receiving the rows.
+         * @param now Time of the scan in milliseconds.
+         */
+        void scan(int from, int to, ProcessSnapshot.Builder out, long now) {
+            for (int i = from; i < to; i++) {
+                readProcess(pids[i], pidNames[i], out, now);
+            }
+        }
+
+        private void readProcess(int pid, String pidName, ProcessSnapshot.Builder out, long now) {
+            Path directory = procRoot.resolve(pidName);
+
+            // stat: "pid (comm) state ppid ... utime stime ... num_threads itrealvalue starttime ..."
+            if (!load(directory.resolve("stat"))) {
+                return;
+            }
+            int limit = buffer.limit();
+            int nameStart = indexOf((byte) '(', 0, limit) + 1;
+            int nameEnd = lastIndexOf((byte) ')', limit);
+            if (nameStart <= 0 || nameEnd < nameStart) {
+                return;
+            }
+            position = nameEnd + 2;
+            skipFields(1);                       // 3 state
+            int parentPid = (int) nextLong();   // 4 ppid
+            skipFields(9);                       // 5..13
+            long userTicks = nextLong();         // 14 utime
+            long kernelTicks = nextLong();       // 15 stime
+            skipFields(4);                       // 16..19
+            int threadCount = (int) nextLong();  // 20 num_threads
+            skipFields(1);                       // 21 itrealvalue
+            long startTicks = nextLong();        // 22 starttime
+
+            long startTime = bootTimeMillis + startTicks * 1000 / clockTicks;
+            String name = resolveName(pid, startTime, nameStart, nameEnd);
+
+            // status: the real UID, then the resident set size in kB; kernel threads have no VmRSS line
+            if (!load(directory.resolve("status"))) {
+                return;
+            }
+            int uidLine = indexOfField(UID_FIELD, 0);
+            String user = "N/A";
+            if (uidLine >= 0) {
+                position = uidLine;
+                skipWhitespace();
+                user = userName((int) nextLong());
+            }
+            int rssLine = indexOfField(RSS_FIELD, Math.max(0, uidLine));
+            long residentSetSize = 0;
+            if (rssLine >= 0) {
+                position = rssLine;
+                skipWhitespace();
+                residentSetSize = nextLong() * 1024;
+            }
+
+            String commandLine = resolveCommandLine(pid, startTime, name, rssLine < 0, directory);
+
+            out.add(
+                    pid,
+                    parentPid,
+                    name,
+                    user,
+                    residentSetSize,
+                    kernelTicks * 1000 / clockTicks,
+                    userTicks * 1000 / clockTicks,
+                    Math.max(0, now - startTime),
+                    startTime,
+                    threadCount
+            );
+            out.setCommandLine(out.size() - 1, commandLine);
+        }
+
+        /**
+         * Reads a whole file into the shared buffer.
+         * @param file The file to read.
+         * @return False if the file could not be read, usually because the process exited.
+         */
+        private boolean load(Path file) {
+            buffer.clear();
+            try (FileChannel channel = FileChannel.open(file)) {
+                while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                    // Keep reading until EOF or the buffer is full
+                }
+            } catch (NoSuchFileException e) {
+                return false;
+            } catch (IOException e) {
+                return false;
+            }
+            buffer.flip();
+            return true;
+        }
+
+        private String resolveName(int pid, long startTime, int from, int to) {
+            long row = previousRows.get(pid, -1);
+            if (row >= 0 && previousStartTimes[(int) row] == startTime) {
+                String previous = previousNames[(int) row];
+                if (sameAscii(previous, from, to)) {
+                    return previous;
+                }
+            }
+            int length = to - from;
+            if (nameBytes.length < length) {
+                nameBytes = new byte[length];
+            }
+            buffer.get(from, nameBytes, 0, length);
+            return new String(nameBytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Returns the command line of a process, read from {@code cmdline} only if the process is new or was
+         * renamed. An exec keeps the PID and start time but changes the name, so a renamed process is read again.
+         * An empty command line is only kept for processes without memory, such as kernel threads: a user
+         * process reads as empty until it has exec'd.
+         * @param name The name just resolved, the previous scan's instance if unchanged.
+         * @param noMemory Whether the process has no resident memory line, as kernel threads and zombies.
+         * @return Arguments separated by spaces, or an empty string for kernel threads and unreadable files.
+         */
+        private String resolveCommandLine(int pid, long startTime, String name, boolean noMemory, Path directory) {
+            long row = previousRows.get(pid, -1);
+            if (row >= 0 && previousStartTimes[(int) row] == startTime && previousNames[(int) row] == name) {
+                String previous = previousCommandLines[(int) row];
+                if (previous != null && (noMemory || !previous.isEmpty())) {
+                    return previous;
+                }
+            }
+            if (!load(directory.resolve("cmdline"))) {
+                return "";
+            }
+            // Arguments are NUL-terminated; drop the trailing ones and join the rest with spaces
+            int length = buffer.limit();
+            while (length > 0 && buffer.get(length - 1) == 0) {
+                length--;
+            }
+            if (length == 0) {
+                return "";
+            }
+            if (nameBytes.length < length) {
+                nameBytes = new byte[length];
+            }
+            buffer.get(0, nameBytes, 0, length);
+            for (int i = 0; i < length; i++) {
+                if (nameBytes[i] == 0) {
+                    nameBytes[i] = ' ';
+                }
+            }
+            return new String(nameBytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private boolean sameAscii(String name, int from, int to) {
+            if (name.length() != to - from) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                byte b = buffer.get(from + i);
+                if (b < 0 || b != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int indexOf(byte value, int from, int limit) {
+            for (int i = from; i < limit; i++) {
+                if (buffer.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int lastIndexOf(byte value, int limit) {
+            for (int i = limit - 1; i >= 0; i--) {
+                if (buffer.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Finds the value of a line of a status file, such as "Uid:".
+         * @param field The field name with its colon.
+         * @param from Position to search from.
+         * @return Position right after the field name, or -1 if absent.
+         */
+        private int indexOfField(byte[] field, int from) {
+            int limit = buffer.limit() - field.length;
+            for (int i = from; i < limit; i++) {
+                if ((i == 0 || buffer.get(i - 1) == '\n') && startsWith(field, i)) {
+                    return i + field.length;
+                }
+            }
+            return -1;
+        }
+
+        private boolean startsWith(byte[] field, int at) {
+            for (int j = 0; j < field.length; j++) {
+                if (buffer.get(at + j) != field[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void skipWhitespace() {
+            int limit = buffer.limit();
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b != ' ' && b != '\t') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private void skipFields(int count) {
+            int limit = buffer.limit();
+            for (int i = 0; i < count && position < limit; i++) {
+                while (position < limit && buffer.get(position) != ' ') {
+                    position++;
+                }
+                position++;
+            }
+        }
+
+        /**
+         * Parses the decimal number at the current position and moves past its separator.
+         * @return The parsed value, or 0 if there is no number.
+         */
+        private long nextLong() {
+            int limit = buffer.limit();
+            boolean negative = position < limit && buffer.get(position) == '-';
+            if (negative) {
+                position++;
+            }
+            long value = 0;
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b < '0' || b > '9') {
+                    break;
+                }
+                value = value * 10 + (b - '0');
+                position++;
+            }
+            position++;
+            return negative ? -value : value;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.exodus.glimpse.sampling;
+
+import com.exodus.glimpse.diagnostics.CollectorStats;
+import com.exodus.glimpse.diagnostics.Diagnostics;
+import oshi.PlatformEnum;
+import oshi.SystemInfo;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.VirtualMemory;
+import oshi.software.os.OperatingSystem;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Central sampler shared by all monitors. Owns the only OSHI {@link SystemInfo} instance and the only
+ * sampling thread, takes one {@link SystemSnapshot} per tick and hands it to every due subscription.
+ * Processes are enumerated at most once per tick, and only when a due subscription needs them.
+ */
+public final class SamplingEngine {
+    /** Base tick of the engine in milliseconds, the finest interval a subscription can run at. */
+    public static final long TICK_MILLIS = 250;
+    /** Process tables younger than this are reused instead of enumerating again for fast subscriptions. */
+    private static final long MIN_PROCESS_INTERVAL_MILLIS = 1000;
+
+    private static final SamplingEngine INSTANCE = new SamplingEngine();
+
+    private final SystemInfo systemInfo;
+    private final HardwareAbstractionLayer hardware;
+    private final OperatingSystem os;
+    private final CentralProcessor processor;
+    private final GlobalMemory memory;
+
+    private final ProcessCollector processCollector;
+    private final ProcessCpuTracker cpuTracker = new ProcessCpuTracker();
+    private final CollectorStats snapshotStats = Diagnostics.get("Engine.takeSnapshot");
+    private final CollectorStats processStats = Diagnostics.get("Engine.collectProcesses");
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "glimpse-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Subscriptions due in the current tick, only used on the sampling thread. */
+    private final List<Subscription> due = new ArrayList<>();
+    private long[] previousTicks;
+    private int lastProcessCount = 256;
+    private ProcessSnapshot lastProcesses;
+    private volatile SystemSnapshot latest;
+    private boolean started;
+
+    private SamplingEngine() {
+        this.systemInfo = new SystemInfo();
+        this.hardware = systemInfo.getHardware();
+        this.os = systemInfo.getOperatingSystem();
+        this.processor = hardware.getProcessor();
+        this.memory = hardware.getMemory();
+        this.previousTicks = processor.getSystemCpuLoadTicks();
+        this.processCollector = createProcessCollector(os);
+    }
+
+    /**
+     * Picks the direct procfs reader on Linux and OSHI everywhere else.
+     * The procfs path can be disabled with {@code -Dglimpse.procfs=false}.
+     * @param os The OSHI operating system, used as fallback.
+     * @return The process collector to use.
+     */
+    private static ProcessCollector createProcessCollector(OperatingSystem os) {
+        if (SystemInfo.getCurrentPlatform() == PlatformEnum.LINUX
+                && Boolean.parseBoolean(System.getProperty("glimpse.procfs", "true"))
+                && ProcfsProcessCollector.isSupported()) {
+            try {
+                return new ProcfsProcessCollector();
+            } catch (UncheckedIOException | IllegalStateException e) {
+                System.err.println("Falling back to OSHI process enumeration: " + e.getMessage());
+            }
+        }
+        return new OshiProcessCollector(os);
+    }
+
+    /**
+     * Returns the engine shared by the whole application.
+     * @return The sampling engine.
+     */
+    public static SamplingEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a listener that receives a snapshot every {@code intervalMillis} while it is acquired,
+     * and every {@code backgroundIntervalMillis} otherwise. The engine starts ticking with the first subscription.
+     * @param name Name of the collector, used in error messages.
+     * @param intervalMillis Interval between deliveries while acquired, in milliseconds.
+     * @param backgroundIntervalMillis Interval between deliveries while not acquired, or 0 to pause.
+     * @param listener Callback invoked on the sampling thread.
+     * @return The subscription handle, used to acquire, release and cancel it.
+     */
+    public Subscription subscribe(String name, long intervalMillis, long backgroundIntervalMillis,
+                                  Consumer<SystemSnapshot> listener) {
+        return subscribe(name, AdaptiveInterval.fixed(intervalMillis), backgroundIntervalMillis, () -> false, listener);
+    }
+
+    /**
+     * Registers a listener like {@link #subscribe(String, long, long, Consumer)}, whose snapshots include
+     * the shared process table whenever the subscription is acquired and {@code needsProcesses} returns true.
+     * @param name Name of the collector, used in error messages.
+     * @param interval Interval between deliveries while acquired, possibly adapting to the metric.
+     * @param backgroundIntervalMillis Interval between deliveries while not acquired, or 0 to pause.
+     * @param needsProcesses Tells the engine whether to enumerate processes for this listener.
+     * @param listener Callback invoked on the sampling thread.
+     * @return The subscription handle, used to acquire, release and cancel it.
+     */
+    public synchronized Subscription subscribe(String name, AdaptiveInterval interval, long backgroundIntervalMillis,
+                                               BooleanSupplier needsProcesses, Consumer<SystemSnapshot> listener) {
+        Subscription subscription = new Subscription(this, name, interval, backgroundIntervalMillis,
+                needsProcesses, listener);
+        subscriptions.add(subscription);
+        if (!started) {
+            scheduler.scheduleAtFixedRate(this::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            started = true;
+        }
+        return subscription;
+    }
+
+    /**
+     * Removes a subscription from the engine.
+     * @param subscription The subscription to remove.
+     */
+    void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Takes one snapshot if any subscription is due and delivers it to all due subscriptions.
+     */
+    private void tick() {
+        long now = System.currentTimeMillis();
+
+        // Due subscriptions are collected once: acquire() on the JavaFX thread can change an interval meanwhile,
+        // and a subscription only found due afterwards would get a snapshot taken without its processes
+        due.clear();
+        boolean needsProcesses = false;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.isDue(now)) {
+                due.add(subscription);
+                needsProcesses |= subscription.needsProcesses();
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        SystemSnapshot snapshot;
+        long allocated = Diagnostics.allocatedBytes();
+        long started = System.nanoTime();
+        try {
+            snapshot = takeSnapshot(now, needsProcesses);
+            snapshotStats.recordSince(started, allocated, false);
+        } catch (RuntimeException e) {
+            snapshotStats.recordSince(started, allocated, true);
+            System.err.println("Error taking system snapshot: " + e.getMessage());
+            return;
+        }
+        latest = snapshot;
+
+        for (Subscription subscription : due) {
+            if (!subscription.isCancelled()) {
+                subscription.dispatch(snapshot, now);
+            }
+        }
+        due.clear();
+    }
+
+    /**
+     * Samples the shared system counters once.
+     * @param now Time of the sample in milliseconds.
+     * @param withProcesses Whether to enumerate processes in this tick.
+     * @return The new snapshot.
+     */
+    private SystemSnapshot takeSnapshot(long now, boolean withProcesses) {
+        double cpuLoad = processor.getSystemCpuLoadBetweenTicks(previousTicks) * 100;
+        previousTicks = processor.getSystemCpuLoadTicks();
+
+        long maxFreq = 0;
+        for (long freq : processor.getCurrentFreq()) {
+            if (freq > maxFreq) {
+                maxFreq = freq;
+            }
+        }
+
+        VirtualMemory virtualMemory = memory.getVirtualMemory();
+
+        return new SystemSnapshot(
+                now,
+                cpuLoad,
+                maxFreq,
+                hardware.getSensors().getCpuTemperature(),
+                memory.getTotal(),
+                memory.getAvailable(),
+                virtualMemory.getSwapTotal(),
+                virtualMemory.getSwapUsed(),
+                os.getProcessCount(),
+                os.getThreadCount(),
+                withProcesses ? processesFor(now) : null
+        );
+    }
+
+    /**
+     * Returns the process table for a tick, reusing the previous one while it is fresh enough.
+     * Enumerating at the engine's sub-second tick would cost more and make per-process CPU noisy.
+     * @param now Time of the tick in milliseconds.
+     * @return The process table.
+     */
+    private ProcessSnapshot processesFor(long now) {
+        if (lastProcesses == null || now - lastProcesses.getTimestamp() >= MIN_PROCESS_INTERVAL_MILLIS - TICK_MILLIS / 2) {
+            lastProcesses = collectProcesses(now);
+        }
+        return lastProcesses;
+    }
+
+    /**
+     * Enumerates all processes once, computes their CPU usage since the previous enumeration
+     * and freezes them into a shared table.
+     * @param now Time of the enumeration in milliseconds.
+     * @return The process table.
+     */
+    private ProcessSnapshot collectProcesses(long now) {
+        long allocated = Diagnostics.allocatedBytes();
+        long started = System.nanoTime();
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(lastProcessCount + lastProcessCount / 8);
+        processCollector.collect(builder, now);
+        lastProcessCount = builder.size();
+        cpuTracker.update(builder, now);
+        ProcessSnapshot processes = builder.build(now);
+        processStats.recordSince(started, allocated, false);
+        return processes;
+    }
+
+    /**
+     * Returns the most recent snapshot, or null before the first tick.
+     * @return The latest snapshot.
+     */
+    public SystemSnapshot getLatest() {
+        return latest;
+    }
+
+    public SystemInfo getSystemInfo() { return systemInfo; }
+    public HardwareAbstractionLayer getHardware() { return hardware; }
+    public OperatingSystem getOperatingSystem() { return os; }
+
+    /**
+     * Stops the sampling thread.
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
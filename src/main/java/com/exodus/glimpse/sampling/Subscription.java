@@ -0,0 +1,124 @@
+package com.exodus.glimpse.sampling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * A listener registered with the {@link SamplingEngine} together with the interval it wants to be called at.
+ * <p>
+ * Subscriptions are demand-driven: they run at their full interval only while at least one consumer
+ * (a visible panel, a history recorder, ...) holds them through {@link #acquire()}. Without demand they
+ * fall back to their background interval, or stop entirely if that interval is 0.
+ */
+public final class Subscription {
+    private final SamplingEngine engine;
+    private final String name;
+    private final Consumer<SystemSnapshot> listener;
+    private final AdaptiveInterval interval;
+    private final long backgroundIntervalMillis;
+    private final BooleanSupplier needsProcesses;
+    private final AtomicInteger demand = new AtomicInteger();
+
+    /** Time of the last delivery in milliseconds, or 0 to deliver on the next tick. */
+    private final AtomicLong lastDispatchMillis = new AtomicLong();
+    private volatile boolean cancelled;
+
+    Subscription(SamplingEngine engine, String name, AdaptiveInterval interval, long backgroundIntervalMillis,
+                 BooleanSupplier needsProcesses, Consumer<SystemSnapshot> listener) {
+        this.engine = engine;
+        this.name = name;
+        this.interval = interval;
+        this.backgroundIntervalMillis = backgroundIntervalMillis;
+        this.needsProcesses = needsProcesses;
+        this.listener = listener;
+    }
+
+    /**
+     * Registers a consumer of this subscription's data, switching it to its full interval.
+     * The first consumer also makes it due on the next tick so fresh data shows up right away.
+     */
+    public void acquire() {
+        if (demand.getAndIncrement() == 0) {
+            lastDispatchMillis.set(0);
+        }
+    }
+
+    /**
+     * Unregisters a consumer added with {@link #acquire()}. Without consumers the subscription
+     * drops back to its background interval.
+     */
+    public void release() {
+        demand.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Checks whether any consumer currently holds this subscription.
+     * @return True if the subscription runs at its full interval.
+     */
+    public boolean isDemanded() {
+        return demand.get() > 0;
+    }
+
+    /**
+     * Returns the interval the subscription currently runs at.
+     * @return Interval in milliseconds, or 0 if it is paused.
+     */
+    public long getCurrentIntervalMillis() {
+        return isDemanded() ? interval.getMillis() : backgroundIntervalMillis;
+    }
+
+    /**
+     * Checks whether the listener currently needs the process table in its snapshot.
+     * Processes are only enumerated for subscriptions somebody is looking at.
+     * @return True if the engine should enumerate processes for this subscription.
+     */
+    boolean needsProcesses() {
+        return isDemanded() && needsProcesses.getAsBoolean();
+    }
+
+    /**
+     * Checks whether this subscription should receive the snapshot of the current tick. The interval is read
+     * here rather than when the last snapshot was delivered, so a spike the listener observed in that snapshot,
+     * or a remote poll observed since, shortens the wait right away.
+     * @param now Current time in milliseconds.
+     * @return True if the subscription is due.
+     */
+    boolean isDue(long now) {
+        long intervalMillis = getCurrentIntervalMillis();
+        // Allow half a tick of jitter so an interval does not slip by a whole tick
+        return !cancelled && intervalMillis > 0
+                && now - lastDispatchMillis.get() >= intervalMillis - SamplingEngine.TICK_MILLIS / 2;
+    }
+
+    /**
+     * Hands a snapshot to the listener and records the delivery.
+     * @param snapshot The snapshot of the current tick.
+     * @param now Current time in milliseconds.
+     */
+    void dispatch(SystemSnapshot snapshot, long now) {
+        long previous = lastDispatchMillis.get();
+        try {
+            listener.accept(snapshot);
+        } catch (RuntimeException e) {
+            System.err.println("Sampling error in " + name + ": " + e.getMessage());
+        } finally {
+            // Unless a new consumer asked for the next tick in the meantime
+            lastDispatchMillis.compareAndSet(previous, now);
+        }
+    }
+
+    /**
+     * Stops delivering snapshots to this subscription.
+     */
+    public void cancel() {
+        cancelled = true;
+        engine.unsubscribe(this);
+    }
+
+    public String getName() { return name; }
+    public AdaptiveInterval getInterval() { return interval; }
+    public long getBackgroundIntervalMillis() { return backgroundIntervalMillis; }
+    public boolean isCancelled() { return cancelled; }
+}
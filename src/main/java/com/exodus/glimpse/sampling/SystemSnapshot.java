@@ -0,0 +1,62 @@
+package com.exodus.glimpse.sampling;
+
+/**
+ * Immutable view of the system taken by the {@link SamplingEngine} in a single tick.
+ * Every subscriber of the same tick receives the same instance.
+ */
+public final class SystemSnapshot {
+    private final long timestamp;
+    private final double cpuLoad;
+    private final long maxCpuFrequency;
+    private final double cpuTemperature;
+    private final long memoryTotal;
+    private final long memoryAvailable;
+    private final long swapTotal;
+    private final long swapUsed;
+    private final int processCount;
+    private final int threadCount;
+    private final ProcessSnapshot processes;
+
+    /**
+     * Creates a new snapshot with the values sampled in one tick.
+     * @param timestamp Time of the sample in epoch milliseconds.
+     * @param cpuLoad System CPU load since the previous snapshot, in percent.
+     * @param maxCpuFrequency Highest current core frequency in Hz.
+     * @param cpuTemperature CPU temperature in degrees Celsius, or 0 if unavailable.
+     * @param memoryTotal Total physical memory in bytes.
+     * @param memoryAvailable Available physical memory in bytes.
+     * @param swapTotal Total swap space in bytes.
+     * @param swapUsed Used swap space in bytes.
+     * @param processCount Number of running processes.
+     * @param threadCount Number of running threads.
+     * @param processes Process table of this tick, or null if no subscriber asked for it.
+     */
+    public SystemSnapshot(long timestamp, double cpuLoad, long maxCpuFrequency, double cpuTemperature,
+                          long memoryTotal, long memoryAvailable, long swapTotal, long swapUsed,
+                          int processCount, int threadCount, ProcessSnapshot processes) {
+        this.timestamp = timestamp;
+        this.cpuLoad = cpuLoad;
+        this.maxCpuFrequency = maxCpuFrequency;
+        this.cpuTemperature = cpuTemperature;
+        this.memoryTotal = memoryTotal;
+        this.memoryAvailable = memoryAvailable;
+        this.swapTotal = swapTotal;
+        this.swapUsed = swapUsed;
+        this.processCount = processCount;
+        this.threadCount = threadCount;
+        this.processes = processes;
+    }
+
+    public long getTimestamp() { return timestamp; }
+    public double getCpuLoad() { return cpuLoad; }
+    public long getMaxCpuFrequency() { return maxCpuFrequency; }
+    public double getCpuTemperature() { return cpuTemperature; }
+    public long getMemoryTotal() { return memoryTotal; }
+    public long getMemoryAvailable() { return memoryAvailable; }
+    public long getMemoryUsed() { return memoryTotal - memoryAvailable; }
+    public long getSwapTotal() { return swapTotal; }
+    public long getSwapUsed() { return swapUsed; }
+    public int getProcessCount() { return processCount; }
+    public int getThreadCount() { return threadCount; }
+    public ProcessSnapshot getProcesses() { return processes; }
+}
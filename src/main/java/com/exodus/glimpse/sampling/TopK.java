@@ -0,0 +1,149 @@
+package com.exodus.glimpse.sampling;
+
+/**
+ * Selects the indices of the {@code k} largest values of a primitive key column in O(n log k),
+ * using a bounded min-heap of row indices. Keys are read straight from the column, so nothing is
+ * recomputed per comparison. Ties are broken by the lower index to keep results stable.
+ * <p>
+ * An instance reuses its heap between calls and is not thread-safe.
+ */
+public final class TopK {
+    private final int k;
+    private final int[] heap;
+    private int size;
+
+    /**
+     * Creates a selector for the {@code k} largest values.
+     * @param k Number of indices to select.
+     */
+    public TopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        this.k = k;
+        this.heap = new int[k];
+    }
+
+    /**
+     * Selects the largest values of a {@code double} column.
+     * @param keys The key column.
+     * @param count Number of leading entries of {@code keys} to consider.
+     * @return Indices of the largest keys, highest first.
+     */
+    public int[] select(double[] keys, int count) {
+        size = 0;
+        for (int i = 0; i < count && k > 0; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(keys, size++);
+            } else if (greater(keys, i, heap[0])) {
+                heap[0] = i;
+                siftDown(keys, 0);
+            }
+        }
+
+        int[] result = new int[size];
+        while (size > 0) {
+            result[size - 1] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(keys, 0);
+        }
+        return result;
+    }
+
+    /**
+     * Selects the largest values of a {@code long} column.
+     * @param keys The key column.
+     * @param count Number of leading entries of {@code keys} to consider.
+     * @return Indices of the largest keys, highest first.
+     */
+    public int[] select(long[] keys, int count) {
+        size = 0;
+        for (int i = 0; i < count && k > 0; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(keys, size++);
+            } else if (greater(keys, i, heap[0])) {
+                heap[0] = i;
+                siftDown(keys, 0);
+            }
+        }
+
+        int[] result = new int[size];
+        while (size > 0) {
+            result[size - 1] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(keys, 0);
+        }
+        return result;
+    }
+
+    private static boolean greater(double[] keys, int a, int b) {
+        int order = Double.compare(keys[a], keys[b]);
+        return order > 0 || (order == 0 && a < b);
+    }
+
+    private static boolean greater(long[] keys, int a, int b) {
+        return keys[a] > keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void siftUp(double[] keys, int position) {
+        int index = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!greater(keys, heap[parent], index)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = index;
+    }
+
+    private void siftDown(double[] keys, int position) {
+        int index = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && greater(keys, heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!greater(keys, index, heap[child])) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = index;
+    }
+
+    private void siftUp(long[] keys, int position) {
+        int index = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!greater(keys, heap[parent], index)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = index;
+    }
+
+    private void siftDown(long[] keys, int position) {
+        int index = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && greater(keys, heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!greater(keys, index, heap[child])) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = index;
+    }
+}
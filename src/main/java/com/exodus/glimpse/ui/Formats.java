@@ -0,0 +1,203 @@
+package com.exodus.glimpse.ui;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Formats numbers, byte counts and transfer speeds for labels and table cells.
+ * <p>
+ * Values are written with fixed-point arithmetic, with at most two decimals and no trailing zeros (like the
+ * {@code "#.##"} pattern used before), into a per-thread {@link StringBuilder}, so formatting is safe from the
+ * sampling and JavaFX threads alike and allocates only the returned String. The {@code append} variants write
+ * into a caller's builder and allocate nothing. Labels for common values (percentages and decimals between 0
+ * and 100, byte counts below 1 KB) are cached and shared.
+ */
+public final class Formats {
+    private static final long KB = 1024;
+    private static final long MB = KB * 1024;
+    private static final long GB = MB * 1024;
+    /** Largest magnitude formatted with decimals; larger values are rounded to whole numbers. */
+    private static final double MAX_FIXED_POINT = 1e15;
+    /** Values from 0 to 100 in hundredths are cached. */
+    private static final int CACHED_HUNDREDTHS = 100 * 100;
+
+    private static final char DECIMAL_SEPARATOR = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    // Filled lazily; a race only means a label is built twice
+    private static final String[] DECIMAL_LABELS = new String[CACHED_HUNDREDTHS + 1];
+    private static final String[] PERCENT_LABELS = new String[CACHED_HUNDREDTHS + 1];
+    private static final String[] BYTE_LABELS = new String[(int) KB];
+
+    private Formats() {
+    }
+
+    /**
+     * Formats a number with at most two decimals.
+     * @param value The value to format.
+     * @return The formatted value, such as "12.5".
+     */
+    public static String decimal(double value) {
+        int cached = cacheIndex(value);
+        if (cached >= 0) {
+            String label = DECIMAL_LABELS[cached];
+            if (label == null) {
+                label = appendDecimal(buffer(), value).toString();
+                DECIMAL_LABELS[cached] = label;
+            }
+            return label;
+        }
+        return appendDecimal(buffer(), value).toString();
+    }
+
+    /**
+     * Formats a percentage with at most two decimals.
+     * @param value The percentage, usually between 0 and 100.
+     * @return The formatted value, such as "42.17%".
+     */
+    public static String percent(double value) {
+        int cached = cacheIndex(value);
+        if (cached >= 0) {
+            String label = PERCENT_LABELS[cached];
+            if (label == null) {
+                label = appendDecimal(buffer(), value).append('%').toString();
+                PERCENT_LABELS[cached] = label;
+            }
+            return label;
+        }
+        return appendDecimal(buffer(), value).append('%').toString();
+    }
+
+    /**
+     * Formats a number followed by a unit.
+     * @param value The value to format.
+     * @param unit The text appended after the number, such as " GHz" or "°C".
+     * @return The formatted value, such as "3.4 GHz".
+     */
+    public static String withUnit(double value, String unit) {
+        return appendDecimal(buffer(), value).append(unit).toString();
+    }
+
+    /**
+     * Formats a byte count with the largest fitting unit (B, KB, MB or GB).
+     * @param bytes The number of bytes.
+     * @return The formatted size, such as "1.5 GB".
+     */
+    public static String bytes(long bytes) {
+        if (bytes >= 0 && bytes < KB) {
+            String label = BYTE_LABELS[(int) bytes];
+            if (label == null) {
+                label = appendBytes(buffer(), bytes).toString();
+                BYTE_LABELS[(int) bytes] = label;
+            }
+            return label;
+        }
+        return appendBytes(buffer(), bytes).toString();
+    }
+
+    /**
+     * Formats a transfer speed in KB/s or MB/s.
+     * @param kbps The speed in kilobytes per second.
+     * @return The formatted speed, such as "12.5 MB/s".
+     */
+    public static String speed(double kbps) {
+        return appendSpeed(buffer(), kbps).toString();
+    }
+
+    /**
+     * Appends a number with at most two decimals and no trailing zeros.
+     * @param out The builder to append to.
+     * @param value The value to format.
+     * @return The builder.
+     */
+    public static StringBuilder appendDecimal(StringBuilder out, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return out.append(value);
+        }
+        double magnitude = Math.abs(value);
+        if (magnitude >= MAX_FIXED_POINT) {
+            return out.append(Math.round(value));
+        }
+
+        long hundredths = hundredths(magnitude);
+        if (value < 0) {
+            out.append('-');
+        }
+        out.append(hundredths / 100);
+        int fraction = (int) (hundredths % 100);
+        if (fraction != 0) {
+            out.append(DECIMAL_SEPARATOR).append((char) ('0' + fraction / 10));
+            if (fraction % 10 != 0) {
+                out.append((char) ('0' + fraction % 10));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Appends a byte count with the largest fitting unit (B, KB, MB or GB).
+     * @param out The builder to append to.
+     * @param bytes The number of bytes.
+     * @return The builder.
+     */
+    public static StringBuilder appendBytes(StringBuilder out, long bytes) {
+        if (bytes < KB) {
+            return out.append(bytes).append(" B");
+        } else if (bytes < MB) {
+            return appendDecimal(out, bytes / (double) KB).append(" KB");
+        } else if (bytes < GB) {
+            return appendDecimal(out, bytes / (double) MB).append(" MB");
+        }
+        return appendDecimal(out, bytes / (double) GB).append(" GB");
+    }
+
+    /**
+     * Appends a transfer speed in KB/s, or in MB/s from 1000 KB/s on.
+     * @param out The builder to append to.
+     * @param kbps The speed in kilobytes per second.
+     * @return The builder.
+     */
+    public static StringBuilder appendSpeed(StringBuilder out, double kbps) {
+        if (kbps < 1000) {
+            return appendDecimal(out, kbps).append(" KB/s");
+        }
+        return appendDecimal(out, kbps / 1024.0).append(" MB/s");
+    }
+
+    /**
+     * Rounds a non-negative value to hundredths, half to even on its exact binary value, as DecimalFormat does.
+     * The product with 100 is off by at most half an ulp, so it only decides the rounding when it is not that
+     * close to a tie; near ties, such as 0.005 (slightly above) or 41.635 (slightly below), BigDecimal does.
+     * @param magnitude The value, below {@link #MAX_FIXED_POINT}.
+     * @return The value in hundredths.
+     */
+    private static long hundredths(double magnitude) {
+        double scaled = magnitude * 100;
+        double fraction = scaled - Math.floor(scaled);
+        if (scaled < 0x1p52 && Math.abs(fraction - 0.5) > 2 * Math.ulp(scaled)) {
+            return (long) Math.rint(scaled);
+        }
+        return new BigDecimal(magnitude).setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValue();
+    }
+
+    /**
+     * Returns the cache slot of a value between 0 and 100, by its rounded hundredths.
+     * @return The slot, or -1 if the value is not cached.
+     */
+    private static int cacheIndex(double value) {
+        if (value >= 0 && value <= 100) {
+            return (int) hundredths(value);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns this thread's buffer, emptied.
+     */
+    private static StringBuilder buffer() {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        return buffer;
+    }
+}
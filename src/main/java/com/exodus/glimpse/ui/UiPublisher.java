@@ -0,0 +1,105 @@
+package com.exodus.glimpse.ui;
+
+import com.exodus.glimpse.diagnostics.Diagnostics;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.value.WritableValue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Applies UI updates from collector threads once per frame instead of one {@code Platform.runLater} task
+ * per update. Updates are keyed by their target: a newer update for the same property, list or chart replaces
+ * the pending one, and a property is only set if its value actually changed.
+ * <p>
+ * Pending updates are applied from an {@link AnimationTimer}, so they land together at the start of a pulse.
+ * The timer only runs while there is work, so an idle Glimpse does not request pulses.
+ */
+public final class UiPublisher {
+    private static final UiPublisher INSTANCE = new UiPublisher();
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            flush();
+        }
+    };
+
+    /** Updates waiting for the next frame, guarded by this. */
+    private Map<Object, Runnable> pending = new LinkedHashMap<>();
+    /** Updates being applied, only touched on the JavaFX thread. */
+    private Map<Object, Runnable> applying = new LinkedHashMap<>();
+    /** Whether the timer is running or about to start, guarded by this. */
+    private boolean scheduled;
+
+    private UiPublisher() {
+    }
+
+    /**
+     * Returns the shared publisher.
+     * @return The publisher instance.
+     */
+    public static UiPublisher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets a property on the next frame, unless a later call replaces the value first.
+     * @param property The property to update.
+     * @param value The new value; the property is left alone if it already holds an equal value.
+     * @param <T> Type of the property's value.
+     */
+    public <T> void set(WritableValue<T> property, T value) {
+        submit(property, () -> {
+            if (!Objects.equals(property.getValue(), value)) {
+                property.setValue(value);
+            }
+        });
+    }
+
+    /**
+     * Runs an update on the next frame, replacing any pending update with the same key.
+     * @param key Identifies what the update writes to, such as the list or chart it refreshes.
+     * @param update The update, run on the JavaFX application thread.
+     */
+    public void submit(Object key, Runnable update) {
+        boolean start;
+        synchronized (this) {
+            pending.put(key, update);
+            start = !scheduled;
+            scheduled = true;
+        }
+        if (start) {
+            Platform.runLater(timer::start);
+        }
+    }
+
+    /**
+     * Applies all pending updates, stopping the timer if there were none.
+     */
+    private void flush() {
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                timer.stop();
+                scheduled = false;
+                return;
+            }
+            Map<Object, Runnable> swap = applying;
+            applying = pending;
+            pending = swap;
+        }
+
+        Diagnostics.measure("UI.flush", () -> {
+            for (Runnable update : applying.values()) {
+                try {
+                    update.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error applying UI update: " + e.getMessage());
+                }
+            }
+        });
+        applying.clear();
+    }
+}
@@ -8,6 +8,8 @@ module com.exodus.glimpse {
     requires org.kordamp.bootstrapfx.core;
     requires eu.hansolo.tilesfx;
     requires java.management;
+    requires jdk.management;
+    requires java.net.http;
     requires com.github.oshi;
     requires com.sun.jna;
     requires jsch;
@@ -16,5 +18,10 @@ module com.exodus.glimpse {
     opens com.exodus.glimpse to javafx.fxml;
     exports com.exodus.glimpse;
     exports com.exodus.glimpse.models;
+    exports com.exodus.glimpse.sampling;
+    exports com.exodus.glimpse.diagnostics;
+    exports com.exodus.glimpse.history;
+    exports com.exodus.glimpse.chart;
+    exports com.exodus.glimpse.ui;
     opens com.exodus.glimpse.models to javafx.fxml;
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.exodus.glimpse;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RemoteProcessTableTest {
+    private static final String FULL = "{\"seq\": 5, \"full\": ["
+            + "{\"pid\": 1, \"name\": \"init\", \"cpu_percent\": 0.5},"
+            + "{\"pid\": 7, \"name\": \"sshd\", \"cpu_percent\": 1.0},"
+            + "{\"pid\": 9, \"name\": \"bash\", \"cpu_percent\": 0}]}";
+
+    @Test
+    void passesPlainListsThrough() {
+        RemoteProcessTable table = new RemoteProcessTable();
+        JSONArray list = new JSONArray("[{\"pid\": 1}]");
+
+        assertSame(list, table.apply(list));
+        assertEquals(0, table.getSequence());
+    }
+
+    @Test
+    void holdsFullList() {
+        RemoteProcessTable table = new RemoteProcessTable();
+        JSONArray list = table.apply(new JSONObject(FULL));
+
+        assertEquals(3, list.length());
+        assertEquals(5, table.getSequence());
+    }
+
+    @Test
+    void appliesDelta() {
+        RemoteProcessTable table = new RemoteProcessTable();
+        JSONArray before = table.apply(new JSONObject(FULL));
+        JSONArray after = table.apply(new JSONObject("{\"seq\": 6, \"base\": 5,"
+                + "\"added\": [{\"pid\": 12, \"name\": \"vim\", \"cpu_percent\": 2}],"
+                + "\"changed\": [{\"pid\": 7, \"cpu_percent\": 3.5}],"
+                + "\"removed\": [9]}"));
+
+        assertEquals(6, table.getSequence());
+        assertEquals(3, after.length());
+        assertEquals(1, after.getJSONObject(0).getInt("pid"));
+        assertEquals("sshd", after.getJSONObject(1).getString("name"));
+        assertEquals(3.5, after.getJSONObject(1).getDouble("cpu_percent"));
+        assertEquals(12, after.getJSONObject(2).getInt("pid"));
+        // Lists and rows already handed out are left as they were
+        assertEquals(3, before.length());
+        assertEquals(1.0, before.getJSONObject(1).getDouble("cpu_percent"));
+        assertSame(before.getJSONObject(0), after.getJSONObject(0));
+    }
+
+    @Test
+    void ranksDeltaListByUsage() {
+        RemoteProcessTable table = new RemoteProcessTable();
+        table.apply(new JSONObject(FULL));
+        JSONArray list = table.apply(new JSONObject("{\"seq\": 6, \"base\": 5,"
+                + "\"added\": [{\"pid\": 12, \"name\": \"vim\", \"cpu_percent\": 2}],"
+                + "\"changed\": [{\"pid\": 1, \"cpu_percent\": 4}]}"));
+        RemoteSnapshot snapshot = new RemoteSnapshot(0, new JSONObject().put("processes", list));
+
+        // The list keeps arrival order: init, sshd, bash, vim
+        int[] top = snapshot.topProcessesByCpu(3);
+        assertEquals(3, top.length);
+        assertEquals(1, list.getJSONObject(top[0]).getInt("pid"));
+        assertEquals(12, list.getJSONObject(top[1]).getInt("pid"));
+        assertEquals(7, list.getJSONObject(top[2]).getInt("pid"));
+    }
+
+    @Test
+    void dropsListWhenDeltaDoesNotFollowIt() {
+        RemoteProcessTable table = new RemoteProcessTable();
+        table.apply(new JSONObject(FULL));
+
+        assertNull(table.apply(new JSONObject("{\"seq\": 8, \"base\": 7, \"removed\": [1]}")));
+        assertEquals(0, table.getSequence());
+        // With nothing held, even a delta from 0 cannot be applied
+        assertNull(table.apply(new JSONObject("{\"seq\": 9, \"base\": 0, \"removed\": [1]}")));
+    }
+
+    @Test
+    void ignoresDeltaAlreadyApplied() {
+        RemoteProcessTable table = new RemoteProcessTable();
+        table.apply(new JSONObject(FULL));
+        JSONArray current = table.apply(new JSONObject("{\"seq\": 6, \"base\": 5, \"removed\": [9]}"));
+
+        assertSame(current, table.apply(new JSONObject("{\"seq\": 6, \"base\": 5, \"removed\": [9]}")));
+        assertSame(current, table.apply(new JSONObject("{\"seq\": 4, \"base\": 3, \"removed\": [1]}")));
+        assertEquals(6, table.getSequence());
+    }
+
+    @Test
+    void dropsListWhenChangedProcessIsUnknown() {
+        RemoteProcessTable table = new RemoteProcessTable();
+        table.apply(new JSONObject(FULL));
+
+        assertNull(table.apply(new JSONObject("{\"seq\": 6, \"base\": 5, \"changed\": [{\"pid\": 99}]}")));
+        assertEquals(0, table.getSequence());
+    }
+
+    @Test
+    void dropsListOnMalformedSection() {
+        RemoteProcessTable table = new RemoteProcessTable();
+        table.apply(new JSONObject(FULL));
+
+        assertThrows(JSONException.class, () -> table.apply(new JSONObject("{\"seq\": 6, \"base\": 5,"
+                + "\"added\": [{\"name\": \"no pid\"}]}")));
+        assertEquals(0, table.getSequence());
+        assertThrows(JSONException.class, () -> table.apply("not a section"));
+    }
+}
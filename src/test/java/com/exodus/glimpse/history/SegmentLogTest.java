@@ -0,0 +1,139 @@
+package com.exodus.glimpse.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SegmentLogTest {
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final long START = System.currentTimeMillis() - 60_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysAppendedRecords() throws IOException {
+        SegmentLog log = open(100);
+        int cpu = log.metricId("cpu.usage");
+        int ram = log.metricId("ram.usage");
+        log.append(cpu, START, 12.5);
+        log.append(ram, START + 1, 40);
+        log.append(cpu, START + 1000, 13);
+
+        assertEquals(List.of("cpu.usage@" + START + "=12.5", "ram.usage@" + (START + 1) + "=40.0",
+                "cpu.usage@" + (START + 1000) + "=13.0"), replay(log, 0));
+        assertEquals(1, replay(log, START + 1000).size());
+        log.close();
+    }
+
+    @Test
+    void reopensWhereItLeftOff() throws IOException {
+        SegmentLog log = open(100);
+        int cpu = log.metricId("cpu.usage");
+        log.append(cpu, START, 1);
+        log.close();
+
+        SegmentLog reopened = open(100);
+        assertEquals(cpu, reopened.metricId("cpu.usage"));
+        reopened.append(cpu, START + 1000, 2);
+        assertEquals(List.of("cpu.usage@" + START + "=1.0", "cpu.usage@" + (START + 1000) + "=2.0"),
+                replay(reopened, 0));
+        reopened.close();
+    }
+
+    @Test
+    void recoversFromTornRecord() throws IOException {
+        SegmentLog log = open(100);
+        int cpu = log.metricId("cpu.usage");
+        for (int i = 0; i < 5; i++) {
+            log.append(cpu, START + i * 1000, i);
+        }
+        log.close();
+
+        // A crash in the middle of the fourth record: its value was written, its check value was not
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            long fourth = 16 + 3L * SegmentLog.RECORD_BYTES;
+            channel.write(ByteBuffer.allocate(8).putLong(0, Double.doubleToRawLongBits(99)), fourth + 12);
+        }
+
+        SegmentLog recovered = open(100);
+        assertEquals(3, replay(recovered, 0).size());
+        // The torn record and everything after it is cleared, so new records continue from there
+        recovered.append(cpu, START + 10_000, 10);
+        List<String> records = replay(recovered, 0);
+        assertEquals(4, records.size());
+        assertEquals("cpu.usage@" + (START + 10_000) + "=10.0", records.get(3));
+        recovered.close();
+    }
+
+    @Test
+    void dropsMetricNameCutOffByCrash() throws IOException {
+        SegmentLog log = open(100);
+        log.metricId("cpu.usage");
+        log.close();
+        Files.writeString(directory.resolve("metrics"), "ram.us", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        SegmentLog reopened = open(100);
+        assertEquals(1, reopened.metricId("ram.usage"));
+        reopened.close();
+        assertEquals("cpu.usage\nram.usage\n", Files.readString(directory.resolve("metrics")));
+    }
+
+    @Test
+    void rotatesAndDeletesOldestSegments() throws IOException {
+        // Room for three segments of ten records
+        SegmentLog log = new SegmentLog(directory, 10, 3 * (16 + 10L * SegmentLog.RECORD_BYTES), DAY);
+        int cpu = log.metricId("cpu.usage");
+        for (int i = 0; i < 45; i++) {
+            log.append(cpu, START + i, i);
+        }
+
+        assertEquals(3, segments().size());
+        List<String> records = replay(log, 0);
+        assertEquals(25, records.size());
+        assertEquals("cpu.usage@" + (START + 20) + "=20.0", records.get(0));
+        log.close();
+    }
+
+    @Test
+    void refusesDirectoryHeldByAnotherLog() throws IOException {
+        SegmentLog log = open(10);
+        assertThrows(IOException.class, () -> open(10));
+        log.append(log.metricId("cpu.usage"), START, 1);
+        log.close();
+
+        SegmentLog reopened = open(10);
+        assertEquals(List.of("cpu.usage@" + START + "=1.0"), replay(reopened, 0));
+        reopened.close();
+    }
+
+    private SegmentLog open(int segmentRecords) throws IOException {
+        return new SegmentLog(directory, segmentRecords, Long.MAX_VALUE, DAY);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static List<String> replay(SegmentLog log, long since) {
+        List<String> records = new ArrayList<>();
+        log.replay(since, (metric, timestamp, value) -> records.add(metric + "@" + timestamp + "=" + value));
+        return records;
+    }
+}
@@ -0,0 +1,101 @@
+package com.exodus.glimpse.models;
+
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parses filters and matches them through {@link ProcessIndex}.
+ */
+class ProcessFilterTest {
+    private static final ProcessSnapshot PROCESSES = table();
+
+    @Test
+    void blankQueryKeepsEverything() {
+        assertSame(ProcessFilter.NONE, ProcessFilter.parse("  "));
+        assertTrue(ProcessFilter.NONE.isEmpty());
+    }
+
+    @Test
+    void matchesTextInAnyField() {
+        assertMatches("JAVA", true, false, true, false);
+        assertMatches("alice", false, true, true, false);
+        assertMatches("--port", false, false, true, false);
+    }
+
+    @Test
+    void matchesTextInOneField() {
+        assertMatches("name:java", true, false, false, false);
+        assertMatches("user:root", true, false, false, true);
+        assertMatches("cmd:gradle", false, false, true, false);
+    }
+
+    @Test
+    void matchesPidsAndRanges() {
+        assertMatches("42", false, true, false, false);
+        assertMatches("100-1", true, true, false, false);
+        assertMatches("pid:40-5000", false, true, true, false);
+        assertMatches("pid>4000", false, false, true, true);
+    }
+
+    @Test
+    void comparesNumericColumns() {
+        assertMatches("cpu>50", false, false, true, false);
+        assertMatches("cpu>=50%", false, true, true, false);
+        assertMatches("mem>=1g", true, false, false, false);
+        assertMatches("mem<2m", false, false, false, true);
+        assertMatches("threads=4", false, true, false, false);
+    }
+
+    @Test
+    void requiresEveryTerm() {
+        assertMatches("java cpu<60", true, false, false, false);
+        assertMatches("alice threads>10", false, false, true, false);
+    }
+
+    @Test
+    void treatsUnparsableTermsAsText() {
+        ProcessFilter filter = ProcessFilter.parse("cpu>fast");
+
+        assertEquals(0, filter.getRangeTerms().size());
+        assertEquals("cpu>fast", filter.getTextTerms().get(0).getText());
+    }
+
+    @Test
+    void matchesRowsOfEarlierUpdates() {
+        ProcessIndex index = new ProcessIndex();
+        ProcessIndex.Rows earlier = index.update(PROCESSES);
+        // The strings of the earlier table are dropped from the index by the next update
+        index.update(new ProcessSnapshot.Builder(0).build(0));
+
+        assertArrayEquals(new boolean[] {true, false, true, false},
+                index.match(earlier, PROCESSES, ProcessFilter.parse("java")));
+    }
+
+    private static void assertMatches(String query, boolean... expected) {
+        ProcessIndex index = new ProcessIndex();
+        ProcessIndex.Rows rows = index.update(PROCESSES);
+
+        assertArrayEquals(expected, index.match(rows, PROCESSES, ProcessFilter.parse(query)), query);
+    }
+
+    private static ProcessSnapshot table() {
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(4);
+        builder.add(1, 0, "java", "root", 2L << 30, 0, 0, 0, 0, 30);
+        builder.setCpuPercent(0, 10);
+        builder.setCommandLine(0, "/usr/bin/java -jar app.jar");
+        builder.add(42, 1, "bash", "alice", 8L << 20, 0, 0, 0, 0, 4);
+        builder.setCpuPercent(1, 50);
+        builder.setCommandLine(1, "-bash");
+        builder.add(4242, 1, "gradle-worker", "alice", 512L << 20, 0, 0, 0, 0, 64);
+        builder.setCpuPercent(2, 90);
+        builder.setCommandLine(2, "/opt/gradle/bin/java --port 8080");
+        builder.add(9000, 1, "kworker/0:1", "root", 0, 0, 0, 0, 0, 1);
+        builder.setCommandLine(3, "");
+        return builder.build(0);
+    }
+}
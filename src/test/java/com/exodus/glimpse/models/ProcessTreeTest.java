@@ -0,0 +1,111 @@
+package com.exodus.glimpse.models;
+
+import com.exodus.glimpse.sampling.ProcessSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProcessTreeTest {
+    @Test
+    void totalsCoverWholeSubtrees() {
+        ProcessTree tree = new ProcessTree();
+        tree.update(table(
+                row(1, 0, 1, 10, 1000),
+                row(2, 1, 2, 20, 2000),
+                row(3, 2, 3, 30, 3000),
+                row(4, 1, 4, 40, 4000)));
+        ProcessTree.Layout layout = tree.layout();
+
+        assertTotals(layout, 0, 100, 10_000, 4);
+        assertTotals(layout, 1, 50, 5_000, 2);
+        assertTotals(layout, 2, 30, 3_000, 1);
+        assertArrayEquals(new int[] {0, 1, 2, 1}, layout.getDepths());
+    }
+
+    @Test
+    void followsChangedValues() {
+        ProcessTree tree = new ProcessTree();
+        tree.update(table(row(1, 0, 1, 10, 1000), row(2, 1, 2, 20, 2000)));
+        tree.update(table(row(1, 0, 1, 10, 1000), row(2, 1, 2, 5, 500)));
+
+        assertTotals(tree.layout(), 0, 15, 1_500, 2);
+    }
+
+    @Test
+    void movesOrphansWithTheirSubtree() {
+        ProcessTree tree = new ProcessTree();
+        tree.update(table(
+                row(1, 0, 1, 1, 100),
+                row(2, 1, 2, 10, 1000),
+                row(3, 2, 3, 20, 2000),
+                row(4, 3, 4, 30, 3000)));
+
+        // 2 exits and 3 is adopted by init, taking 4 along
+        tree.update(table(
+                row(1, 0, 1, 1, 100),
+                row(3, 1, 3, 20, 2000),
+                row(4, 3, 4, 30, 3000)));
+        ProcessTree.Layout layout = tree.layout();
+
+        assertTotals(layout, 0, 51, 5_100, 3);
+        assertTotals(layout, 1, 50, 5_000, 2);
+        assertArrayEquals(new int[] {0, 1, 2}, layout.getDepths());
+    }
+
+    @Test
+    void treatsReusedPidAsNewProcess() {
+        ProcessTree tree = new ProcessTree();
+        tree.update(table(row(1, 0, 1, 1, 100), row(5, 1, 5, 10, 1000), row(6, 5, 6, 20, 2000)));
+
+        // PID 5 exits, 6 is adopted by init, and a new process gets PID 5 under 6
+        tree.update(table(row(1, 0, 1, 1, 100), row(6, 1, 6, 20, 2000), row(5, 6, 50, 7, 700)));
+        ProcessTree.Layout layout = tree.layout();
+
+        assertTotals(layout, 0, 28, 2_800, 3);
+        assertTotals(layout, 1, 27, 2_700, 2);
+        assertArrayEquals(new int[] {0, 1, 2}, layout.getDepths());
+    }
+
+    @Test
+    void breaksParentCycles() {
+        ProcessTree tree = new ProcessTree();
+        tree.update(table(row(7, 8, 7, 1, 100), row(8, 7, 8, 2, 200)));
+        ProcessTree.Layout layout = tree.layout();
+
+        // One of the two becomes top-level and holds both
+        int top = layout.getDepths()[0] == 0 ? 0 : 1;
+        assertTotals(layout, top, 3, 300, 2);
+        assertEquals(1, layout.getDepths()[1 - top]);
+    }
+
+    @Test
+    void includesAncestorsOfMatches() {
+        ProcessTree tree = new ProcessTree();
+        tree.update(table(row(1, 0, 1, 0, 0), row(2, 1, 2, 0, 0), row(3, 2, 3, 0, 0), row(4, 1, 4, 0, 0)));
+        boolean[] rows = {false, false, true, false};
+        tree.layout().includeAncestors(rows);
+
+        assertArrayEquals(new boolean[] {true, true, true, false}, rows);
+    }
+
+    private static long[] row(int pid, int parentPid, long startTime, double cpu, long rss) {
+        return new long[] {pid, parentPid, startTime, Double.doubleToLongBits(cpu), rss};
+    }
+
+    private static ProcessSnapshot table(long[]... rows) {
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(rows.length);
+        for (long[] row : rows) {
+            builder.add((int) row[0], (int) row[1], "p" + row[0], "root", row[4], 0, 0, 0, row[2], 1);
+            builder.setCpuPercent(builder.size() - 1, Double.longBitsToDouble(row[3]));
+        }
+        return builder.build(0);
+    }
+
+    private static void assertTotals(ProcessTree.Layout layout, int row, double cpu, long rss, int threads) {
+        ProcessSnapshot totals = layout.getTotals();
+        assertEquals(cpu, totals.getCpuPercent(row), 1e-9);
+        assertEquals(rss, totals.getResidentSetSize(row));
+        assertEquals(threads, totals.getThreadCount(row));
+    }
+}
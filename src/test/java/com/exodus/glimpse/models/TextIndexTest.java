@@ -0,0 +1,88 @@
+package com.exodus.glimpse.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextIndexTest {
+    @Test
+    void findsSubstringsIgnoringCase() {
+        TextIndex index = new TextIndex();
+        index.beginUpdate();
+        int java = index.idOf("Java");
+        int javac = index.idOf("javac");
+        int bash = index.idOf("bash");
+        index.endUpdate();
+
+        boolean[] matches = index.matches("jav");
+        assertTrue(matches[java]);
+        assertTrue(matches[javac]);
+        assertFalse(matches[bash]);
+
+        // Shorter than a trigram: scans the dictionary
+        matches = index.matches("sh");
+        assertFalse(matches[java]);
+        assertTrue(matches[bash]);
+    }
+
+    @Test
+    void keepsIdsOfStringsInUse() {
+        TextIndex index = new TextIndex();
+        index.beginUpdate();
+        int id = index.idOf("systemd");
+        index.endUpdate();
+        int generation = index.getGeneration();
+
+        index.beginUpdate();
+        assertEquals(id, index.idOf("systemd"));
+        index.endUpdate();
+        assertTrue(index.isCurrent(id, generation));
+    }
+
+    @Test
+    void dropsUnusedStringsAndReusesTheirIds() {
+        TextIndex index = new TextIndex();
+        index.beginUpdate();
+        int old = index.idOf("firefox");
+        index.endUpdate();
+        int generation = index.getGeneration();
+
+        index.beginUpdate();
+        index.endUpdate();
+        assertFalse(index.matches("fox")[old]);
+
+        index.beginUpdate();
+        int reused = index.idOf("chrome");
+        index.endUpdate();
+
+        assertEquals(old, reused);
+        assertFalse(index.isCurrent(old, generation));
+        assertFalse(index.matches("fox")[reused]);
+        assertTrue(index.matches("chr")[reused]);
+    }
+
+    @Test
+    void staysCorrectAcrossRebuilds() {
+        TextIndex index = new TextIndex();
+        for (int round = 0; round < 20; round++) {
+            index.beginUpdate();
+            int current = index.idOf("worker-" + round);
+            int shared = index.idOf("shared-name");
+            index.endUpdate();
+
+            boolean[] matches = index.matches("worker-" + round);
+            assertTrue(matches[current]);
+            assertFalse(matches[shared]);
+            boolean[] any = index.matches("worker");
+            int count = 0;
+            for (boolean match : any) {
+                count += match ? 1 : 0;
+            }
+            assertEquals(1, count);
+            assertNotEquals(current, shared);
+        }
+    }
+}
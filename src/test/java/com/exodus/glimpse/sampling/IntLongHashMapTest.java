@@ -0,0 +1,77 @@
+package com.exodus.glimpse.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntLongHashMapTest {
+    @Test
+    void putsReplacesAndLooksUp() {
+        IntLongHashMap map = new IntLongHashMap(4);
+        map.put(7, 70);
+        map.put(0, -1);
+        map.put(7, 71);
+
+        assertEquals(71, map.get(7, 0));
+        assertEquals(-1, map.get(0, 5));
+        assertEquals(5, map.get(8, 5));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(8));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void growsPastExpectedSize() {
+        IntLongHashMap map = new IntLongHashMap(2);
+        for (int key = 0; key < 10_000; key++) {
+            map.put(key * 31, key);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int key = 0; key < 10_000; key++) {
+            assertEquals(key, map.get(key * 31, -1));
+        }
+    }
+
+    @Test
+    void clearKeepsWorking() {
+        IntLongHashMap map = new IntLongHashMap(8);
+        map.put(1, 1);
+        map.put(2, 2);
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(1));
+        map.put(2, 20);
+        assertEquals(20, map.get(2, 0));
+    }
+
+    @Test
+    void rejectsReservedKey() {
+        assertThrows(IllegalArgumentException.class, () -> new IntLongHashMap(8).put(Integer.MIN_VALUE, 1));
+    }
+
+    @Test
+    void agreesWithHashMap() {
+        Random random = new Random(7);
+        IntLongHashMap map = new IntLongHashMap(16);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            // Colliding keys: multiples of the table size probe the same slots
+            int key = random.nextInt(500) * 1024 - 100_000;
+            long value = random.nextLong();
+            map.put(key, value);
+            expected.put(key, value);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key, 0)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.exodus.glimpse.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProcessCpuTrackerTest {
+    @Test
+    void measuresUsageOverTheInterval() {
+        ProcessCpuTracker tracker = new ProcessCpuTracker();
+        update(tracker, 1_000, process(10, 1, 2_000, 100_000));
+
+        // 500 ms of CPU in a 1000 ms interval
+        ProcessSnapshot.Builder next = update(tracker, 2_000, process(10, 1, 2_500, 101_000));
+        assertEquals(50, next.build(0).getCpuPercent(0), 1e-9);
+    }
+
+    @Test
+    void usesLifetimeAverageForNewProcesses() {
+        ProcessCpuTracker tracker = new ProcessCpuTracker();
+        ProcessSnapshot.Builder first = update(tracker, 1_000, process(10, 1, 2_000, 8_000));
+
+        assertEquals(25, first.build(0).getCpuPercent(0), 1e-9);
+    }
+
+    @Test
+    void treatsReusedPidAsNewProcess() {
+        ProcessCpuTracker tracker = new ProcessCpuTracker();
+        update(tracker, 1_000, process(10, 1, 90_000, 100_000));
+
+        // Same PID, later start time: the new process's counters must not be diffed against the old one's
+        ProcessSnapshot.Builder reused = update(tracker, 2_000, process(10, 5, 300, 1_000));
+        assertEquals(30, reused.build(0).getCpuPercent(0), 1e-9);
+
+        ProcessSnapshot.Builder next = update(tracker, 3_000, process(10, 5, 400, 2_000));
+        assertEquals(10, next.build(0).getCpuPercent(0), 1e-9);
+    }
+
+    @Test
+    void neverReportsNegativeUsage() {
+        ProcessCpuTracker tracker = new ProcessCpuTracker();
+        update(tracker, 1_000, process(10, 1, 5_000, 100_000));
+
+        ProcessSnapshot.Builder next = update(tracker, 2_000, process(10, 1, 4_000, 101_000));
+        assertEquals(0, next.build(0).getCpuPercent(0), 1e-9);
+    }
+
+    /**
+     * Process with all of its CPU time in user mode.
+     */
+    private static long[] process(int pid, long startTime, long cpuTime, long upTime) {
+        return new long[] {pid, startTime, cpuTime, upTime};
+    }
+
+    private static ProcessSnapshot.Builder update(ProcessCpuTracker tracker, long now, long[]... processes) {
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(processes.length);
+        for (long[] process : processes) {
+            builder.add((int) process[0], 1, "p", "root", 0, 0, process[2], process[3], process[1], 1);
+        }
+        tracker.update(builder, now);
+        return builder;
+    }
+}
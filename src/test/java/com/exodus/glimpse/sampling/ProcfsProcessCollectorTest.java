@@ -0,0 +1,173 @@
+package com.exodus.glimpse.sampling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scans the captured and hand-written proc trees in {@code src/test/resources/procfs}.
+ */
+class ProcfsProcessCollectorTest {
+    private static final long NOW = 1_800_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsNamesWithSpacesAndParentheses() throws Exception {
+        ProcessSnapshot processes = collect(collector("edge-cases"));
+
+        assertEquals("Web Content", processes.getName(rowOf(processes, 42)));
+        assertEquals("a) b (c)", processes.getName(rowOf(processes, 77)));
+        assertEquals(42, processes.getParentPid(rowOf(processes, 77)));
+        assertEquals(3, processes.getThreadCount(rowOf(processes, 77)));
+    }
+
+    @Test
+    void skipsVanishedProcessesAndNonNumericEntries() throws Exception {
+        ProcessSnapshot processes = collect(collector("edge-cases"));
+
+        assertEquals(5, processes.size());
+        assertEquals(-1, rowOf(processes, 555));
+    }
+
+    @Test
+    void readsPidsAboveTwoToTheTwentySecond() throws Exception {
+        ProcessSnapshot processes = collect(collector("edge-cases"));
+
+        int row = rowOf(processes, 4194304);
+        assertTrue(row >= 0);
+        assertEquals("orphan", processes.getName(row));
+        assertEquals(1, processes.getParentPid(row));
+    }
+
+    @Test
+    void showsUnknownUidsAsNumbers() throws Exception {
+        ProcessSnapshot processes = collect(collector("edge-cases"));
+
+        assertEquals("4242", processes.getUser(rowOf(processes, 4194304)));
+        assertEquals("alice", processes.getUser(rowOf(processes, 42)));
+        assertEquals("root", processes.getUser(rowOf(processes, 1)));
+    }
+
+    @Test
+    void convertsTicksAndKilobytes() throws Exception {
+        ProcessSnapshot processes = collect(collector("edge-cases"));
+
+        int row = rowOf(processes, 42);
+        assertEquals(12_340, processes.getUserTime(row));
+        assertEquals(5_670, processes.getKernelTime(row));
+        assertEquals(1_700_000_000_000L + 120_000, processes.getStartTime(row));
+        assertEquals(NOW - processes.getStartTime(row), processes.getUpTime(row));
+        assertEquals(204_800L * 1024, processes.getResidentSetSize(row));
+        // Kernel threads and zombies have no VmRSS line
+        assertEquals(0, processes.getResidentSetSize(rowOf(processes, 2)));
+        assertEquals(0, processes.getResidentSetSize(rowOf(processes, 4194304)));
+    }
+
+    @Test
+    void reusesNamesOfKnownProcesses() throws Exception {
+        ProcfsProcessCollector collector = collector("edge-cases");
+        ProcessSnapshot first = collect(collector);
+        ProcessSnapshot second = collect(collector);
+
+        assertSame(first.getName(rowOf(first, 42)), second.getName(rowOf(second, 42)));
+    }
+
+    @Test
+    void readsCommandLineAgainAfterExec() throws Exception {
+        Path root = directory.resolve("edge-cases");
+        Path fixture = Path.of(ProcfsProcessCollectorTest.class.getResource("/procfs/edge-cases").toURI());
+        try (Stream<Path> files = Files.walk(fixture)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.copy(file, root.resolve(fixture.relativize(file).toString()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Path process = root.resolve("proc/42");
+        ProcfsProcessCollector collector = new ProcfsProcessCollector(root.resolve("proc"), root.resolve("etc/passwd"), 100);
+
+        // Forked but not yet exec'd: the empty command line is not kept
+        Files.write(process.resolve("cmdline"), new byte[0]);
+        ProcessSnapshot forked = collect(collector);
+        assertEquals("", forked.getCommandLine(rowOf(forked, 42)));
+        Files.write(process.resolve("cmdline"), "bash\0-l\0".getBytes(StandardCharsets.UTF_8));
+        ProcessSnapshot started = collect(collector);
+        assertEquals("bash -l", started.getCommandLine(rowOf(started, 42)));
+
+        // exec keeps PID and start time but changes comm
+        String stat = Files.readString(process.resolve("stat")).replace("(Web Content)", "(vim)");
+        Files.writeString(process.resolve("stat"), stat);
+        Files.write(process.resolve("cmdline"), "vim\0notes.txt\0".getBytes(StandardCharsets.UTF_8));
+        ProcessSnapshot replaced = collect(collector);
+        assertEquals("vim notes.txt", replaced.getCommandLine(rowOf(replaced, 42)));
+    }
+
+    @Test
+    void scansCapturedContainer() throws Exception {
+        ProcessSnapshot processes = collect(collector("sandbox"));
+
+        assertEquals(56, processes.size());
+        int init = rowOf(processes, 1);
+        assertEquals("process_api", processes.getName(init));
+        assertEquals("root", processes.getUser(init));
+        assertEquals(10_244L * 1024, processes.getResidentSetSize(init));
+        assertEquals(6, processes.getThreadCount(init));
+        assertEquals("nobody", processes.getUser(rowOf(processes, 125)));
+        assertEquals(0, processes.getResidentSetSize(rowOf(processes, 2)));
+    }
+
+    @Test
+    void readsClockTicksFromAuxiliaryVector() throws Exception {
+        Path auxv = Files.createTempFile("auxv", null);
+        try {
+            boolean wide = !"32".equals(System.getProperty("sun.arch.data.model"));
+            ByteBuffer entries = ByteBuffer.allocate(wide ? 48 : 24).order(ByteOrder.nativeOrder());
+            long[] words = {6, 4096, 17, 250, 0, 0};
+            for (long word : words) {
+                if (wide) {
+                    entries.putLong(word);
+                } else {
+                    entries.putInt((int) word);
+                }
+            }
+            Files.write(auxv, entries.array());
+
+            assertEquals(250, ProcfsProcessCollector.readClockTicks(auxv));
+            assertEquals(100, ProcfsProcessCollector.readClockTicks(auxv.resolveSibling("missing-auxv")));
+        } finally {
+            Files.delete(auxv);
+        }
+    }
+
+    private static ProcfsProcessCollector collector(String fixture) throws URISyntaxException {
+        Path root = Path.of(ProcfsProcessCollectorTest.class.getResource("/procfs/" + fixture).toURI());
+        return new ProcfsProcessCollector(root.resolve("proc"), root.resolve("etc/passwd"), 100);
+    }
+
+    private static ProcessSnapshot collect(ProcfsProcessCollector collector) {
+        ProcessSnapshot.Builder builder = new ProcessSnapshot.Builder(16);
+        collector.collect(builder, NOW);
+        return builder.build(NOW);
+    }
+
+    private static int rowOf(ProcessSnapshot processes, int pid) {
+        for (int row = 0; row < processes.size(); row++) {
+            if (processes.getPid(row) == pid) {
+                return row;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,62 @@
+package com.exodus.glimpse.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopKTest {
+    @Test
+    void selectsLargestDoublesHighestFirst() {
+        double[] keys = {3, 9, 1, 7, 5};
+
+        assertArrayEquals(new int[] {1, 3, 4}, new TopK(3).select(keys, keys.length));
+    }
+
+    @Test
+    void breaksTiesByLowerIndex() {
+        long[] keys = {5, 7, 5, 7, 5};
+
+        assertArrayEquals(new int[] {1, 3, 0}, new TopK(3).select(keys, keys.length));
+    }
+
+    @Test
+    void onlyConsidersLeadingEntries() {
+        double[] keys = {1, 2, 3, 100};
+
+        assertArrayEquals(new int[] {2, 1}, new TopK(2).select(keys, 3));
+    }
+
+    @Test
+    void returnsFewerThanKWhenShort() {
+        assertArrayEquals(new int[] {1, 0}, new TopK(5).select(new long[] {1, 2}, 2));
+        assertEquals(0, new TopK(0).select(new long[] {1, 2}, 2).length);
+        assertThrows(IllegalArgumentException.class, () -> new TopK(-1));
+    }
+
+    @Test
+    void matchesFullSortAcrossReuse() {
+        Random random = new Random(42);
+        TopK topK = new TopK(10);
+        for (int round = 0; round < 50; round++) {
+            double[] keys = new double[200];
+            for (int i = 0; i < keys.length; i++) {
+                // Few distinct values, so ties are common
+                keys[i] = random.nextInt(20);
+            }
+            int[] expected = IntStream.range(0, keys.length).boxed()
+                    .sorted(Comparator.<Integer>comparingDouble(i -> -keys[i]).thenComparingInt(i -> i))
+                    .limit(10)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            assertArrayEquals(expected, topK.select(keys, keys.length), Arrays.toString(keys));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.exodus.glimpse.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.DecimalFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks Formats against the {@code DecimalFormat("#.##")} based helpers it replaced.
+ */
+class FormatsTest {
+    private final DecimalFormat df = new DecimalFormat("#.##");
+
+    @Test
+    void roundsLikeDecimalFormat() {
+        double[] values = {0, 0.004, 0.005, 0.015, 0.025, 0.125, 0.135, 1.005, 1.115, 2.675, 12.5, 99.995,
+                99.999, 100, 1234.565, 1e9 + 0.125, -0.004, -0.005, -1.5, -2.675, 42.1};
+        for (double value : values) {
+            assertEquals(df.format(value), Formats.decimal(value), () -> Double.toString(value));
+            assertEquals(df.format(value) + "%", Formats.percent(value), () -> Double.toString(value));
+        }
+    }
+
+    @Test
+    void cachesLabelsByRoundedValue() {
+        assertEquals("0%", Formats.percent(0.004));
+        assertEquals("0.01%", Formats.percent(0.005));
+        assertEquals("41.63%", Formats.percent(41.635));
+        assertEquals("41.64%", Formats.percent(41.636));
+    }
+
+    @Test
+    void roundsRandomValuesLikeDecimalFormat() {
+        Random random = new Random(16);
+        for (int i = 0; i < 200_000; i++) {
+            double value = switch (i % 4) {
+                case 0 -> random.nextInt(100_000) / 1000.0;
+                case 1 -> random.nextDouble() * 100;
+                case 2 -> random.nextInt(1 << 30) / 1024.0;
+                default -> (random.nextDouble() - 0.5) * 1e7;
+            };
+            assertEquals(df.format(value), Formats.decimal(value), Double.toString(value));
+        }
+    }
+
+    @Test
+    void formatsBytesLikeBefore() {
+        long[] values = {0, 1, 1023, 1024, 1536, 1_048_575, 1_048_576, 1_073_741_823, 1_073_741_824,
+                5_368_709_120L, 1L << 50};
+        for (long bytes : values) {
+            assertEquals(oldBytes(bytes), Formats.bytes(bytes), () -> Long.toString(bytes));
+        }
+        Random random = new Random(5);
+        for (int i = 0; i < 100_000; i++) {
+            long bytes = random.nextLong() >>> random.nextInt(64);
+            assertEquals(oldBytes(bytes), Formats.bytes(bytes), Long.toString(bytes));
+        }
+    }
+
+    @Test
+    void formatsSpeedsLikeBefore() {
+        double[] values = {0, 0.5, 999.994, 999.995, 999.999, 1000, 1024, 12_345.678, 1e6};
+        for (double kbps : values) {
+            assertEquals(oldSpeed(kbps), Formats.speed(kbps), () -> Double.toString(kbps));
+        }
+    }
+
+    @Test
+    void appendsWithUnit() {
+        assertEquals("3.4 GHz", Formats.withUnit(3.4, " GHz"));
+        assertEquals("x12.5 KB", Formats.appendBytes(new StringBuilder("x"), 12_800).toString());
+    }
+
+    private String oldBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return df.format(bytes / 1024.0) + " KB";
+        } else if (bytes < 1024 * 1024 * 1024) {
+            return df.format(bytes / (1024.0 * 1024)) + " MB";
+        }
+        return df.format(bytes / (1024.0 * 1024 * 1024)) + " GB";
+    }
+
+    private String oldSpeed(double kbps) {
+        if (kbps < 1000) {
+            return df.format(kbps) + " KB/s";
+        }
+        return df.format(kbps / 1024.0) + " MB/s";
+    }
+}